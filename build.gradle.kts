@@ -1,6 +1,7 @@
 plugins {
     java
     id("org.springframework.boot") version "3.5.3"
+    id("org.springframework.boot.aot") version "3.5.3"
     id("io.spring.dependency-management") version "1.1.7"
 }
 
@@ -28,9 +29,15 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
 //    DB
     implementation("org.liquibase:liquibase-core")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("org.ehcache:ehcache::jakarta")
 //    TOOLS
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -40,9 +47,80 @@ dependencies {
     annotationProcessor("org.mapstruct:mapstruct-processor:1.6.3")
 //    TESTS
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation("io.zonky.test:embedded-postgres:2.2.2")
+    testImplementation(enforcedPlatform("io.zonky.test.postgres:embedded-postgres-binaries-bom:17.6.0"))
+    testImplementation("net.ttddyy:datasource-proxy:1.11.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// LOCAL RUN
+tasks.bootRun {
+    // A single local instance; set TODO_NODE_ID to run several side by side.
+    environment("TODO_NODE_ID", System.getenv("TODO_NODE_ID") ?: "0")
+}
+
+// EMBEDDED POSTGRES
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("embedded-postgres")
+    }
+}
+
+val embeddedPostgresTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the tests that need a PostgreSQL server, such as the query-plan baseline, on an embedded one."
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("embedded-postgres")
+    }
+    systemProperty("query-plans.record", providers.gradleProperty("recordQueryPlans").getOrElse("false"))
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(embeddedPostgresTest)
+}
+
+// FAST START
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=fast-start")
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val cdsLauncher = javaToolchains.launcherFor(java.toolchain)
+
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "fast start"
+    description = "Extracts the boot jar into a layout suitable for a CDS archive."
+    dependsOn(tasks.bootJar)
+    doFirst {
+        executable = cdsLauncher.get().executablePath.asFile.absolutePath
+    }
+    args(
+        "-Djarmode=tools", "-jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath,
+        "extract", "--force", "--destination", cdsDirectory.get().asFile.absolutePath
+    )
+}
+
+val trainCds by tasks.registering(Exec::class) {
+    group = "fast start"
+    description = "Runs a training start-up of the extracted application and dumps an AppCDS archive."
+    dependsOn(extractBootJar)
+    workingDir(cdsDirectory)
+    doFirst {
+        executable = cdsLauncher.get().executablePath.asFile.absolutePath
+    }
+    args(
+        "-XX:ArchiveClassesAtExit=application.jsa",
+        "-Dspring.context.exit=onRefresh",
+        "-Dspring.aot.enabled=true",
+        "-jar", tasks.bootJar.get().archiveFileName.get(),
+        "--spring.profiles.active=fast-start",
+        "--todo.task-ids.node-id=0"
+    )
+}
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Compares the servlet (/api/v1) and reactive (/api/v2) task lists under many concurrent connections:
+# requests per second from wrk, and the resident memory of the application while the connections are open.
+# Usage: ./load-test.sh <pid> [connections] [duration]
+set -euo pipefail
+
+PID=$1
+CONNECTIONS=${2:-10000}
+DURATION=${3:-60s}
+BASE_URL=http://localhost:8080
+
+for api in v1 v2; do
+  rss_before=$(ps -o rss= -p "$PID")
+  wrk -t8 -c"$CONNECTIONS" -d"$DURATION" --latency "$BASE_URL/api/$api/tasks" > "load-test-$api.txt" &
+  wrk_pid=$!
+
+  sleep 10
+  rss_during=$(ps -o rss= -p "$PID")
+  wait "$wrk_pid"
+
+  echo "$api: $(grep 'Requests/sec' "load-test-$api.txt")"
+  echo "$api: ~$(( (rss_during - rss_before) / CONNECTIONS )) KiB RSS per connection"
+done
@@ -0,0 +1,8 @@
+#!/usr/bin/env bash
+# Applies the database migrations and exits.
+# Usage: ./gradlew bootJar && ./migrate.sh [jar]
+set -euo pipefail
+
+JAR=${1:-$(ls build/libs/*.jar | grep -v -- '-plain\.jar$')}
+
+java -jar "$JAR" --spring.profiles.active=migrate
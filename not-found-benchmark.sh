@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Measures the error path: requests per second from wrk for a task that does not exist, the allocation rate of the
+# application while they run, and the 404s counted in todo.requests.errors.
+# Usage: ./not-found-benchmark.sh <pid> [connections] [duration]
+set -euo pipefail
+
+PID=$1
+CONNECTIONS=${2:-100}
+DURATION=${3:-60s}
+BASE_URL=http://localhost:8080
+
+wrk -t8 -c"$CONNECTIONS" -d"$DURATION" --latency "$BASE_URL/api/v1/tasks/999999999" > not-found-benchmark.txt &
+wrk_pid=$!
+
+jstat -gcutil "$PID" 10s > not-found-benchmark-gc.txt &
+jstat_pid=$!
+wait "$wrk_pid"
+kill "$jstat_pid"
+
+echo "$(grep 'Requests/sec' not-found-benchmark.txt)"
+echo "young collections: $(awk 'NR == 2 { first = $7 } END { print $7 - first }' not-found-benchmark-gc.txt)"
+curl -s "$BASE_URL/actuator/metrics/todo.requests.errors?tag=endpoint:TaskController.getTask&tag=status:404"
+echo
@@ -1 +1,9 @@
+pluginManagement {
+    repositories {
+        gradlePluginPortal()
+        // The org.springframework.boot.aot plugin marker is only published to Maven Central.
+        mavenCentral()
+    }
+}
+
 rootProject.name = "todo"
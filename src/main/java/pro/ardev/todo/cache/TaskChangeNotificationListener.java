@@ -0,0 +1,167 @@
+package pro.ardev.todo.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.context.SmartLifecycle;
+import pro.ardev.todo.model.entity.Task;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Listens for the notifications of {@link TaskChangeNotifier} on dedicated connections outside the pool, one per
+ * shard since each change is notified on the database it was written to, and drops what this node cached of the
+ * changed tasks: the task lists, the second-level entries of the tasks and the query cache, which Hibernate only
+ * invalidates for local writes.
+ * <p>
+ * The {@link TaskListCache} is marked incoherent whenever a connection is down, and everything is dropped once it
+ * is back, since notifications sent in between are lost.
+ */
+@Slf4j
+public class TaskChangeNotificationListener implements SmartLifecycle {
+
+    /**
+     * Reported to PostgreSQL for the listening connection, see {@code pg_stat_activity}.
+     */
+    public static final String APPLICATION_NAME = "task-change-listener";
+
+    private final List<Callable<Connection>> connectionFactories;
+    private final String channel;
+    private final TaskListCache taskListCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int pollMillis;
+    private final long reconnectDelayMillis;
+    private final AtomicInteger listening = new AtomicInteger();
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public TaskChangeNotificationListener(List<Callable<Connection>> connectionFactories, String channel,
+                                          TaskListCache taskListCache, EntityManagerFactory entityManagerFactory,
+                                          Duration pollInterval, Duration reconnectDelay) {
+        this.connectionFactories = List.copyOf(connectionFactories);
+        this.channel = channel;
+        this.taskListCache = taskListCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.pollMillis = Math.toIntExact(pollInterval.toMillis());
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+    }
+
+    @Override
+    public void start() {
+        this.taskListCache.setCoherent(false);
+        this.running = true;
+        for (int i = 0; i < this.connectionFactories.size(); i++) {
+            Callable<Connection> connectionFactory = this.connectionFactories.get(i);
+            Thread thread = new Thread(() -> listen(connectionFactory), "task-change-listener-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            this.threads.add(thread);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        this.threads.forEach(Thread::interrupt);
+        try {
+            for (Thread thread : this.threads) {
+                thread.join(this.pollMillis + 1000L);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void listen(Callable<Connection> connectionFactory) {
+        while (this.running) {
+            boolean listened = false;
+            try (Connection connection = connectionFactory.call()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN \"" + this.channel.replace("\"", "\"\"") + "\"");
+                }
+                listened = true;
+                evictSecondLevelCache(null);
+                if (this.listening.incrementAndGet() == this.connectionFactories.size()) {
+                    this.taskListCache.setCoherent(true);
+                }
+                log.info("Listening for task changes on channel {}", this.channel);
+                poll(connection);
+            } catch (Exception e) {
+                if (this.running) {
+                    log.warn("Task change notifications interrupted, serving cached task lists by TTL", e);
+                }
+            } finally {
+                this.taskListCache.setCoherent(false);
+                if (listened) {
+                    this.listening.decrementAndGet();
+                }
+            }
+            sleep(this.reconnectDelayMillis);
+        }
+    }
+
+    private void poll(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (this.running) {
+            PGNotification[] notifications = pgConnection.getNotifications(this.pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                // A half-open connection would otherwise stay silent forever.
+                if (!connection.isValid(Math.max(1, this.pollMillis / 1000))) {
+                    throw new SQLException("Notification connection is no longer valid");
+                }
+                continue;
+            }
+
+            // Lists reloaded in between must not be built from stale second-level entries.
+            for (PGNotification notification : notifications) {
+                evictSecondLevelCache(notification.getParameter());
+            }
+            this.taskListCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Entries of a sharded node are keyed by shard as well, which eviction by id cannot name, so such a node drops
+     * every task.
+     *
+     * @param taskId the notification payload, {@code null} or empty to evict every task
+     */
+    private void evictSecondLevelCache(String taskId) {
+        SessionFactory sessionFactory = this.entityManagerFactory.unwrap(SessionFactory.class);
+        Cache cache = sessionFactory.getCache();
+        if (taskId == null || taskId.isEmpty()
+                || sessionFactory.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions()
+                .isMultiTenancyEnabled()) {
+            cache.evictEntityData(Task.class);
+        } else {
+            cache.evictEntityData(Task.class, Long.valueOf(taskId));
+        }
+        cache.evictQueryRegions();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
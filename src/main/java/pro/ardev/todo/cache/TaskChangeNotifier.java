@@ -0,0 +1,40 @@
+package pro.ardev.todo.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TasksImportedEvent;
+
+import static org.springframework.transaction.event.TransactionPhase.BEFORE_COMMIT;
+
+/**
+ * Sends task changes to the other nodes as PostgreSQL notifications. They are issued on the connection of the
+ * writing transaction, so PostgreSQL delivers them only once it commits. The payload is the task id, or empty
+ * when an unknown set of tasks changed.
+ */
+public class TaskChangeNotifier {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+
+    public TaskChangeNotifier(JdbcTemplate jdbcTemplate, String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        send(String.valueOf(event.taskId()));
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        send("");
+    }
+
+    private void send(String payload) {
+        this.jdbcTemplate.query(NOTIFY_SQL, resultSet -> null, this.channel, payload);
+    }
+}
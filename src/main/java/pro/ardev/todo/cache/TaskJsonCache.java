@@ -0,0 +1,84 @@
+package pro.ardev.todo.cache;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+import pro.ardev.todo.event.TaskChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static pro.ardev.todo.model.enums.TaskChangeType.CREATED;
+
+/**
+ * Serialized JSON of single tasks keyed by {@code (id, updatedAt)}.
+ * <p>
+ * A fragment is only returned while the caller's {@code updatedAt} matches the one it was
+ * stored with, so a stale entry can never be served; change events merely free the memory early.
+ * The total size of the stored fragments is bounded by {@code maxBytes}.
+ */
+public class TaskJsonCache {
+
+    private final ConcurrentMap<Long, Fragment> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final long maxBytes;
+
+    public TaskJsonCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public byte[] get(long id, LocalDateTime updatedAt) {
+        Fragment fragment = this.fragments.get(id);
+        if (fragment == null || !fragment.updatedAt().equals(updatedAt)) {
+            return null;
+        }
+
+        return fragment.json();
+    }
+
+    public void put(long id, LocalDateTime updatedAt, byte[] json) {
+        if (updatedAt == null || json.length > this.maxBytes) {
+            return;
+        }
+
+        this.fragments.compute(id, (key, previous) -> {
+            long delta = previous == null ? json.length : json.length - previous.json().length;
+            this.usedBytes.addAndGet(delta);
+            return new Fragment(updatedAt, json);
+        });
+
+        if (this.usedBytes.get() > this.maxBytes) {
+            shrink();
+        }
+    }
+
+    public void evict(long id) {
+        this.fragments.computeIfPresent(id, (key, previous) -> {
+            this.usedBytes.addAndGet(-previous.json().length);
+            return null;
+        });
+    }
+
+    public long usedBytes() {
+        return this.usedBytes.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() != CREATED) {
+            evict(event.taskId());
+        }
+    }
+
+    private void shrink() {
+        Iterator<Map.Entry<Long, Fragment>> iterator = this.fragments.entrySet().iterator();
+        while (this.usedBytes.get() > this.maxBytes && iterator.hasNext()) {
+            evict(iterator.next().getKey());
+        }
+    }
+
+    private record Fragment(LocalDateTime updatedAt, byte[] json) {
+    }
+}
@@ -0,0 +1,108 @@
+package pro.ardev.todo.cache;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import pro.ardev.todo.json.TaskResponseJsonWriter;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link TaskResponse} and {@code List<TaskResponse>} bodies from {@link TaskJsonCache},
+ * serializing with {@link TaskResponseJsonWriter} only on a miss. List bodies are assembled
+ * by concatenating the per-task fragments, so the output is identical to the Jackson converter.
+ */
+public class TaskJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+
+    private final TaskJsonCache cache;
+    private final TaskResponseJsonWriter writer;
+
+    public TaskJsonHttpMessageConverter(TaskJsonCache cache, TaskResponseJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TaskResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (isTaskResponse(type) || isTaskResponseList(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        if (body instanceof TaskResponse response) {
+            out.write(fragment(response));
+            return;
+        }
+
+        List<?> responses = (List<?>) body;
+        if (responses.isEmpty()) {
+            out.write(EMPTY_ARRAY);
+            return;
+        }
+
+        out.write('[');
+        for (int i = 0; i < responses.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragment((TaskResponse) responses.get(i)));
+        }
+        out.write(']');
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task responses are write-only", inputMessage);
+    }
+
+    private byte[] fragment(TaskResponse response) throws IOException {
+        if (response.seriesId() != null && response.seriesId() == response.id()) {
+            // An unstored occurrence shares its series' id and timestamps but not its body.
+            return this.writer.toBytes(response);
+        }
+
+        byte[] json = this.cache.get(response.id(), response.updatedAt());
+        if (json == null) {
+            json = this.writer.toBytes(response);
+            this.cache.put(response.id(), response.updatedAt(), json);
+        }
+
+        return json;
+    }
+
+    private static boolean isTaskResponse(Type type) {
+        return type == TaskResponse.class;
+    }
+
+    private static boolean isTaskResponseList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == TaskResponse.class;
+    }
+}
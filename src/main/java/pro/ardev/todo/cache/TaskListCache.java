@@ -0,0 +1,128 @@
+package pro.ardev.todo.cache;
+
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TasksImportedEvent;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Full task lists of this node, keyed by status set and sort.
+ * <p>
+ * Any committed change drops every list: local writes through their change events, writes on other nodes through
+ * {@link TaskChangeNotificationListener}. While that listener is disconnected the cache is not coherent, and a list
+ * is only served for {@code fallbackTtl} after it was loaded. A load that overlaps an invalidation is returned but
+ * not stored.
+ */
+public class TaskListCache {
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final boolean enabled;
+    private final long fallbackTtlNanos;
+    private final LongSupplier nanoTime;
+    private volatile boolean coherent = true;
+
+    public TaskListCache(boolean enabled, Duration fallbackTtl) {
+        this(enabled, fallbackTtl, System::nanoTime);
+    }
+
+    TaskListCache(boolean enabled, Duration fallbackTtl, LongSupplier nanoTime) {
+        this.enabled = enabled;
+        this.fallbackTtlNanos = fallbackTtl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Inside a read-write transaction the loader always runs, since it may see the transaction's own changes.
+     */
+    public List<TaskResponse> get(Key key, Supplier<List<TaskResponse>> loader) {
+        if (!this.enabled || isWriteTransactionActive()) {
+            return loader.get();
+        }
+
+        long now = this.nanoTime.getAsLong();
+        Entry entry = this.entries.get(key);
+        if (entry != null && (this.coherent || now - entry.loadedAt() < this.fallbackTtlNanos)) {
+            return entry.tasks();
+        }
+
+        long loadGeneration = this.generation.get();
+        List<TaskResponse> tasks = loader.get();
+        this.entries.compute(key, (k, previous) ->
+                this.generation.get() == loadGeneration ? new Entry(tasks, now) : previous);
+
+        return tasks;
+    }
+
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.entries.clear();
+    }
+
+    /**
+     * Lists loaded before coherence is regained may have missed changes, so they are dropped first.
+     */
+    public void setCoherent(boolean coherent) {
+        if (coherent) {
+            invalidateAll();
+        }
+        this.coherent = coherent;
+    }
+
+    public boolean isCoherent() {
+        return this.coherent;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        invalidateAll();
+    }
+
+    private static boolean isWriteTransactionActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * @param statuses  distinct statuses in declaration order, {@code null} for all tasks
+     * @param sortBy    validated sort field, {@code null} for the table order
+     * @param direction sort direction, {@code null} when unsorted
+     */
+    public record Key(List<TaskStatus> statuses, String sortBy, Direction direction) {
+
+        public static final Key ALL = new Key(null, null, null);
+
+        public static Key byStatus(Collection<TaskStatus> statuses) {
+            if (statuses == null || statuses.isEmpty()) {
+                return ALL;
+            }
+
+            return new Key(List.copyOf(EnumSet.copyOf(statuses)), null, null);
+        }
+
+        public static Key sorted(String sortBy, Direction direction) {
+            return new Key(null, sortBy, direction);
+        }
+    }
+
+    private record Entry(List<TaskResponse> tasks, long loadedAt) {
+    }
+}
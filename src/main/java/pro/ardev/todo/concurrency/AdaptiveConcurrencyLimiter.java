@@ -0,0 +1,170 @@
+package pro.ardev.todo.concurrency;
+
+import pro.ardev.todo.exception.ServiceOverloadedException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limit driven by observed call latency, kept apart for single-task calls and bulk calls.
+ * <p>
+ * Each priority class has its own limit and its own no-load latency, the minimum seen over a sliding window of its
+ * samples, so a fast single-task read never makes a full scan look congested and a scan never sheds single-task
+ * reads. A sample slower than {@code latencyTolerance} times its baseline shrinks that class's limit
+ * multiplicatively; a fast sample taken while at least half the limit is in use grows it by one. Bulk calls get
+ * {@code bulkShare} of the limits single-task calls get, so that single-task reads and writes keep getting through
+ * while full scans are shed.
+ * <p>
+ * Only calls that completed and reached the database count as samples: failures and calls answered from a cache
+ * say nothing about database congestion. A call reached the database if {@code statements}, when given, moved on
+ * the calling thread while it ran.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        SINGLE, BULK
+    }
+
+    private static final int BASELINE_WINDOW = 500;
+
+    private final Lane single;
+    private final Lane bulk;
+    private final LongSupplier statements;
+    private final LongSupplier clock;
+
+    /**
+     * @param statements the number of database statements issued on the calling thread so far, or {@code null} to
+     *                   count every completed call as a sample
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double bulkShare, double latencyTolerance, double backoffRatio,
+                                      LongSupplier statements) {
+        this(initialLimit, minLimit, maxLimit, bulkShare, latencyTolerance, backoffRatio, statements,
+                System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               double bulkShare, double latencyTolerance, double backoffRatio,
+                               LongSupplier statements, LongSupplier clock) {
+        this.single = new Lane(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio);
+        this.bulk = new Lane(share(initialLimit, bulkShare), share(minLimit, bulkShare), share(maxLimit, bulkShare),
+                latencyTolerance, backoffRatio);
+        this.statements = statements;
+        this.clock = clock;
+    }
+
+    public <T> T call(Priority priority, Supplier<T> operation) {
+        Lane lane = lane(priority);
+        if (!lane.tryAcquire()) {
+            throw new ServiceOverloadedException();
+        }
+
+        long statementsBefore = this.statements == null ? 0 : this.statements.getAsLong();
+        long start = this.clock.getAsLong();
+        boolean completed = false;
+        try {
+            T result = operation.get();
+            completed = true;
+            return result;
+        } finally {
+            long latency = this.clock.getAsLong() - start;
+            if (completed && (this.statements == null || this.statements.getAsLong() != statementsBefore)) {
+                lane.release(latency);
+            } else {
+                lane.releaseUnsampled();
+            }
+        }
+    }
+
+    public void run(Priority priority, Runnable operation) {
+        call(priority, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public int getLimit(Priority priority) {
+        return (int) lane(priority).limit;
+    }
+
+    public int getInFlight(Priority priority) {
+        return lane(priority).inFlight.get();
+    }
+
+    boolean tryAcquire(Priority priority) {
+        return lane(priority).tryAcquire();
+    }
+
+    void release(Priority priority, long latency) {
+        lane(priority).release(latency);
+    }
+
+    private Lane lane(Priority priority) {
+        return priority == Priority.BULK ? this.bulk : this.single;
+    }
+
+    private static int share(int limit, double share) {
+        return Math.max(1, (int) (limit * share));
+    }
+
+    private static final class Lane {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final int minLimit;
+        private final int maxLimit;
+        private final double latencyTolerance;
+        private final double backoffRatio;
+
+        private volatile double limit;
+        private long baselineLatency = Long.MAX_VALUE;
+        private long windowMinLatency = Long.MAX_VALUE;
+        private int windowSamples;
+
+        Lane(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+            this.limit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyTolerance = latencyTolerance;
+            this.backoffRatio = backoffRatio;
+        }
+
+        boolean tryAcquire() {
+            int allowed = (int) this.limit;
+            while (true) {
+                int current = this.inFlight.get();
+                if (current >= allowed) {
+                    return false;
+                }
+                if (this.inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release(long latency) {
+            int inFlightAtCompletion = this.inFlight.getAndDecrement();
+            onSample(latency, inFlightAtCompletion);
+        }
+
+        void releaseUnsampled() {
+            this.inFlight.decrementAndGet();
+        }
+
+        private synchronized void onSample(long latency, int inFlightAtCompletion) {
+            this.windowMinLatency = Math.min(this.windowMinLatency, latency);
+            if (++this.windowSamples >= BASELINE_WINDOW) {
+                this.baselineLatency = this.windowMinLatency;
+                this.windowMinLatency = Long.MAX_VALUE;
+                this.windowSamples = 0;
+            }
+            this.baselineLatency = Math.min(this.baselineLatency, latency);
+
+            if (latency > this.baselineLatency * this.latencyTolerance) {
+                this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+            } else if (inFlightAtCompletion * 2 >= this.limit) {
+                this.limit = Math.min(this.maxLimit, this.limit + 1);
+            }
+        }
+    }
+}
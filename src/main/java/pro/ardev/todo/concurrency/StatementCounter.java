@@ -0,0 +1,23 @@
+package pro.ardev.todo.concurrency;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so that {@link AdaptiveConcurrencyLimiter} can tell
+ * calls answered from the second-level or query cache from calls that reached the database. Statements issued
+ * through {@code JdbcTemplate} are not seen.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    public long current() {
+        return STATEMENTS.get()[0];
+    }
+}
@@ -0,0 +1,63 @@
+package pro.ardev.todo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter;
+import pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import pro.ardev.todo.concurrency.StatementCounter;
+
+import java.util.Locale;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    @Profile("!in-memory")
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    @Profile("!in-memory")
+    public HibernatePropertiesCustomizer statementCounterHibernatePropertiesCustomizer(
+            StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 ObjectProvider<StatementCounter> statementCounter,
+                                                                 MeterRegistry meterRegistry) {
+        StatementCounter counter = statementCounter.getIfAvailable();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                properties.initialLimit(),
+                properties.minLimit(),
+                properties.maxLimit(),
+                properties.bulkShare(),
+                properties.latencyTolerance(),
+                properties.backoffRatio(),
+                counter == null ? null : counter::current);
+
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("todo.concurrency.limit", limiter, l -> l.getLimit(priority))
+                    .description("Current adaptive limit of concurrent task service calls")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            Gauge.builder("todo.concurrency.in-flight", limiter, l -> l.getInFlight(priority))
+                    .description("Task service calls currently in flight")
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+        }
+
+        return limiter;
+    }
+}
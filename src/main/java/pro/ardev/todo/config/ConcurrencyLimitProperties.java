@@ -0,0 +1,29 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("20")
+        int initialLimit,
+
+        @DefaultValue("2")
+        int minLimit,
+
+        @DefaultValue("100")
+        int maxLimit,
+
+        @DefaultValue("0.5")
+        double bulkShare,
+
+        @DefaultValue("2.0")
+        double latencyTolerance,
+
+        @DefaultValue("0.9")
+        double backoffRatio
+) {
+}
@@ -0,0 +1,51 @@
+package pro.ardev.todo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pro.ardev.todo.deadline.DeadlineAwareJdbcTemplate;
+import pro.ardev.todo.deadline.DeadlineAwareJpaTransactionManager;
+import pro.ardev.todo.deadline.DeadlineInterceptor;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DeadlineConfig {
+
+    /**
+     * Primary because R2DBC contributes a reactive transaction manager as well, and {@code @Transactional}
+     * resolves its manager by type.
+     */
+    @Bean
+    @Primary
+    @Profile("!in-memory")
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new DeadlineAwareJpaTransactionManager(entityManagerFactory);
+    }
+
+    /**
+     * Replaces the auto-configured template, so that statements outside a transaction are bounded as well.
+     */
+    @Bean
+    @Profile("!in-memory")
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new DeadlineAwareJdbcTemplate(dataSource);
+    }
+
+    @Bean
+    public WebMvcConfigurer deadlineConfigurer(DeadlineProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new DeadlineInterceptor(properties))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+}
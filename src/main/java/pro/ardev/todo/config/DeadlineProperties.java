@@ -0,0 +1,26 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "todo.deadline")
+public record DeadlineProperties(
+        @DefaultValue("X-Request-Timeout")
+        String header,
+
+        @DefaultValue("10s")
+        Duration defaultTimeout,
+
+        @DefaultValue("30s")
+        Duration maxTimeout,
+
+        Map<String, Duration> endpoints
+) {
+
+    public DeadlineProperties {
+        endpoints = endpoints == null ? Map.of() : endpoints;
+    }
+}
@@ -0,0 +1,16 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h")
+        Duration ttl,
+
+        @DefaultValue("1000")
+        int purgeBatchSize
+) {
+}
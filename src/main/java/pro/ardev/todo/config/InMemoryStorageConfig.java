@@ -0,0 +1,23 @@
+package pro.ardev.todo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import pro.ardev.todo.repository.memory.InMemoryTaskRepository;
+import pro.ardev.todo.repository.memory.TaskJournal;
+
+@Configuration
+@Profile("in-memory")
+public class InMemoryStorageConfig {
+
+    @Bean
+    public InMemoryTaskRepository taskRepository(InMemoryStorageProperties properties, ObjectMapper objectMapper) {
+        if (properties.journal() == null) {
+            return new InMemoryTaskRepository();
+        }
+
+        return new InMemoryTaskRepository(
+                new TaskJournal(properties.journal(), objectMapper, properties.fsync()));
+    }
+}
@@ -0,0 +1,15 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "todo.in-memory")
+public record InMemoryStorageProperties(
+        Path journal,
+
+        @DefaultValue("false")
+        boolean fsync
+) {
+}
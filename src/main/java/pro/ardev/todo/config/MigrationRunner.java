@@ -0,0 +1,26 @@
+package pro.ardev.todo.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the application into a one-shot schema migration job: Liquibase has already run while the
+ * context started, so the process exits as soon as it is ready.
+ */
+@Component
+@Profile("migrate")
+@RequiredArgsConstructor
+public class MigrationRunner implements ApplicationRunner {
+
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        System.exit(SpringApplication.exit(this.applicationContext));
+    }
+}
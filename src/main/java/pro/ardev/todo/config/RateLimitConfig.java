@@ -0,0 +1,34 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pro.ardev.todo.ratelimit.ClientKeyResolver;
+import pro.ardev.todo.ratelimit.RateLimitInterceptor;
+import pro.ardev.todo.ratelimit.RateLimiter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties) {
+        return new RateLimiter(
+                properties.permitsPerSecond(),
+                properties.burst(),
+                properties.maxClients());
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(RateLimiter rateLimiter, ClientKeyResolver clientKeyResolver) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new RateLimitInterceptor(rateLimiter, clientKeyResolver))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+}
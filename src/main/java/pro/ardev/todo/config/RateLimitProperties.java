@@ -0,0 +1,23 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("50")
+        int permitsPerSecond,
+
+        @DefaultValue("100")
+        int burst,
+
+        @DefaultValue("10000")
+        int maxClients,
+
+        @DefaultValue("X-API-Key")
+        String clientHeader
+) {
+}
@@ -0,0 +1,107 @@
+package pro.ardev.todo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import pro.ardev.todo.repository.TaskRepository;
+import pro.ardev.todo.service.TaskClaimService;
+import pro.ardev.todo.shard.ShardConnectionProvider;
+import pro.ardev.todo.shard.ShardExecutor;
+import pro.ardev.todo.shard.ShardMigrator;
+import pro.ardev.todo.shard.ShardRouter;
+import pro.ardev.todo.shard.ShardRoutingAdvisor;
+import pro.ardev.todo.shard.ShardTenantResolver;
+import pro.ardev.todo.shard.ShardedTaskClaimService;
+import pro.ardev.todo.shard.ShardedTaskRepository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@Profile("!in-memory")
+@ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties) {
+        return new ShardRouter(1 + properties.shards().size(), properties.virtualNodes());
+    }
+
+    @Bean
+    public ShardRoutingAdvisor shardRoutingAdvisor(ShardRouter shardRouter) {
+        return new ShardRoutingAdvisor(shardRouter);
+    }
+
+    @Bean
+    public ShardConnectionProvider shardConnectionProvider(DataSource dataSource, ShardingProperties properties) {
+        List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(dataSource);
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource shardDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            shardDataSource.setPoolName("shard-" + dataSources.size());
+            dataSources.add(shardDataSource);
+        }
+
+        return new ShardConnectionProvider(dataSources);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernatePropertiesCustomizer(
+            ShardConnectionProvider shardConnectionProvider) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, shardConnectionProvider);
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new ShardTenantResolver());
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", matchIfMissing = true)
+    public ShardMigrator shardMigrator(ShardConnectionProvider shardConnectionProvider,
+                                       @Value("${spring.liquibase.change-log}") String changeLog,
+                                       ResourceLoader resourceLoader) {
+        return new ShardMigrator(shardConnectionProvider.dataSources(), changeLog, resourceLoader);
+    }
+
+    @Bean
+    public ShardExecutor shardExecutor(ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                                       ShardingProperties properties) {
+        ExecutorService scatterExecutor = Executors.newFixedThreadPool(
+                properties.scatterThreads(), new CustomizableThreadFactory("shard-scatter-"));
+
+        return new ShardExecutor(shardRouter, transactionManager, scatterExecutor);
+    }
+
+    @Bean
+    @Primary
+    public ShardedTaskRepository shardedTaskRepository(@Qualifier("taskRepository") TaskRepository taskRepository,
+                                                       ShardExecutor shardExecutor) {
+        return new ShardedTaskRepository(taskRepository, shardExecutor);
+    }
+
+    @Bean
+    @Primary
+    public ShardedTaskClaimService shardedTaskClaimService(
+            @Qualifier("taskClaimServiceImpl") TaskClaimService taskClaimService, ShardExecutor shardExecutor,
+            TaskClaimProperties taskClaimProperties) {
+        return new ShardedTaskClaimService(taskClaimService, shardExecutor, taskClaimProperties);
+    }
+}
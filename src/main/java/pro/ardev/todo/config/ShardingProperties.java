@@ -0,0 +1,35 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param shards the databases besides {@code spring.datasource}, which is always shard 0; their order fixes the
+ *               shard numbers, so shards may only be appended
+ */
+@ConfigurationProperties(prefix = "todo.sharding")
+public record ShardingProperties(
+        boolean enabled,
+
+        @DefaultValue("64")
+        int virtualNodes,
+
+        @DefaultValue("16")
+        int scatterThreads,
+
+        List<Shard> shards
+) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : shards;
+    }
+
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
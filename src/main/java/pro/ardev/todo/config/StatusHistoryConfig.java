@@ -0,0 +1,34 @@
+package pro.ardev.todo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import pro.ardev.todo.history.StatusHistoryWriter;
+import pro.ardev.todo.history.StatusTransitionBuffer;
+import pro.ardev.todo.shard.ShardExecutor;
+
+@Configuration
+@Profile("!in-memory")
+public class StatusHistoryConfig {
+
+    @Bean
+    public StatusHistoryWriter statusHistoryWriter(StatusHistoryProperties properties, JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   ObjectProvider<ShardExecutor> shardExecutor,
+                                                   MeterRegistry meterRegistry) {
+        return new StatusHistoryWriter(
+                new StatusTransitionBuffer(properties.bufferCapacity()),
+                jdbcTemplate,
+                transactionManager,
+                shardExecutor.getIfAvailable(),
+                properties.batchSize(),
+                properties.flushInterval(),
+                properties.overflow(),
+                properties.shutdownTimeout(),
+                meterRegistry);
+    }
+}
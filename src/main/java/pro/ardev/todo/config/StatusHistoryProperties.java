@@ -0,0 +1,26 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import pro.ardev.todo.history.OverflowPolicy;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.status-history")
+public record StatusHistoryProperties(
+        @DefaultValue("8192")
+        int bufferCapacity,
+
+        @DefaultValue("500")
+        int batchSize,
+
+        @DefaultValue("200ms")
+        Duration flushInterval,
+
+        @DefaultValue("CALLER_RUNS")
+        OverflowPolicy overflow,
+
+        @DefaultValue("10s")
+        Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,19 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.task-claims")
+public record TaskClaimProperties(
+        @DefaultValue("5m")
+        Duration leaseDuration,
+
+        @DefaultValue("1")
+        int defaultLimit,
+
+        @DefaultValue("1000")
+        int reapBatchSize
+) {
+}
@@ -0,0 +1,14 @@
+package pro.ardev.todo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.ardev.todo.id.TaskIdGenerator;
+
+@Configuration
+public class TaskIdConfig {
+
+    @Bean
+    public TaskIdGenerator taskIdGenerator(TaskIdProperties properties) {
+        return new TaskIdGenerator(properties.nodeId());
+    }
+}
@@ -0,0 +1,20 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param nodeId distinguishes the ids generated by concurrently running instances; every instance needs its own,
+ *               so there is no default and startup fails without one
+ */
+@ConfigurationProperties(prefix = "todo.task-ids")
+public record TaskIdProperties(
+        Integer nodeId
+) {
+
+    public TaskIdProperties {
+        if (nodeId == null) {
+            throw new IllegalStateException(
+                    "todo.task-ids.node-id is not set; every instance needs its own, e.g. through TODO_NODE_ID");
+        }
+    }
+}
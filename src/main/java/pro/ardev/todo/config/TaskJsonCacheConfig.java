@@ -0,0 +1,19 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pro.ardev.todo.cache.TaskJsonCache;
+
+/**
+ * The converter serving from the cache is registered by {@link TaskJsonConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "todo.cache.task-json", name = "enabled", havingValue = "true")
+public class TaskJsonCacheConfig {
+
+    @Bean
+    public TaskJsonCache taskJsonCache(TaskJsonCacheProperties properties) {
+        return new TaskJsonCache(properties.maxSize().toBytes());
+    }
+}
@@ -0,0 +1,15 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "todo.cache.task-json")
+public record TaskJsonCacheProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("64MB")
+        DataSize maxSize
+) {
+}
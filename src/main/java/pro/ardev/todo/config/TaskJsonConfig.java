@@ -0,0 +1,39 @@
+package pro.ardev.todo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pro.ardev.todo.cache.TaskJsonCache;
+import pro.ardev.todo.cache.TaskJsonHttpMessageConverter;
+import pro.ardev.todo.json.TaskListJsonHttpMessageConverter;
+import pro.ardev.todo.json.TaskResponseJsonWriter;
+
+import java.util.List;
+
+@Configuration
+public class TaskJsonConfig {
+
+    @Bean
+    public TaskResponseJsonWriter taskResponseJsonWriter(ObjectMapper objectMapper) {
+        return new TaskResponseJsonWriter(objectMapper);
+    }
+
+    /**
+     * With the JSON cache enabled its converter takes the task bodies, writing misses through the same writer.
+     */
+    @Bean
+    public WebMvcConfigurer taskJsonConfigurer(TaskResponseJsonWriter writer, ObjectProvider<TaskJsonCache> cache) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                TaskJsonCache taskJsonCache = cache.getIfAvailable();
+                converters.add(0, taskJsonCache == null
+                        ? new TaskListJsonHttpMessageConverter(writer)
+                        : new TaskJsonHttpMessageConverter(taskJsonCache, writer));
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package pro.ardev.todo.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pro.ardev.todo.cache.TaskChangeNotificationListener;
+import pro.ardev.todo.cache.TaskChangeNotifier;
+import pro.ardev.todo.cache.TaskListCache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+/**
+ * The task list cache always exists and passes through while disabled. Across nodes it and the Hibernate
+ * second-level cache are kept coherent by PostgreSQL notifications, which are sent and received whenever either
+ * cache is on; the in-memory profile runs a single node and relies on its change events alone.
+ * <p>
+ * The second-level cache is on by default, so by default every node listens, holding one connection per shard
+ * outside the pool. Turning off both {@code todo.cache.task-lists.enabled} and
+ * {@code spring.jpa.properties.hibernate.cache.use_second_level_cache} drops the listener along with the caches.
+ */
+@Configuration
+public class TaskListCacheConfig {
+
+    private static final String ANY_CACHE_ENABLED = "${todo.cache.task-lists.enabled:false}"
+            + " or ${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}";
+
+    @Bean
+    public TaskListCache taskListCache(TaskListCacheProperties properties) {
+        return new TaskListCache(properties.enabled(), properties.fallbackTtl());
+    }
+
+    @Bean
+    @Profile("!in-memory")
+    @ConditionalOnExpression(ANY_CACHE_ENABLED)
+    public TaskChangeNotifier taskChangeNotifier(JdbcTemplate jdbcTemplate, TaskListCacheProperties properties) {
+        return new TaskChangeNotifier(jdbcTemplate, properties.channel());
+    }
+
+    /**
+     * The listener holds its connections for good, so they are opened outside the pool, one for the primary
+     * datasource and, when sharded, one for every other shard.
+     */
+    @Bean
+    @Profile("!in-memory")
+    @ConditionalOnExpression(ANY_CACHE_ENABLED)
+    public TaskChangeNotificationListener taskChangeNotificationListener(DataSourceProperties dataSourceProperties,
+                                                                         ShardingProperties shardingProperties,
+                                                                         TaskListCache taskListCache,
+                                                                         EntityManagerFactory entityManagerFactory,
+                                                                         TaskListCacheProperties properties) {
+        List<Callable<Connection>> connectionFactories = new ArrayList<>();
+        connectionFactories.add(connectionFactory(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+        if (shardingProperties.enabled()) {
+            for (ShardingProperties.Shard shard : shardingProperties.shards()) {
+                connectionFactories.add(connectionFactory(shard.url(), shard.username(), shard.password()));
+            }
+        }
+
+        return new TaskChangeNotificationListener(
+                connectionFactories,
+                properties.channel(),
+                taskListCache,
+                entityManagerFactory,
+                properties.pollInterval(),
+                properties.reconnectDelay());
+    }
+
+    private static Callable<Connection> connectionFactory(String url, String username, String password) {
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("ApplicationName", TaskChangeNotificationListener.APPLICATION_NAME);
+        if (username != null) {
+            connectionProperties.setProperty("user", username);
+        }
+        if (password != null) {
+            connectionProperties.setProperty("password", password);
+        }
+
+        return () -> DriverManager.getConnection(url, connectionProperties);
+    }
+}
@@ -0,0 +1,25 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.cache.task-lists")
+public record TaskListCacheProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("task_changes")
+        String channel,
+
+        @DefaultValue("5s")
+        Duration fallbackTtl,
+
+        @DefaultValue("1s")
+        Duration pollInterval,
+
+        @DefaultValue("2s")
+        Duration reconnectDelay
+) {
+}
@@ -0,0 +1,16 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.task-loader")
+public record TaskLoaderProperties(
+        @DefaultValue("2ms")
+        Duration batchWindow,
+
+        @DefaultValue("100")
+        int maxBatchSize
+) {
+}
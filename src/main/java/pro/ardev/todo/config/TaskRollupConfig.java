@@ -0,0 +1,19 @@
+package pro.ardev.todo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import pro.ardev.todo.rollup.TaskRollupRecorder;
+
+@Configuration
+@Profile("!in-memory")
+public class TaskRollupConfig {
+
+    @Bean(destroyMethod = "flush")
+    public TaskRollupRecorder taskRollupRecorder(JdbcTemplate jdbcTemplate,
+                                                 PlatformTransactionManager transactionManager) {
+        return new TaskRollupRecorder(jdbcTemplate, transactionManager);
+    }
+}
@@ -0,0 +1,16 @@
+package pro.ardev.todo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.task-rollups")
+public record TaskRollupProperties(
+        @DefaultValue("7d")
+        Duration hourlyRetention,
+
+        @DefaultValue("2000")
+        int maxBuckets
+) {
+}
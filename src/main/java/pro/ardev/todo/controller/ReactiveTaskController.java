@@ -0,0 +1,103 @@
+package pro.ardev.todo.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.ratelimit.RateLimitCost;
+import pro.ardev.todo.service.ReactiveTaskService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Non-blocking variant of {@link TaskController}. The request thread is released while the database works;
+ * list endpoints requested as {@code application/x-ndjson} are streamed element by element with backpressure,
+ * while {@code application/json} collects them into one array.
+ * <p>
+ * The controller runs on Spring MVC, next to the blocking API, its interceptors and JPA, rather than on WebFlux:
+ * MVC subscribes to the returned publisher through servlet async processing, so no request thread waits on the
+ * database, but every open request still holds a servlet connection and async context. It does not scale the number
+ * of connections the way a Netty-based WebFlux server would.
+ * <p>
+ * Left out when sharded, since R2DBC reaches the primary database only; use the blocking API, which routes every
+ * call to its task's shard.
+ */
+@RestController
+@RequestMapping("/api/v2/tasks")
+@Profile("!in-memory")
+@ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private static final int FULL_LIST_COST = 10;
+
+    private final ReactiveTaskService reactiveTaskService;
+
+    @GetMapping(produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @RateLimitCost(FULL_LIST_COST)
+    public Flux<TaskResponse> getAllTasks() {
+        return this.reactiveTaskService.getAllTasks();
+    }
+
+    @GetMapping(value = "/filter", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @RateLimitCost(FULL_LIST_COST)
+    public Flux<TaskResponse> getTasksByStatus(
+            @RequestParam(required = false) List<TaskStatus> statuses,
+            @RequestParam(required = false) List<String> anyTags,
+            @RequestParam(required = false) List<String> allTags) {
+        return this.reactiveTaskService.getTasksByStatusAndTags(statuses, anyTags, allTags);
+    }
+
+    @GetMapping(value = "/sorted", produces = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @RateLimitCost(FULL_LIST_COST)
+    public Flux<TaskResponse> getSortedTasks(
+            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return this.reactiveTaskService.getSortedTasks(sortBy, direction);
+    }
+
+    @PostMapping
+    @ResponseStatus(CREATED)
+    public Mono<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest createTaskRequest) {
+        return this.reactiveTaskService.createTask(createTaskRequest);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<TaskResponse> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateTaskRequest updateTaskRequest) {
+        return this.reactiveTaskService.updateTask(id, updateTaskRequest);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskResponse> getTask(@PathVariable("id") Long id) {
+        return this.reactiveTaskService.getTaskById(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(NO_CONTENT)
+    public Mono<Void> deleteTask(@PathVariable("id") Long id) {
+        return this.reactiveTaskService.deleteTaskById(id);
+    }
+}
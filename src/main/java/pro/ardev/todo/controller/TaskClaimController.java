@@ -0,0 +1,43 @@
+package pro.ardev.todo.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.request.WorkerRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.LeaseResponse;
+import pro.ardev.todo.service.TaskClaimService;
+
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskClaimController {
+
+    private final TaskClaimService taskClaimService;
+
+    @PostMapping("/claim")
+    public ClaimResponse claimTasks(@Valid @RequestBody ClaimTasksRequest claimTasksRequest) {
+        return this.taskClaimService.claimTasks(claimTasksRequest);
+    }
+
+    @PostMapping("/{id}/heartbeat")
+    public LeaseResponse heartbeat(@PathVariable Long id, @Valid @RequestBody WorkerRequest workerRequest) {
+        return this.taskClaimService.heartbeat(id, workerRequest.workerId());
+    }
+
+    @PostMapping("/{id}/release")
+    @ResponseStatus(NO_CONTENT)
+    public void release(@PathVariable Long id, @Valid @RequestBody WorkerRequest workerRequest) {
+        this.taskClaimService.release(id, workerRequest.workerId());
+    }
+}
@@ -1,25 +1,40 @@
 package pro.ardev.todo.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.loader.TaskLoader;
 import pro.ardev.todo.model.enums.TaskStatus;
 import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
 import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskProgressResponse;
 import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.ratelimit.ClientKeyResolver;
+import pro.ardev.todo.ratelimit.RateLimitCost;
+import pro.ardev.todo.service.IdempotencyService;
 import pro.ardev.todo.service.TaskService;
+import pro.ardev.todo.shard.ShardKey;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
 
@@ -28,48 +43,174 @@ import static org.springframework.http.HttpStatus.NO_CONTENT;
 @RequiredArgsConstructor
 public class TaskController {
 
+    private static final int FULL_LIST_COST = 10;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String FIELDS = "fields";
+    private static final String IDS = "ids";
+    private static final String DUE_FROM = "dueFrom";
+    private static final String DUE_TO = "dueTo";
+    private static final String DUE_DATE = "dueDate";
+    private static final String ANY_TAGS = "anyTags";
+    private static final String ALL_TAGS = "allTags";
+
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final TaskLoader taskLoader;
+    private final ClientKeyResolver clientKeyResolver;
 
     @GetMapping
+    @RateLimitCost(FULL_LIST_COST)
     public List<TaskResponse> getAllTasks() {
         return this.taskService.getAllTasks();
     }
 
+    @GetMapping(params = {FIELDS, "!" + IDS, "!" + DUE_FROM})
+    @RateLimitCost(FULL_LIST_COST)
+    public List<Map<String, Object>> getAllTaskFields(
+            @RequestParam(FIELDS) List<String> fields) {
+        return this.taskService.getAllTaskFields(fields);
+    }
+
+    @GetMapping(params = IDS)
+    @RateLimitCost(FULL_LIST_COST)
+    public TaskBatchResponse getTasksByIds(
+            @RequestParam(IDS) List<Long> ids,
+            @RequestParam(name = FIELDS, required = false) List<String> fields) {
+        rejectUnsupported(FIELDS, fields, IDS);
+        return this.taskService.getTasksByIds(ids);
+    }
+
     @GetMapping("/filter")
+    @RateLimitCost(FULL_LIST_COST)
     public List<TaskResponse> getTasksByStatus(
-            @RequestParam(required = false) List<TaskStatus> statuses) {
-        return this.taskService.getTasksByStatus(statuses);
+            @RequestParam(required = false) List<TaskStatus> statuses,
+            @RequestParam(name = ANY_TAGS, required = false) List<String> anyTags,
+            @RequestParam(name = ALL_TAGS, required = false) List<String> allTags) {
+        return this.taskService.getTasksByStatusAndTags(statuses, anyTags, allTags);
+    }
+
+    @GetMapping(value = "/filter", params = FIELDS)
+    @RateLimitCost(FULL_LIST_COST)
+    public List<Map<String, Object>> getTaskFieldsByStatus(
+            @RequestParam(FIELDS) List<String> fields,
+            @RequestParam(required = false) List<TaskStatus> statuses,
+            @RequestParam(name = ANY_TAGS, required = false) List<String> anyTags,
+            @RequestParam(name = ALL_TAGS, required = false) List<String> allTags) {
+        rejectUnsupported(ANY_TAGS, anyTags, FIELDS);
+        rejectUnsupported(ALL_TAGS, allTags, FIELDS);
+        return this.taskService.getTaskFieldsByStatus(fields, statuses);
     }
 
     @GetMapping("/sorted")
+    @RateLimitCost(FULL_LIST_COST)
     public List<TaskResponse> getSortedTasks(
-            @RequestParam(defaultValue = "dueDate") String sortBy,
+            @RequestParam(defaultValue = DUE_DATE) String sortBy,
             @RequestParam(defaultValue = "ASC") String direction) {
         return this.taskService.getSortedTasks(sortBy, direction);
     }
 
+    @GetMapping(value = "/sorted", params = FIELDS)
+    @RateLimitCost(FULL_LIST_COST)
+    public List<Map<String, Object>> getSortedTaskFields(
+            @RequestParam(FIELDS) List<String> fields,
+            @RequestParam(defaultValue = DUE_DATE) String sortBy,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return this.taskService.getSortedTaskFields(fields, sortBy, direction);
+    }
+
+    @GetMapping(value = {"", "/sorted"}, params = {DUE_FROM, DUE_TO})
+    @RateLimitCost(FULL_LIST_COST)
+    public List<TaskResponse> getTasksInWindow(
+            @RequestParam(DUE_FROM) @DateTimeFormat(iso = DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(DUE_TO) @DateTimeFormat(iso = DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = DUE_DATE) String sortBy,
+            @RequestParam(name = FIELDS, required = false) List<String> fields) {
+        if (!DUE_DATE.equals(sortBy)) {
+            throw new BadRequestException(
+                    String.format("Tasks within %s and %s are sorted by %s only", DUE_FROM, DUE_TO, DUE_DATE));
+        }
+        rejectUnsupported(FIELDS, fields, DUE_FROM);
+        return this.taskService.getTasksInWindow(dueFrom, dueTo, direction);
+    }
+
     @PostMapping
     @ResponseStatus(CREATED)
     public TaskResponse createTask(
-            @Valid @RequestBody CreateTaskRequest createTaskRequest) {
-        return this.taskService.createTask(createTaskRequest);
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody @ShardKey CreateTaskRequest createTaskRequest,
+            HttpServletRequest request) {
+        return this.idempotencyService.execute(this.clientKeyResolver.resolve(request), idempotencyKey,
+                "POST /api/v1/tasks", createTaskRequest, () -> this.taskService.createTask(createTaskRequest));
     }
 
     @PutMapping("/{id}")
     public TaskResponse updateTask(
-            @PathVariable Long id,
-            @Valid @RequestBody UpdateTaskRequest updateTaskRequest) {
-        return this.taskService.updateTask(id, updateTaskRequest);
+            @PathVariable @ShardKey Long id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody UpdateTaskRequest updateTaskRequest,
+            HttpServletRequest request) {
+        return this.idempotencyService.execute(this.clientKeyResolver.resolve(request), idempotencyKey,
+                "PUT /api/v1/tasks/" + id, updateTaskRequest, () -> this.taskService.updateTask(id, updateTaskRequest));
+    }
+
+    @PutMapping("/{id}/occurrences/{occurrenceDate}")
+    public TaskResponse updateOccurrence(
+            @PathVariable @ShardKey Long id,
+            @PathVariable @DateTimeFormat(iso = DATE_TIME) LocalDateTime occurrenceDate,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody UpdateTaskRequest updateTaskRequest,
+            HttpServletRequest request) {
+        return this.idempotencyService.execute(this.clientKeyResolver.resolve(request), idempotencyKey,
+                "PUT /api/v1/tasks/" + id + "/occurrences/" + occurrenceDate, updateTaskRequest,
+                () -> this.taskService.updateOccurrence(id, occurrenceDate, updateTaskRequest));
     }
 
     @GetMapping("/{id}")
     public TaskResponse getTask(@PathVariable("id") Long id) {
-        return this.taskService.getTaskById(id);
+        return this.taskLoader.load(id);
+    }
+
+    @GetMapping("/{id}/subtree")
+    @RateLimitCost(FULL_LIST_COST)
+    public List<TaskResponse> getSubtree(@PathVariable @ShardKey Long id) {
+        return this.taskService.getSubtree(id);
+    }
+
+    @GetMapping("/{id}/ancestors")
+    public List<TaskResponse> getAncestors(@PathVariable @ShardKey Long id) {
+        return this.taskService.getAncestors(id);
+    }
+
+    @GetMapping("/{id}/progress")
+    @RateLimitCost(FULL_LIST_COST)
+    public List<TaskProgressResponse> getSubtreeProgress(@PathVariable @ShardKey Long id) {
+        return this.taskService.getSubtreeProgress(id);
+    }
+
+    @PutMapping("/{id}/parent")
+    public TaskResponse moveTask(
+            @PathVariable @ShardKey Long id,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody MoveTaskRequest moveTaskRequest,
+            HttpServletRequest request) {
+        return this.idempotencyService.execute(this.clientKeyResolver.resolve(request), idempotencyKey,
+                "PUT /api/v1/tasks/" + id + "/parent", moveTaskRequest,
+                () -> this.taskService.moveTask(id, moveTaskRequest));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(NO_CONTENT)
-    public void deleteTask(@PathVariable("id") Long id) {
+    public void deleteTask(@PathVariable("id") @ShardKey Long id) {
         this.taskService.deleteTaskById(id);
     }
+
+    /**
+     * A parameter a handler cannot honor is refused rather than silently ignored.
+     */
+    private static void rejectUnsupported(String parameter, Object value, String combinedWith) {
+        if (value != null) {
+            throw new BadRequestException(String.format("%s cannot be combined with %s", parameter, combinedWith));
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package pro.ardev.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.enums.CountMode;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.response.TaskCountResponse;
+import pro.ardev.todo.service.TaskCountService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskCountController {
+
+    private final TaskCountService taskCountService;
+
+    /**
+     * The total behind {@code GET /api/v1/tasks} and {@code GET /api/v1/tasks/filter?statuses=}, without the tasks.
+     */
+    @GetMapping("/count")
+    public TaskCountResponse countTasks(
+            @RequestParam(required = false) List<TaskStatus> statuses,
+            @RequestParam(defaultValue = "ESTIMATED") CountMode mode) {
+        return this.taskCountService.countTasks(statuses, mode);
+    }
+}
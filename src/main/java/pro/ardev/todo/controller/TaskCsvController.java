@@ -0,0 +1,42 @@
+package pro.ardev.todo.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.response.ImportResponse;
+import pro.ardev.todo.ratelimit.RateLimitCost;
+import pro.ardev.todo.service.TaskCsvService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskCsvController {
+
+    private static final int BULK_COST = 50;
+    private static final String TEXT_CSV = "text/csv";
+
+    private final TaskCsvService taskCsvService;
+
+    @PostMapping(path = "/import", consumes = TEXT_CSV)
+    @RateLimitCost(BULK_COST)
+    public ImportResponse importTasks(InputStream csv) {
+        return this.taskCsvService.importTasks(csv);
+    }
+
+    @GetMapping(path = "/export", produces = TEXT_CSV)
+    @RateLimitCost(BULK_COST)
+    public void exportTasks(HttpServletResponse response) throws IOException {
+        response.setContentType(TEXT_CSV);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\"");
+        this.taskCsvService.exportTasks(response.getOutputStream());
+    }
+}
@@ -0,0 +1,32 @@
+package pro.ardev.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.response.ThroughputResponse;
+import pro.ardev.todo.service.TaskRollupService;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+
+@RestController
+@RequestMapping("/api/v1/tasks/metrics")
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskMetricsController {
+
+    private final TaskRollupService taskRollupService;
+
+    @GetMapping("/timeseries")
+    public ThroughputResponse getThroughput(
+            @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "hour") String bucket) {
+        return this.taskRollupService.getThroughput(from, to, bucket);
+    }
+}
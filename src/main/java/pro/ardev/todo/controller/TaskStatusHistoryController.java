@@ -0,0 +1,43 @@
+package pro.ardev.todo.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pro.ardev.todo.model.response.StatusTransitionResponse;
+import pro.ardev.todo.model.response.TimeInStatusResponse;
+import pro.ardev.todo.ratelimit.RateLimitCost;
+import pro.ardev.todo.service.TaskStatusHistoryService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskStatusHistoryController {
+
+    private static final int ANALYTICS_COST = 10;
+
+    private final TaskStatusHistoryService taskStatusHistoryService;
+
+    @GetMapping("/{id}/history")
+    public List<StatusTransitionResponse> getStatusHistory(@PathVariable Long id) {
+        return this.taskStatusHistoryService.getHistory(id);
+    }
+
+    @GetMapping("/time-in-status")
+    @RateLimitCost(ANALYTICS_COST)
+    public TimeInStatusResponse getTimeInStatus(
+            @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to) {
+        return this.taskStatusHistoryService.getTimeInStatus(from, to);
+    }
+}
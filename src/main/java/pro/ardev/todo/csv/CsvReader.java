@@ -0,0 +1,82 @@
+package pro.ardev.todo.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader. Unquoted empty fields are read as {@code null}, quoted ones as empty
+ * strings, matching how PostgreSQL {@code COPY ... (FORMAT csv)} tells {@code NULL} from {@code ''}.
+ */
+final class CsvReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long rowLine;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the fields of the next row, or {@code null} at the end of the input
+     */
+    List<String> readRow() throws IOException {
+        int c = this.reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        this.rowLine = this.line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    c = this.reader.read();
+                    if (c != '"') {
+                        inQuotes = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    this.line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(value(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == -1) {
+                fields.add(value(field, quoted));
+                if (c == '\n') {
+                    this.line++;
+                }
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = this.reader.read();
+        }
+    }
+
+    /**
+     * @return the line on which the row last returned by {@link #readRow()} started
+     */
+    long rowLine() {
+        return this.rowLine;
+    }
+
+    private static String value(StringBuilder field, boolean quoted) {
+        return field.isEmpty() && !quoted ? null : field.toString();
+    }
+}
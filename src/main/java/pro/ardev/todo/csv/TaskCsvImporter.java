@@ -0,0 +1,173 @@
+package pro.ardev.todo.csv;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.response.ImportResponse;
+import pro.ardev.todo.model.response.RejectedRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streams a {@code title,description,due_date} CSV upload into the row format expected by
+ * {@code COPY tasks (id, title, description, due_date, status) FROM STDIN (FORMAT csv)}.
+ * Each row is checked against the constraints declared on {@link CreateTaskRequest} without materializing
+ * the request; rows that fail are left out of the output and reported by line number.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCsvImporter {
+
+    public static final String COLUMNS = "id, title, description, due_date, status";
+
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final List<String> HEADER = List.of("title", "description", "due_date");
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String DUE_DATE = "dueDate";
+    private static final String DUE_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter DUE_DATE_FORMATTER = DateTimeFormatter.ofPattern(DUE_DATE_FORMAT);
+
+    private final Validator validator;
+
+    /**
+     * Writes the valid rows of {@code csv} to {@code copy}, each with an id taken from {@code ids}. The header row,
+     * if present, and blank lines are skipped; only a first row naming all three columns counts as a header, so a
+     * task titled "Title" is still imported.
+     *
+     * @return the number of rows written and the rejected ones; only the first
+     * {@value #MAX_REPORTED_REJECTIONS} rejections are listed
+     */
+    public ImportResponse importCsv(InputStream csv, OutputStream copy, LongSupplier ids) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(csv, UTF_8), BUFFER_SIZE));
+        Writer writer = new OutputStreamWriter(copy, UTF_8);
+        List<RejectedRow> rejectedRows = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+
+        List<String> row;
+        boolean first = true;
+        while ((row = reader.readRow()) != null) {
+            if (row.size() == 1 && row.get(0) == null) {
+                continue;
+            }
+            if (first && isHeader(row)) {
+                first = false;
+                continue;
+            }
+            first = false;
+
+            String reason = write(row, writer, ids);
+            if (reason == null) {
+                imported++;
+                continue;
+            }
+            rejected++;
+            if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedRows.add(RejectedRow.builder()
+                        .line(reader.rowLine())
+                        .reason(reason)
+                        .build());
+            }
+        }
+        writer.flush();
+
+        return ImportResponse.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .rejectedRows(rejectedRows)
+                .build();
+    }
+
+    private static boolean isHeader(List<String> row) {
+        if (row.size() != HEADER.size()) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.size(); i++) {
+            if (row.get(i) == null || !HEADER.get(i).equalsIgnoreCase(row.get(i).strip())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return {@code null} if the row was written, otherwise why it was rejected
+     */
+    private String write(List<String> row, Writer writer, LongSupplier ids) throws IOException {
+        if (row.size() > 3) {
+            return "Expected at most 3 columns: title, description, due_date";
+        }
+        String title = row.get(0);
+        String description = row.size() > 1 ? row.get(1) : null;
+        String dueDateValue = row.size() > 2 ? row.get(2) : null;
+
+        LocalDateTime dueDate = null;
+        if (dueDateValue != null && !dueDateValue.isBlank()) {
+            try {
+                dueDate = LocalDateTime.parse(dueDateValue.strip(), DUE_DATE_FORMATTER);
+            } catch (DateTimeParseException e) {
+                return "Due date must match " + DUE_DATE_FORMAT;
+            }
+        }
+
+        Set<ConstraintViolation<CreateTaskRequest>> violations = new HashSet<>();
+        violations.addAll(this.validator.validateValue(CreateTaskRequest.class, TITLE, title));
+        violations.addAll(this.validator.validateValue(CreateTaskRequest.class, DESCRIPTION, description));
+        violations.addAll(this.validator.validateValue(CreateTaskRequest.class, DUE_DATE, dueDate));
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        writer.write(Long.toString(ids.getAsLong()));
+        writer.write(',');
+        quote(title, writer);
+        writer.write(',');
+        if (description != null) {
+            quote(description, writer);
+        }
+        writer.write(',');
+        if (dueDate != null) {
+            writer.write(DUE_DATE_FORMATTER.format(dueDate));
+        }
+        writer.write(",TODO\n");
+        return null;
+    }
+
+    private static void quote(String value, Writer writer) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,39 @@
+package pro.ardev.todo.deadline;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import pro.ardev.todo.exception.DeadlineExceededException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Bounds the statements a request runs outside the transactions of {@link DeadlineAwareJpaTransactionManager},
+ * such as counts, by the deadline of the request: the remaining time, rounded up to the whole seconds JDBC takes,
+ * becomes the query timeout of every statement. Statements without a request deadline keep the configured timeout.
+ */
+public class DeadlineAwareJdbcTemplate extends JdbcTemplate {
+
+    public DeadlineAwareJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement statement) throws SQLException {
+        super.applyStatementSettings(statement);
+
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return;
+        }
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new DeadlineExceededException();
+        }
+
+        int timeoutSeconds = (int) Math.min(Integer.MAX_VALUE, (remaining.toMillis() + 999) / 1000);
+        if (statement.getQueryTimeout() == 0 || timeoutSeconds < statement.getQueryTimeout()) {
+            statement.setQueryTimeout(timeoutSeconds);
+        }
+    }
+}
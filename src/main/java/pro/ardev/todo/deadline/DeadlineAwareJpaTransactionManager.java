@@ -0,0 +1,45 @@
+package pro.ardev.todo.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.exception.DeadlineExceededException;
+
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Bounds every new transaction by the deadline of the current request: the remaining time becomes the
+ * PostgreSQL {@code statement_timeout} of the transaction, so the server cancels a statement that would
+ * outlive the request instead of holding the connection for a client that has given up.
+ */
+public class DeadlineAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public DeadlineAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null && (remaining.isNegative() || remaining.isZero())) {
+            throw new DeadlineExceededException();
+        }
+
+        super.doBegin(transaction, definition);
+
+        if (remaining != null) {
+            long timeoutMillis = Math.max(1, remaining.toMillis());
+            EntityManagerHolder holder = (EntityManagerHolder)
+                    TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+            holder.getEntityManager().unwrap(Session.class).doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+                }
+            });
+        }
+    }
+}
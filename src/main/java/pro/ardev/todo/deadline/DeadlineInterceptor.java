@@ -0,0 +1,60 @@
+package pro.ardev.todo.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import pro.ardev.todo.config.DeadlineProperties;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+
+/**
+ * Starts the deadline of every handled request. The timeout is taken from the timeout header in
+ * milliseconds, capped at {@code maxTimeout}, or else from the per-endpoint default keyed by
+ * {@code Controller.method}, the name endpoint metrics are tagged with, or else from {@code defaultTimeout}.
+ */
+@RequiredArgsConstructor
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private final DeadlineProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestDeadline.set(timeout(request, handlerMethod));
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private Duration timeout(HttpServletRequest request, HandlerMethod handlerMethod) {
+        String header = request.getHeader(this.properties.header());
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                if (!requested.isNegative() && !requested.isZero()) {
+                    return requested.compareTo(this.properties.maxTimeout()) < 0
+                            ? requested
+                            : this.properties.maxTimeout();
+                }
+            } catch (NumberFormatException e) {
+                // An unusable header falls back to the endpoint default.
+            }
+        }
+
+        return this.properties.endpoints()
+                .getOrDefault(endpointName(handlerMethod.getMethod()), this.properties.defaultTimeout());
+    }
+
+    private static String endpointName(Method endpoint) {
+        return endpoint.getDeclaringClass().getSimpleName() + "." + endpoint.getName();
+    }
+}
@@ -0,0 +1,33 @@
+package pro.ardev.todo.deadline;
+
+import java.time.Duration;
+
+/**
+ * Deadline of the request handled by the current thread, set by {@link DeadlineInterceptor}.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(Duration timeout) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * @return time left until the deadline, negative once it has passed, or {@code null} without a deadline
+     */
+    public static Duration remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+
+        return deadline == null
+                ? null
+                : Duration.ofNanos(deadline - System.nanoTime());
+    }
+}
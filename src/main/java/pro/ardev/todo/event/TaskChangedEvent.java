@@ -0,0 +1,13 @@
+package pro.ardev.todo.event;
+
+import pro.ardev.todo.model.enums.TaskChangeType;
+
+/**
+ * Published by the task service whenever a task row is inserted, modified or removed.
+ * Listeners use it to keep derived state (caches, aggregates) in step with the table.
+ */
+public record TaskChangedEvent(
+        Long taskId,
+        TaskChangeType type
+) {
+}
@@ -0,0 +1,18 @@
+package pro.ardev.todo.event;
+
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a task is stored with a status it did not have before, including its first one.
+ *
+ * @param fromStatus the previous status, {@code null} for a new task
+ */
+public record TaskStatusChangedEvent(
+        Long taskId,
+        TaskStatus fromStatus,
+        TaskStatus toStatus,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,13 @@
+package pro.ardev.todo.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the CSV import, which writes rows without going through the task service, so no
+ * {@link TaskChangedEvent} or {@link TaskStatusChangedEvent} is published for them.
+ */
+public record TasksImportedEvent(
+        long imported,
+        LocalDateTime importedAt
+) {
+}
@@ -0,0 +1,11 @@
+package pro.ardev.todo.exception;
+
+/**
+ * Always handled, so it carries no stack trace.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
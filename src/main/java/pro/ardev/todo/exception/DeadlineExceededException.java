@@ -0,0 +1,8 @@
+package pro.ardev.todo.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException() {
+        super("Request deadline exceeded");
+    }
+}
@@ -0,0 +1,8 @@
+package pro.ardev.todo.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
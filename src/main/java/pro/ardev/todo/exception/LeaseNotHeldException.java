@@ -0,0 +1,8 @@
+package pro.ardev.todo.exception;
+
+public class LeaseNotHeldException extends RuntimeException {
+
+    public LeaseNotHeldException(String message) {
+        super(message);
+    }
+}
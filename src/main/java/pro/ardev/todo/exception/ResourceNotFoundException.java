@@ -1,8 +1,37 @@
 package pro.ardev.todo.exception;
 
+/**
+ * Thrown for every id that does not resolve, which makes it the most frequent exception under scraping. It carries
+ * no stack trace, since it is always handled, and {@link #task(Long)} only builds its message when it is read.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
+    private final String resource;
+    private final Object id;
+    private String message;
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.resource = null;
+        this.id = null;
+        this.message = message;
+    }
+
+    private ResourceNotFoundException(String resource, Object id) {
+        super(null, null, false, false);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    public static ResourceNotFoundException task(Long id) {
+        return new ResourceNotFoundException("Task", id);
+    }
+
+    @Override
+    public String getMessage() {
+        if (this.message == null) {
+            this.message = this.resource + " with ID " + this.id + " not found";
+        }
+        return this.message;
     }
 }
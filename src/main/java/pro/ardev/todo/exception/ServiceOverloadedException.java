@@ -0,0 +1,8 @@
+package pro.ardev.todo.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException() {
+        super("Service is overloaded, please retry later");
+    }
+}
@@ -1,33 +1,160 @@
 package pro.ardev.todo.handler;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.exception.DeadlineExceededException;
+import pro.ardev.todo.exception.IdempotencyConflictException;
+import pro.ardev.todo.exception.LeaseNotHeldException;
+import pro.ardev.todo.exception.RateLimitExceededException;
 import pro.ardev.todo.model.response.ErrorResponse;
 import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.exception.ServiceOverloadedException;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.joining;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 
+/**
+ * Turns exceptions into {@link ErrorResponse}s and counts them in {@code todo.requests.errors} by endpoint and
+ * status. The counters are registered once per endpoint and status and looked up without allocating afterwards.
+ * An endpoint is named by its controller and method, e.g. {@code TaskController.getTask}, so that handlers of
+ * the same name in different API versions are counted apart.
+ */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final Map<Method, Map<HttpStatus, Counter>> errorCounters = new ConcurrentHashMap<>();
+    private final Map<Method, Counter> timeoutCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(NOT_FOUND)
-    public ErrorResponse handleResourceNotFound(ResourceNotFoundException e) {
-        return new ErrorResponse(
-                NOT_FOUND.value(),
-                e.getMessage(),
-                System.currentTimeMillis());
+    public ErrorResponse handleResourceNotFound(ResourceNotFoundException e, HandlerMethod handlerMethod) {
+        return error(NOT_FOUND, e.getMessage(), handlerMethod);
+    }
+
+    @ExceptionHandler({ConstraintViolationException.class, BadRequestException.class})
+    @ResponseStatus(BAD_REQUEST)
+    public ErrorResponse handleConstraintViolation(RuntimeException e, HandlerMethod handlerMethod) {
+        return error(BAD_REQUEST, e.getMessage(), handlerMethod);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ResponseStatus(BAD_REQUEST)
+    public ErrorResponse handleMethodArgumentNotValid(MethodArgumentNotValidException e,
+                                                      HandlerMethod handlerMethod) {
+        String message = e.getBindingResult().getAllErrors().stream()
+                .map(error -> error instanceof FieldError fieldError
+                        ? fieldError.getField() + ": " + fieldError.getDefaultMessage()
+                        : error.getDefaultMessage())
+                .collect(joining("; "));
+
+        return error(BAD_REQUEST, message, handlerMethod);
     }
 
-    @ExceptionHandler(ConstraintViolationException.class)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     @ResponseStatus(BAD_REQUEST)
-    public ErrorResponse handleConstraintViolation(ConstraintViolationException e) {
+    public ErrorResponse handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException e,
+                                                          HandlerMethod handlerMethod) {
+        return error(BAD_REQUEST, "Invalid value '" + e.getValue() + "' for parameter " + e.getName(),
+                handlerMethod);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e,
+                                                                 HandlerMethod handlerMethod) {
+        return ResponseEntity.status(TOO_MANY_REQUESTS)
+                .header(RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error(TOO_MANY_REQUESTS, e.getMessage(), handlerMethod));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceOverloaded(ServiceOverloadedException e, HandlerMethod handlerMethod) {
+        return error(SERVICE_UNAVAILABLE, e.getMessage(), handlerMethod);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    @ResponseStatus(CONFLICT)
+    public ErrorResponse handleIdempotencyConflict(IdempotencyConflictException e, HandlerMethod handlerMethod) {
+        return error(CONFLICT, e.getMessage(), handlerMethod);
+    }
+
+    @ExceptionHandler(LeaseNotHeldException.class)
+    @ResponseStatus(CONFLICT)
+    public ErrorResponse handleLeaseNotHeld(LeaseNotHeldException e, HandlerMethod handlerMethod) {
+        return error(CONFLICT, e.getMessage(), handlerMethod);
+    }
+
+    @ExceptionHandler({DeadlineExceededException.class, QueryTimeoutException.class})
+    @ResponseStatus(GATEWAY_TIMEOUT)
+    public ErrorResponse handleDeadlineExceeded(RuntimeException e, HandlerMethod handlerMethod) {
+        timeoutCounter(handlerMethod.getMethod()).increment();
+
+        return error(GATEWAY_TIMEOUT, "Request deadline exceeded", handlerMethod);
+    }
+
+    private ErrorResponse error(HttpStatus status, String message, HandlerMethod handlerMethod) {
+        errorCounter(handlerMethod.getMethod(), status).increment();
+
         return new ErrorResponse(
-                BAD_REQUEST.value(),
-                e.getMessage(),
+                status.value(),
+                message,
                 System.currentTimeMillis());
     }
+
+    private Counter errorCounter(Method endpoint, HttpStatus status) {
+        Map<HttpStatus, Counter> counters = this.errorCounters.get(endpoint);
+        if (counters == null) {
+            counters = this.errorCounters.computeIfAbsent(endpoint, method -> new ConcurrentHashMap<>());
+        }
+        Counter counter = counters.get(status);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(status, key -> Counter.builder("todo.requests.errors")
+                    .description("Requests answered with an error")
+                    .tag("endpoint", endpointName(endpoint))
+                    .tag("status", String.valueOf(key.value()))
+                    .register(this.meterRegistry));
+        }
+        return counter;
+    }
+
+    private Counter timeoutCounter(Method endpoint) {
+        Counter counter = this.timeoutCounters.get(endpoint);
+        if (counter == null) {
+            counter = this.timeoutCounters.computeIfAbsent(endpoint,
+                    key -> Counter.builder("todo.requests.timed-out")
+                            .description("Requests answered after their deadline ran out")
+                            .tag("endpoint", endpointName(key))
+                            .register(this.meterRegistry));
+        }
+        return counter;
+    }
+
+    private static String endpointName(Method endpoint) {
+        return endpoint.getDeclaringClass().getSimpleName() + "." + endpoint.getName();
+    }
 }
@@ -0,0 +1,17 @@
+package pro.ardev.todo.history;
+
+/**
+ * What happens to a status transition that finds the history buffer full.
+ */
+public enum OverflowPolicy {
+
+        /**
+         * The transition is counted and discarded; the request never waits for the history.
+         */
+        DROP,
+
+        /**
+         * The publishing thread writes the transition itself, trading latency for a complete history.
+         */
+        CALLER_RUNS
+}
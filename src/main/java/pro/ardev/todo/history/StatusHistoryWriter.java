@@ -0,0 +1,208 @@
+package pro.ardev.todo.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.shard.ShardExecutor;
+import pro.ardev.todo.shard.ShardRouter;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Moves committed status transitions into {@code task_status_history} off the request path. Transitions are queued
+ * in a {@link StatusTransitionBuffer} and a single thread writes whatever has accumulated as one JDBC batch, so
+ * batches grow with the load instead of waiting for a fixed size.
+ * <p>
+ * On shutdown the buffer is drained before the connection pool goes away; transitions committed after that are
+ * written by their publishing thread.
+ * <p>
+ * When sharded, a batch is split by the shard of each task id and every part is written on its own shard, whichever
+ * thread writes it.
+ */
+@Slf4j
+public class StatusHistoryWriter implements SmartLifecycle {
+
+    static final String INSERT_SQL =
+            "INSERT INTO task_status_history (task_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final StatusTransitionBuffer buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardExecutor shardExecutor;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param shardExecutor the shards to write to, or {@code null} if not sharded
+     */
+    public StatusHistoryWriter(StatusTransitionBuffer buffer, JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager, ShardExecutor shardExecutor,
+                               int batchSize, Duration flushInterval, OverflowPolicy overflowPolicy,
+                               Duration shutdownTimeout, MeterRegistry meterRegistry) {
+        this.buffer = buffer;
+        this.jdbcTemplate = jdbcTemplate;
+        // Caller-runs writes happen after the task transaction has committed and must not join it.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardExecutor = shardExecutor;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.shutdownTimeout = shutdownTimeout;
+        this.written = Counter.builder("todo.status-history.written")
+                .description("Status transitions written to the history")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("todo.status-history.dropped")
+                .description("Status transitions discarded because the history buffer was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("todo.status-history.failed")
+                .description("Status transitions lost to a failed history write")
+                .register(meterRegistry);
+        Gauge.builder("todo.status-history.buffered", buffer, StatusTransitionBuffer::size)
+                .description("Status transitions waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TaskStatusChangedEvent event) {
+        if (!this.running) {
+            write(List.of(event));
+            return;
+        }
+        if (this.buffer.offer(event)) {
+            // The writer may have finished its last drain between the check above and the offer.
+            if (!this.running) {
+                drainRemaining();
+            }
+            return;
+        }
+
+        if (this.overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            write(List.of(event));
+        } else {
+            this.dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        this.running = true;
+        this.thread = new Thread(this::run, "status-history-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        try {
+            this.thread.join(this.shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (this.thread.isAlive()) {
+            log.warn("Status history writer did not drain within {}, {} transitions left unwritten",
+                    this.shutdownTimeout, this.buffer.size());
+        } else {
+            drainRemaining();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Stopped after the web server, so that requests still in flight get their transitions written, and before
+     * the data source.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<TaskStatusChangedEvent> batch = new ArrayList<>(this.batchSize);
+        while (this.running || this.buffer.size() > 0) {
+            try {
+                if (!this.buffer.awaitNotEmpty(this.flushInterval)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            this.buffer.drainTo(batch, this.batchSize);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainRemaining() {
+        List<TaskStatusChangedEvent> batch = new ArrayList<>(this.batchSize);
+        while (this.buffer.drainTo(batch, this.batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<TaskStatusChangedEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (this.shardExecutor == null) {
+            write(batch, () -> this.transactionTemplate.executeWithoutResult(status -> insert(batch)));
+            return;
+        }
+
+        ShardRouter shardRouter = this.shardExecutor.router();
+        Map<Integer, List<TaskStatusChangedEvent>> byShard = new TreeMap<>();
+        for (TaskStatusChangedEvent transition : batch) {
+            byShard.computeIfAbsent(shardRouter.shardForId(transition.taskId()), shard -> new ArrayList<>())
+                    .add(transition);
+        }
+        byShard.forEach((shard, transitions) -> write(transitions,
+                () -> this.shardExecutor.writeInNewTransaction(shard, () -> insert(transitions))));
+    }
+
+    private void write(List<TaskStatusChangedEvent> batch, Runnable insert) {
+        try {
+            insert.run();
+            this.written.increment(batch.size());
+        } catch (RuntimeException e) {
+            this.failed.increment(batch.size());
+            log.warn("Could not write {} status transitions to the history", batch.size(), e);
+        }
+    }
+
+    private int[][] insert(List<TaskStatusChangedEvent> batch) {
+        return this.jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, transition) -> {
+            statement.setLong(1, transition.taskId());
+            statement.setString(2, transition.fromStatus() == null ? null : transition.fromStatus().name());
+            statement.setString(3, transition.toStatus().name());
+            statement.setTimestamp(4, Timestamp.valueOf(transition.changedAt()));
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package pro.ardev.todo.history;
+
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size ring of transitions waiting to be written. Any thread may offer; a single writer drains it in batches.
+ */
+public class StatusTransitionBuffer {
+
+    private final TaskStatusChangedEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private int head;
+    private int size;
+
+    public StatusTransitionBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.ring = new TaskStatusChangedEvent[capacity];
+    }
+
+    /**
+     * @return {@code false} if the buffer is full and the transition was not taken
+     */
+    public boolean offer(TaskStatusChangedEvent transition) {
+        this.lock.lock();
+        try {
+            if (this.size == this.ring.length) {
+                return false;
+            }
+            this.ring[(this.head + this.size) % this.ring.length] = transition;
+            this.size++;
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to {@code max} of the oldest transitions into {@code batch}.
+     *
+     * @return the number of transitions moved
+     */
+    public int drainTo(List<TaskStatusChangedEvent> batch, int max) {
+        this.lock.lock();
+        try {
+            int count = Math.min(max, this.size);
+            for (int i = 0; i < count; i++) {
+                batch.add(this.ring[this.head]);
+                this.ring[this.head] = null;
+                this.head = (this.head + 1) % this.ring.length;
+            }
+            this.size -= count;
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return whether the buffer holds a transition, after waiting at most {@code timeout} for one
+     */
+    public boolean awaitNotEmpty(Duration timeout) throws InterruptedException {
+        this.lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (this.size == 0 && nanos > 0) {
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+            return this.size > 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return this.ring.length;
+    }
+}
@@ -0,0 +1,64 @@
+package pro.ardev.todo.json;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code List<TaskResponse>} bodies straight to the response stream through {@link TaskResponseJsonWriter}.
+ */
+public class TaskListJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<TaskResponse>> {
+
+    private final TaskResponseJsonWriter writer;
+
+    public TaskListJsonHttpMessageConverter(TaskResponseJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isTaskResponseList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(List<TaskResponse> responses, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        this.writer.write(responses, outputMessage.getBody());
+    }
+
+    @Override
+    public List<TaskResponse> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected List<TaskResponse> readInternal(Class<? extends List<TaskResponse>> clazz,
+                                              HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Task responses are write-only", inputMessage);
+    }
+
+    static boolean isTaskResponseList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == TaskResponse.class;
+    }
+}
@@ -0,0 +1,159 @@
+package pro.ardev.todo.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Streams {@link TaskResponse} JSON without the bean serializer: field names are pre-encoded and timestamps are
+ * formatted digit by digit into a scratch buffer that lives for one write, instead of through a
+ * {@link DateTimeFormatter} per value.
+ * <p>
+ * The output is byte-identical to the application {@link ObjectMapper} with its default property inclusion; strings
+ * are still escaped by the mapper's generator. Keep it in step with {@link TaskResponse} when a component is added.
+ */
+public class TaskResponseJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString OWNER = new SerializedString("owner");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString DUE_DATE = new SerializedString("dueDate");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString TAGS = new SerializedString("tags");
+    private static final SerializableString RECURRENCE = new SerializedString("recurrence");
+    private static final SerializableString SERIES_ID = new SerializedString("seriesId");
+    private static final SerializableString OCCURRENCE_DATE = new SerializedString("occurrenceDate");
+    private static final SerializableString PARENT_ID = new SerializedString("parentId");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    /**
+     * Same pattern as the {@code @JsonFormat} on {@link TaskResponse}, used for years outside {@code 1..9999}.
+     */
+    private static final DateTimeFormatter FALLBACK_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int TIMESTAMP_LENGTH = 19;
+
+    private final ObjectMapper objectMapper;
+
+    public TaskResponseJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the array to {@code out} and flushes it, leaving the stream open.
+     */
+    public void write(List<TaskResponse> responses, OutputStream out) throws IOException {
+        try (JsonGenerator generator = this.objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            char[] scratch = new char[TIMESTAMP_LENGTH];
+            generator.writeStartArray();
+            for (TaskResponse response : responses) {
+                write(response, generator, scratch);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    public byte[] toBytes(TaskResponse response) throws IOException {
+        try (ByteArrayBuilder bytes = new ByteArrayBuilder()) {
+            try (JsonGenerator generator = this.objectMapper.createGenerator(bytes, JsonEncoding.UTF8)) {
+                write(response, generator, new char[TIMESTAMP_LENGTH]);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static void write(TaskResponse response, JsonGenerator generator, char[] scratch) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(response.id());
+        generator.writeFieldName(OWNER);
+        generator.writeString(response.owner());
+        generator.writeFieldName(TITLE);
+        generator.writeString(response.title());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(response.description());
+        generator.writeFieldName(DUE_DATE);
+        writeTimestamp(response.dueDate(), generator, scratch);
+        generator.writeFieldName(STATUS);
+        if (response.status() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(response.status().name());
+        }
+        generator.writeFieldName(TAGS);
+        if (response.tags() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (String tag : response.tags()) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeFieldName(RECURRENCE);
+        generator.writeString(response.recurrence());
+        generator.writeFieldName(SERIES_ID);
+        if (response.seriesId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(response.seriesId());
+        }
+        generator.writeFieldName(OCCURRENCE_DATE);
+        writeTimestamp(response.occurrenceDate(), generator, scratch);
+        generator.writeFieldName(PARENT_ID);
+        if (response.parentId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(response.parentId());
+        }
+        generator.writeFieldName(CREATED_AT);
+        writeTimestamp(response.createdAt(), generator, scratch);
+        generator.writeFieldName(UPDATED_AT);
+        writeTimestamp(response.updatedAt(), generator, scratch);
+        generator.writeEndObject();
+    }
+
+    private static void writeTimestamp(LocalDateTime timestamp, JsonGenerator generator, char[] scratch)
+            throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+            return;
+        }
+        if (timestamp.getYear() < 1 || timestamp.getYear() > 9999) {
+            generator.writeString(FALLBACK_FORMAT.format(timestamp));
+            return;
+        }
+
+        digits(scratch, 0, timestamp.getYear(), 4);
+        scratch[4] = '-';
+        digits(scratch, 5, timestamp.getMonthValue(), 2);
+        scratch[7] = '-';
+        digits(scratch, 8, timestamp.getDayOfMonth(), 2);
+        scratch[10] = ' ';
+        digits(scratch, 11, timestamp.getHour(), 2);
+        scratch[13] = ':';
+        digits(scratch, 14, timestamp.getMinute(), 2);
+        scratch[16] = ':';
+        digits(scratch, 17, timestamp.getSecond(), 2);
+        generator.writeString(scratch, 0, TIMESTAMP_LENGTH);
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
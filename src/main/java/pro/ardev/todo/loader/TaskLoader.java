@@ -0,0 +1,126 @@
+package pro.ardev.todo.loader;
+
+import org.springframework.stereotype.Component;
+import pro.ardev.todo.config.TaskLoaderProperties;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces concurrent single-task reads.
+ * <p>
+ * Requests for an id that is already being fetched wait for that fetch instead of issuing their own
+ * (singleflight). Requests for different ids arriving within {@code batchWindow} are fetched together with
+ * one {@link TaskService#getTasksByIds} query: the first caller of a window waits for it to pass and then
+ * flushes the batch, or a later caller flushes it early once {@code maxBatchSize} ids are pending.
+ * Callers share the resulting {@link TaskResponse}, which is immutable.
+ */
+@Component
+public class TaskLoader {
+
+    private final ConcurrentMap<Long, CompletableFuture<TaskResponse>> inFlight = new ConcurrentHashMap<>();
+    private final TaskService taskService;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private Map<Long, CompletableFuture<TaskResponse>> pending = new LinkedHashMap<>();
+
+    public TaskLoader(TaskService taskService, TaskLoaderProperties properties) {
+        this.taskService = taskService;
+        this.batchWindowNanos = properties.batchWindow().toNanos();
+        this.maxBatchSize = properties.maxBatchSize();
+    }
+
+    public TaskResponse load(Long id) {
+        CompletableFuture<TaskResponse> future = new CompletableFuture<>();
+        CompletableFuture<TaskResponse> existing = this.inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        if (this.batchWindowNanos <= 0) {
+            fetch(Map.of(id, future));
+        } else {
+            enqueue(id, future);
+        }
+
+        return join(future);
+    }
+
+    private void enqueue(Long id, CompletableFuture<TaskResponse> future) {
+        boolean leader;
+        Map<Long, CompletableFuture<TaskResponse>> full = null;
+        synchronized (this) {
+            leader = this.pending.isEmpty();
+            this.pending.put(id, future);
+            if (this.pending.size() >= this.maxBatchSize) {
+                full = takePending();
+            }
+        }
+
+        if (full != null) {
+            fetch(full);
+        } else if (leader) {
+            LockSupport.parkNanos(this.batchWindowNanos);
+            Map<Long, CompletableFuture<TaskResponse>> batch;
+            synchronized (this) {
+                batch = takePending();
+            }
+            if (!batch.isEmpty()) {
+                fetch(batch);
+            }
+        }
+    }
+
+    private Map<Long, CompletableFuture<TaskResponse>> takePending() {
+        Map<Long, CompletableFuture<TaskResponse>> batch = this.pending;
+        this.pending = new LinkedHashMap<>();
+
+        return batch;
+    }
+
+    private void fetch(Map<Long, CompletableFuture<TaskResponse>> batch) {
+        try {
+            TaskBatchResponse response = this.taskService.getTasksByIds(new ArrayList<>(batch.keySet()));
+            Map<Long, TaskResponse> found = new HashMap<>();
+            response.tasks().forEach(task -> found.put(task.id(), task));
+
+            batch.forEach((id, future) -> {
+                this.inFlight.remove(id, future);
+                TaskResponse task = found.get(id);
+                if (task != null) {
+                    future.complete(task);
+                } else {
+                    future.completeExceptionally(ResourceNotFoundException.task(id));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.forEach((id, future) -> {
+                this.inFlight.remove(id, future);
+                future.completeExceptionally(e);
+            });
+        }
+    }
+
+    private static TaskResponse join(CompletableFuture<TaskResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
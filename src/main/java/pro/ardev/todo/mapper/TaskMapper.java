@@ -4,11 +4,19 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.model.enums.TaskStatus;
 import pro.ardev.todo.model.request.CreateTaskRequest;
 import pro.ardev.todo.model.response.TaskResponse;
 import pro.ardev.todo.model.request.UpdateTaskRequest;
 import pro.ardev.todo.model.entity.Task;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static org.mapstruct.ReportingPolicy.IGNORE;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = IGNORE,
@@ -23,4 +31,49 @@ public interface TaskMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntity(@MappingTarget Task entity, UpdateTaskRequest dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "parentId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void mergeEntity(@MappingTarget Task entity, CreateTaskRequest dto);
+
+    /**
+     * Maps an occurrence of {@code series} that is not stored. It carries the series' id, so it can be addressed
+     * for materialization, and is always {@code TODO}.
+     */
+    default TaskResponse toOccurrenceResponse(Task series, LocalDateTime occurrenceDate) {
+        return TaskResponse.builder()
+                .id(series.getId())
+                .owner(series.getOwner())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .dueDate(occurrenceDate)
+                .status(TaskStatus.TODO)
+                .tags(series.getTags())
+                .seriesId(series.getId())
+                .occurrenceDate(occurrenceDate)
+                .createdAt(series.getCreatedAt())
+                .updatedAt(series.getUpdatedAt())
+                .build();
+    }
+
+    DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Maps a projected row to a JSON object holding only the selected fields, formatted like {@link TaskResponse}.
+     */
+    default Map<String, Object> toFieldMap(Collection<TaskField> fields, Object[] row) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        int i = 0;
+        for (TaskField field : fields) {
+            Object value = row[i++];
+            result.put(field.attribute(), value instanceof LocalDateTime dateTime
+                    ? DATE_TIME_FORMATTER.format(dateTime)
+                    : value);
+        }
+
+        return result;
+    }
 }
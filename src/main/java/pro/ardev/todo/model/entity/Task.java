@@ -1,9 +1,9 @@
 package pro.ardev.todo.model.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -11,14 +11,19 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 import pro.ardev.todo.model.enums.TaskStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static jakarta.persistence.EnumType.STRING;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
 @Getter
@@ -27,12 +32,24 @@ import static jakarta.persistence.GenerationType.IDENTITY;
 @NoArgsConstructor
 @Builder
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = READ_WRITE, region = Task.CACHE_REGION)
+@DynamicUpdate
 public class Task {
 
+    public static final String CACHE_REGION = "task";
+    public static final String LIST_CACHE_REGION = "task-lists";
+    public static final String DEFAULT_OWNER = "default";
+
+    /**
+     * Assigned before the insert, see {@link pro.ardev.todo.id.TaskIdGenerator}.
+     */
     @Id
-    @GeneratedValue(strategy = IDENTITY)
     private Long id;
 
+    @Column(name = "owner", nullable = false, updatable = false)
+    private String owner;
+
     @Column(name = "title", nullable = false)
     private String title;
 
@@ -42,10 +59,51 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "tags", nullable = false, columnDefinition = "text[]")
+    private List<String> tags;
+
     @Enumerated(STRING)
     @Column(name = "status", nullable = false)
     private TaskStatus status;
 
+    /**
+     * Recurrence rule of a series, see {@link pro.ardev.todo.recurrence.RecurrenceRule}. Its occurrences are not
+     * stored; they are expanded per requested window.
+     */
+    @Column(name = "recurrence")
+    private String recurrence;
+
+    /**
+     * Id of the series a materialized occurrence belongs to.
+     */
+    @Column(name = "series_id", updatable = false)
+    private Long seriesId;
+
+    /**
+     * Due date the occurrence had in its series, kept when the occurrence is moved.
+     */
+    @Column(name = "occurrence_date", updatable = false)
+    private LocalDateTime occurrenceDate;
+
+    /**
+     * Task this one is nested under. The transitive links are kept in {@code task_closure}, see
+     * {@link pro.ardev.todo.repository.TaskHierarchyRepository}.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * Worker holding the task, see {@link pro.ardev.todo.service.TaskClaimService}. The claim columns are written by
+     * SQL behind Hibernate's back; updates only write changed columns, so a cached copy never puts back a stale
+     * lease. Cleared with the lease when the status is changed otherwise.
+     */
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
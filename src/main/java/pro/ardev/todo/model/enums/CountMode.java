@@ -0,0 +1,19 @@
+package pro.ardev.todo.model.enums;
+
+/**
+ * How a total count is obtained, from the most accurate to the cheapest per request.
+ */
+public enum CountMode {
+        /**
+         * Counted on every request.
+         */
+        EXACT,
+        /**
+         * Counted per status in the background and summed on request, exact as of the last refresh.
+         */
+        CACHED,
+        /**
+         * Taken from the planner statistics, without reading the table.
+         */
+        ESTIMATED
+}
@@ -0,0 +1,47 @@
+package pro.ardev.todo.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+/**
+ * Width of a throughput bucket. Stored as the granularity of {@code task_rollups}; a bucket is read from the
+ * rollups of its own granularity and of every finer one.
+ */
+public enum RollupBucket {
+        HOUR("hour", ChronoUnit.HOURS),
+        DAY("day", ChronoUnit.DAYS);
+
+        private final String unit;
+        private final ChronoUnit chronoUnit;
+
+        RollupBucket(String unit, ChronoUnit chronoUnit) {
+                this.unit = unit;
+                this.chronoUnit = chronoUnit;
+        }
+
+        /**
+         * The name used by the API and by {@code date_trunc}.
+         */
+        public String unit() {
+                return this.unit;
+        }
+
+        public LocalDateTime truncate(LocalDateTime timestamp) {
+                return timestamp.truncatedTo(this.chronoUnit);
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+                return bucketStart.plus(1, this.chronoUnit);
+        }
+
+        public static Optional<RollupBucket> fromUnit(String unit) {
+                for (RollupBucket bucket : values()) {
+                        if (bucket.unit.equalsIgnoreCase(unit)) {
+                                return Optional.of(bucket);
+                        }
+                }
+
+                return Optional.empty();
+        }
+}
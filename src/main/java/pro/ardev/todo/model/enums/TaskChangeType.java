@@ -0,0 +1,5 @@
+package pro.ardev.todo.model.enums;
+
+public enum TaskChangeType {
+        CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,39 @@
+package pro.ardev.todo.model.enums;
+
+import java.util.Optional;
+
+public enum TaskField {
+        ID("id"),
+        OWNER("owner"),
+        TITLE("title"),
+        DESCRIPTION("description"),
+        DUE_DATE("dueDate"),
+        STATUS("status"),
+        TAGS("tags"),
+        RECURRENCE("recurrence"),
+        SERIES_ID("seriesId"),
+        OCCURRENCE_DATE("occurrenceDate"),
+        PARENT_ID("parentId"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt");
+
+        private final String attribute;
+
+        TaskField(String attribute) {
+                this.attribute = attribute;
+        }
+
+        public String attribute() {
+                return this.attribute;
+        }
+
+        public static Optional<TaskField> fromAttribute(String attribute) {
+                for (TaskField field : values()) {
+                        if (field.attribute.equals(attribute)) {
+                                return Optional.of(field);
+                        }
+                }
+
+                return Optional.empty();
+        }
+}
@@ -0,0 +1,19 @@
+package pro.ardev.todo.model.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+@Builder
+public record ClaimTasksRequest(
+        @NotBlank(message = "Worker id is mandatory")
+        @Size(max = 100, message = "Worker id must be less than 100 characters")
+        String workerId,
+
+        @Min(value = 1, message = "At least one task must be claimed")
+        @Max(value = 100, message = "At most 100 tasks can be claimed at once")
+        Integer limit
+) {
+}
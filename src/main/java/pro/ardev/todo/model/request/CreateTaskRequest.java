@@ -3,13 +3,21 @@ package pro.ardev.todo.model.request;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Builder
 public record CreateTaskRequest(
+        @Positive(message = "Id must be positive")
+        Long id,
+
+        @Size(max = 255, message = "Owner must be less than 255 characters")
+        String owner,
+
         @NotBlank(message = "Title is mandatory")
         @Size(max = 255, message = "Title must be less than 255 characters")
         String title,
@@ -19,6 +27,16 @@ public record CreateTaskRequest(
 
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         @FutureOrPresent(message = "Due date must be in present or future")
-        LocalDateTime dueDate
+        LocalDateTime dueDate,
+
+        @Size(max = 20, message = "A task can have at most 20 tags")
+        List<@NotBlank(message = "Tags must not be blank")
+             @Size(max = 50, message = "Tags must be less than 50 characters") String> tags,
+
+        @Size(max = 255, message = "Recurrence must be less than 255 characters")
+        String recurrence,
+
+        @Positive(message = "Parent id must be positive")
+        Long parentId
 ) {
 }
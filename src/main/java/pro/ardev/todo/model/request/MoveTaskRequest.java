@@ -0,0 +1,14 @@
+package pro.ardev.todo.model.request;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+/**
+ * @param parentId the new parent, {@code null} to move the task to the top level
+ */
+@Builder
+public record MoveTaskRequest(
+        @Positive(message = "Parent id must be positive")
+        Long parentId
+) {
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import pro.ardev.todo.model.enums.TaskStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Builder
 public record UpdateTaskRequest(
@@ -22,6 +23,10 @@ public record UpdateTaskRequest(
         @FutureOrPresent(message = "Due date must be in present or future")
         LocalDateTime dueDate,
 
-        TaskStatus status
+        TaskStatus status,
+
+        @Size(max = 20, message = "A task can have at most 20 tags")
+        List<@NotBlank(message = "Tags must not be blank")
+             @Size(max = 50, message = "Tags must be less than 50 characters") String> tags
 ) {
 }
@@ -0,0 +1,13 @@
+package pro.ardev.todo.model.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+@Builder
+public record WorkerRequest(
+        @NotBlank(message = "Worker id is mandatory")
+        @Size(max = 100, message = "Worker id must be less than 100 characters")
+        String workerId
+) {
+}
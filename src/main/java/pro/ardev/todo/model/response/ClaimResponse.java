@@ -0,0 +1,21 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @param leaseExpiresAt the earliest lease of the claimed tasks, {@code null} if there was nothing to claim
+ */
+@Builder
+public record ClaimResponse(
+        String workerId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime leaseExpiresAt,
+
+        List<TaskResponse> tasks
+) {
+}
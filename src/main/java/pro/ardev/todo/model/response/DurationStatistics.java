@@ -0,0 +1,16 @@
+package pro.ardev.todo.model.response;
+
+import lombok.Builder;
+
+/**
+ * Durations in seconds; everything but the count is {@code null} when there were no samples.
+ */
+@Builder
+public record DurationStatistics(
+        long count,
+        Double averageSeconds,
+        Double p50Seconds,
+        Double p90Seconds,
+        Double p99Seconds
+) {
+}
@@ -0,0 +1,13 @@
+package pro.ardev.todo.model.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ImportResponse(
+        long imported,
+        long rejected,
+        List<RejectedRow> rejectedRows
+) {
+}
@@ -0,0 +1,16 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record LeaseResponse(
+        long taskId,
+        String workerId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime leaseExpiresAt
+) {
+}
@@ -0,0 +1,10 @@
+package pro.ardev.todo.model.response;
+
+import lombok.Builder;
+
+@Builder
+public record RejectedRow(
+        long line,
+        String reason
+) {
+}
@@ -0,0 +1,17 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record StatusTransitionResponse(
+        TaskStatus fromStatus,
+        TaskStatus toStatus,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,12 @@
+package pro.ardev.todo.model.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TaskBatchResponse(
+        List<TaskResponse> tasks,
+        List<Long> missingIds
+) {
+}
@@ -0,0 +1,20 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import pro.ardev.todo.model.enums.CountMode;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param asOf when the count was exact, {@code null} for an estimate
+ */
+@Builder
+public record TaskCountResponse(
+        long count,
+        CountMode mode,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime asOf
+) {
+}
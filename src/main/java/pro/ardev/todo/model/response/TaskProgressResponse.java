@@ -0,0 +1,15 @@
+package pro.ardev.todo.model.response;
+
+import lombok.Builder;
+
+/**
+ * Progress of the subtree rooted at a task, the task itself included.
+ */
+@Builder
+public record TaskProgressResponse(
+        long taskId,
+        long total,
+        long done,
+        double percentDone
+) {
+}
@@ -5,10 +5,12 @@ import lombok.Builder;
 import pro.ardev.todo.model.enums.TaskStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Builder
 public record TaskResponse(
         long id,
+        String owner,
         String title,
         String description,
 
@@ -17,6 +19,17 @@ public record TaskResponse(
 
         TaskStatus status,
 
+        List<String> tags,
+
+        String recurrence,
+
+        Long seriesId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime occurrenceDate,
+
+        Long parentId,
+
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
 
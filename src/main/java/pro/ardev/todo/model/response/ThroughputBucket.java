@@ -0,0 +1,21 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param overdue the peak number of open tasks past their due date sampled within the bucket, {@code null} when it
+ *                was not sampled
+ */
+@Builder
+public record ThroughputBucket(
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime bucketStart,
+
+        long created,
+        long completed,
+        Long overdue
+) {
+}
@@ -0,0 +1,22 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import pro.ardev.todo.model.enums.RollupBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+public record ThroughputResponse(
+        RollupBucket bucket,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime from,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime to,
+
+        List<ThroughputBucket> buckets
+) {
+}
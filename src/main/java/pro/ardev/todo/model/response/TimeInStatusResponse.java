@@ -0,0 +1,22 @@
+package pro.ardev.todo.model.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Builder
+public record TimeInStatusResponse(
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime from,
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime to,
+
+        Map<TaskStatus, DurationStatistics> timeInStatus,
+
+        DurationStatistics cycleTime
+) {
+}
@@ -0,0 +1,25 @@
+package pro.ardev.todo.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import pro.ardev.todo.config.RateLimitProperties;
+
+/**
+ * Identifies the client of a request by the API key header or, without one, by the remote address. Rate limits
+ * and idempotency keys are both scoped to this identity.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientKeyResolver {
+
+    private final RateLimitProperties rateLimitProperties;
+
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(this.rateLimitProperties.clientHeader());
+
+        return apiKey != null && !apiKey.isBlank()
+                ? "key:" + apiKey
+                : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,17 @@
+package pro.ardev.todo.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Number of permits a call to the annotated handler takes from the client's bucket.
+ * Handlers without it cost one permit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitCost {
+
+    int value();
+}
@@ -0,0 +1,39 @@
+package pro.ardev.todo.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import pro.ardev.todo.exception.RateLimitExceededException;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Charges every handled request against the bucket of its client, as identified by
+ * {@link ClientKeyResolver}. Runs inside the dispatcher so that rejections are rendered by
+ * {@link pro.ardev.todo.handler.GlobalExceptionHandler}.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final ClientKeyResolver clientKeyResolver;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        RateLimitCost cost = handlerMethod.getMethodAnnotation(RateLimitCost.class);
+        long wait = this.rateLimiter.tryAcquire(this.clientKeyResolver.resolve(request), cost == null ? 1 : cost.value());
+        if (wait > 0) {
+            long retryAfter = Math.max(1, NANOSECONDS.toSeconds(wait + SECONDS.toNanos(1) - 1));
+            throw new RateLimitExceededException(retryAfter);
+        }
+
+        return true;
+    }
+}
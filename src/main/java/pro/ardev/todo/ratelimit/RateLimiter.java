@@ -0,0 +1,86 @@
+package pro.ardev.todo.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Per-client token buckets. The client table holds about {@code maxClients} buckets: when it is full, buckets that
+ * have refilled completely are dropped (a fresh bucket is equivalent), and if that is not enough, the ones closest to
+ * refilled, down to seven eighths of the table so that evicting stays cheap per new client. Every client always gets
+ * a bucket of its own; a client flooding the table with new keys only evicts buckets that have little or nothing
+ * left to refill, while those of throttled clients, its own included, are evicted last.
+ */
+public class RateLimiter {
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evicting = new ReentrantLock();
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final int burst;
+    private final int maxClients;
+    private final LongSupplier clock;
+
+    public RateLimiter(int permitsPerSecond, int burst, int maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(int permitsPerSecond, int burst, int maxClients, LongSupplier clock) {
+        this.emissionInterval = SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstTolerance = this.emissionInterval * burst;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.clock = clock;
+    }
+
+    /**
+     * @return {@code 0} when the request may proceed, otherwise the nanoseconds the client has to wait
+     */
+    public long tryAcquire(String clientKey, int cost) {
+        long now = this.clock.getAsLong();
+        TokenBucket bucket = this.buckets.get(clientKey);
+        if (bucket == null) {
+            if (this.buckets.size() >= this.maxClients) {
+                evict(now);
+            }
+            bucket = this.buckets.computeIfAbsent(clientKey, key -> new TokenBucket(now));
+        }
+
+        return bucket.tryAcquire(Math.min(cost, this.burst), now, this.emissionInterval, this.burstTolerance);
+    }
+
+    int clientCount() {
+        return this.buckets.size();
+    }
+
+    /**
+     * One thread evicts at a time; new clients arriving meanwhile are added anyway, so the table may briefly hold
+     * more than {@code maxClients} buckets by as many.
+     */
+    private void evict(long now) {
+        if (!this.evicting.tryLock()) {
+            return;
+        }
+        try {
+            if (this.buckets.size() < this.maxClients) {
+                return;
+            }
+            this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+            int excess = this.buckets.size() - (this.maxClients - Math.max(1, this.maxClients / 8));
+            if (excess > 0) {
+                long[] arrivals = this.buckets.values().stream()
+                        .mapToLong(TokenBucket::theoreticalArrival)
+                        .sorted()
+                        .toArray();
+                long threshold = arrivals[Math.min(excess, arrivals.length) - 1];
+                this.buckets.values().removeIf(bucket -> bucket.theoreticalArrival() <= threshold);
+            }
+        } finally {
+            this.evicting.unlock();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package pro.ardev.todo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole bucket state is
+ * the theoretical arrival time of the next permit, kept in a single {@link AtomicLong}.
+ * A bucket whose arrival time lies in the past is full.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return {@code 0} when the permits were taken, otherwise the nanoseconds until they will be available
+     */
+    long tryAcquire(long cost, long now, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long current = this.theoreticalArrival.get();
+            long next = Math.max(current, now) + cost * emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (this.theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The later it lies, the longer the bucket takes to refill.
+     */
+    long theoreticalArrival() {
+        return this.theoreticalArrival.get();
+    }
+
+    boolean isFull(long now) {
+        return this.theoreticalArrival.get() <= now;
+    }
+}
@@ -0,0 +1,228 @@
+package pro.ardev.todo.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Subset of the iCalendar RRULE (RFC 5545): {@code FREQ=DAILY|WEEKLY|MONTHLY}, {@code INTERVAL}, {@code BYDAY} for
+ * weekly rules, and an end given by {@code COUNT} or {@code UNTIL}, e.g. {@code FREQ=WEEKLY;BYDAY=MO,TH;COUNT=10}.
+ * The first occurrence is the series' due date, which also fixes the time of day of every occurrence.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+
+    private static final int MAX_INTERVAL = 1000;
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDateTime until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count,
+                           LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code rule} is not a supported RRULE
+     */
+    public static RecurrenceRule parse(String rule) {
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+
+        for (String part : rule.strip().split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String value = pair[1].strip().toUpperCase(Locale.ROOT);
+            switch (pair[0].strip().toUpperCase(Locale.ROOT)) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = parsePositive(value, "INTERVAL");
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        byDay.add(parseDay(day.strip()));
+                    }
+                }
+                case "COUNT" -> count = parsePositive(value, "COUNT");
+                case "UNTIL" -> until = parseUntil(value);
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + pair[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs a FREQ");
+        }
+        if (interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("INTERVAL must not exceed " + MAX_INTERVAL);
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL must not both be set");
+        }
+
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * Expands the series starting at {@code start} within {@code [from, to]}. Whole periods before {@code from} are
+     * skipped arithmetically where the rule allows, so the cost follows the size of the window rather than the age
+     * of the series.
+     *
+     * @param limit the maximum number of occurrences returned
+     * @return the occurrences in ascending order
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> result = new ArrayList<>();
+        LocalDateTime end = this.until != null && this.until.isBefore(to) ? this.until : to;
+        if (start.isAfter(end) || limit <= 0) {
+            return result;
+        }
+
+        switch (this.frequency) {
+            case DAILY -> daily(start, from, end, limit, result);
+            case WEEKLY -> weekly(start, from, end, limit, result);
+            case MONTHLY -> monthly(start, from, end, limit, result);
+        }
+
+        return result;
+    }
+
+    private void daily(LocalDateTime start, LocalDateTime from, LocalDateTime end, int limit,
+                       List<LocalDateTime> result) {
+        long index = Math.max(0, ChronoUnit.DAYS.between(start, from) / this.interval);
+        for (; !exhausted(index); index++) {
+            LocalDateTime occurrence = start.plusDays(index * this.interval);
+            if (occurrence.isAfter(end) || !add(occurrence, from, limit, result)) {
+                return;
+            }
+        }
+    }
+
+    private void weekly(LocalDateTime start, LocalDateTime from, LocalDateTime end, int limit,
+                        List<LocalDateTime> result) {
+        Set<DayOfWeek> days = this.byDay.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : this.byDay;
+        LocalDateTime firstWeek = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long firstWeekOccurrences = days.stream()
+                .filter(day -> !firstWeek.plusDays(day.ordinal()).isBefore(start))
+                .count();
+
+        long week = Math.max(0, ChronoUnit.WEEKS.between(firstWeek, from) / this.interval);
+        while (true) {
+            LocalDateTime weekStart = firstWeek.plusWeeks(week * this.interval);
+            long index = week == 0 ? 0 : firstWeekOccurrences + (week - 1) * days.size();
+            for (DayOfWeek day : days) {
+                LocalDateTime occurrence = weekStart.plusDays(day.ordinal());
+                if (occurrence.isBefore(start)) {
+                    continue;
+                }
+                if (exhausted(index++) || occurrence.isAfter(end) || !add(occurrence, from, limit, result)) {
+                    return;
+                }
+            }
+            week++;
+        }
+    }
+
+    /**
+     * Months without the series' day of month are skipped, as RFC 5545 requires, so occurrences are counted one
+     * by one from the start.
+     */
+    private void monthly(LocalDateTime start, LocalDateTime from, LocalDateTime end, int limit,
+                         List<LocalDateTime> result) {
+        long index = 0;
+        for (long month = 0; !exhausted(index); month++) {
+            LocalDateTime occurrence = start.plusMonths(month * this.interval);
+            if (occurrence.isAfter(end)) {
+                return;
+            }
+            if (occurrence.getDayOfMonth() != start.getDayOfMonth()) {
+                continue;
+            }
+            index++;
+            if (!add(occurrence, from, limit, result)) {
+                return;
+            }
+        }
+    }
+
+    private boolean exhausted(long index) {
+        return this.count != null && index >= this.count;
+    }
+
+    /**
+     * @return whether more occurrences may be added
+     */
+    private static boolean add(LocalDateTime occurrence, LocalDateTime from, int limit, List<LocalDateTime> result) {
+        if (!occurrence.isBefore(from)) {
+            result.add(occurrence);
+        }
+
+        return result.size() < limit;
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ: " + value);
+        }
+    }
+
+    private static int parsePositive(String value, String name) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below.
+        }
+        throw new IllegalArgumentException(name + " must be a positive integer");
+    }
+
+    private static DayOfWeek parseDay(String value) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(value) && value.length() == 2) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported BYDAY value: " + value);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        try {
+            return value.length() == 8
+                    ? LocalDate.parse(value, UNTIL_DATE).atTime(23, 59, 59)
+                    : LocalDateTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value,
+                    UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be yyyyMMdd or yyyyMMdd'T'HHmmss");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pro.ardev.todo.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pro.ardev.todo.model.entity.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    /**
+     * Inserts the client's key, or takes over an expired one. Relies on the primary key, and commits on its own
+     * so that a concurrent insert of the same key affects no rows right away instead of waiting for the request
+     * that holds the key to finish.
+     *
+     * @return {@code 1} if the key was claimed, {@code 0} if it is held by another request
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (client, idempotency_key, request_hash, created_at, expires_at)
+            VALUES (:client, :key, :requestHash, :now, :expiresAt)
+            ON CONFLICT (client, idempotency_key) DO UPDATE
+                SET request_hash  = EXCLUDED.request_hash,
+                    response_body = NULL,
+                    created_at    = EXCLUDED.created_at,
+                    expires_at    = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at < :now
+            """, nativeQuery = true)
+    int claim(String client, String key, String requestHash, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = """
+            UPDATE idempotency_keys SET response_body = :responseBody
+            WHERE client = :client AND idempotency_key = :key
+            """, nativeQuery = true)
+    void storeResponse(String client, String key, String responseBody);
+
+    /**
+     * Gives up a key whose request failed, so that the client can retry with it.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = """
+            DELETE FROM idempotency_keys
+            WHERE client = :client AND idempotency_key = :key AND response_body IS NULL
+            """, nativeQuery = true)
+    void release(String client, String key);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM idempotency_keys
+            WHERE (client, idempotency_key) IN (
+                SELECT client, idempotency_key FROM idempotency_keys
+                WHERE expires_at < :now
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpired(LocalDateTime now, int batchSize);
+}
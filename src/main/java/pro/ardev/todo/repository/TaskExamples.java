@@ -0,0 +1,209 @@
+package pro.ardev.todo.repository;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import pro.ardev.todo.model.entity.Task;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Query by example over tasks held outside the database, matched the way Spring Data JPA builds its predicates:
+ * {@code null} probe properties are skipped unless the matcher includes them, strings follow the matcher's string
+ * matching and case handling, and other values compare by equality. Results are ordered by {@link TaskOrdering}.
+ */
+public final class TaskExamples {
+
+    private static final List<String> PROPERTIES = Arrays.stream(BeanUtils.getPropertyDescriptors(Task.class))
+            .filter(property -> property.getReadMethod() != null && property.getWriteMethod() != null)
+            .map(PropertyDescriptor::getName)
+            .toList();
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private TaskExamples() {
+    }
+
+    public static boolean matches(Example<? extends Task> example, Task task) {
+        if (!example.getProbeType().isInstance(task)) {
+            return false;
+        }
+
+        ExampleMatcher matcher = example.getMatcher();
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(matcher);
+        BeanWrapper probe = new BeanWrapperImpl(example.getProbe());
+        BeanWrapper candidate = new BeanWrapperImpl(task);
+        boolean compared = false;
+        for (String path : PROPERTIES) {
+            if (accessor.isIgnoredPath(path)) {
+                continue;
+            }
+            Optional<Object> expected = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(probe.getPropertyValue(path)));
+            if (expected.isEmpty() && accessor.getNullHandler() == ExampleMatcher.NullHandler.IGNORE) {
+                continue;
+            }
+
+            boolean match = matches(accessor, path, expected.orElse(null), candidate.getPropertyValue(path));
+            if (match == matcher.isAnyMatching()) {
+                return match;
+            }
+            compared = true;
+        }
+
+        return matcher.isAllMatching() || !compared;
+    }
+
+    /**
+     * @param matches the tasks matching {@code example}, in any order
+     */
+    public static <S extends Task> FluentQuery.FetchableFluentQuery<S> query(Example<S> example,
+                                                                            List<S> matches) {
+        return new ListQuery<>(matches, Sort.unsorted(), Integer.MAX_VALUE, example.getProbeType()::cast);
+    }
+
+    private static boolean matches(ExampleMatcherAccessor accessor, String path, Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (!(expected instanceof String pattern) || !(actual instanceof String value)) {
+            return expected.equals(actual);
+        }
+
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        ExampleMatcher.StringMatcher stringMatcher = accessor.getStringMatcherForPath(path);
+        if (stringMatcher == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(pattern, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher(value).matches();
+        }
+        if (ignoreCase) {
+            pattern = pattern.toLowerCase(Locale.ROOT);
+            value = value.toLowerCase(Locale.ROOT);
+        }
+
+        return switch (stringMatcher) {
+            case DEFAULT, EXACT, REGEX -> value.equals(pattern);
+            case STARTING -> value.startsWith(pattern);
+            case ENDING -> value.endsWith(pattern);
+            case CONTAINING -> value.contains(pattern);
+        };
+    }
+
+    private static <R> Function<Task, R> readerFor(Class<R> type) {
+        if (type.isAssignableFrom(Task.class)) {
+            return type::cast;
+        }
+        if (type.isInterface()) {
+            return task -> PROJECTIONS.createProjection(type, task);
+        }
+
+        throw new IllegalArgumentException(String.format("Tasks cannot be read as %s", type.getName()));
+    }
+
+    private record ListQuery<T>(List<? extends Task> matches, Sort sort, int limit, Function<Task, T> reader)
+            implements FluentQuery.FetchableFluentQuery<T> {
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> sortBy(Sort sort) {
+            return new ListQuery<>(this.matches, this.sort.and(sort), this.limit, this.reader);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative");
+            }
+
+            return new ListQuery<>(this.matches, this.sort, limit, this.reader);
+        }
+
+        @Override
+        public <R> FluentQuery.FetchableFluentQuery<R> as(Class<R> resultType) {
+            return new ListQuery<>(this.matches, this.sort, this.limit, readerFor(resultType));
+        }
+
+        /**
+         * Tasks are held whole, so there is nothing to leave out.
+         */
+        @Override
+        public FluentQuery.FetchableFluentQuery<T> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public T oneValue() {
+            List<T> results = fetch(this.sort, Math.min(this.limit, 2));
+            if (results.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, results.size());
+            }
+
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public T firstValue() {
+            List<T> results = fetch(this.sort, Math.min(this.limit, 1));
+
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        @Override
+        public List<T> all() {
+            return fetch(this.sort, this.limit);
+        }
+
+        @Override
+        public Page<T> page(Pageable pageable) {
+            List<T> all = fetch(this.sort.and(pageable.getSort()), Integer.MAX_VALUE);
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(all);
+            }
+
+            int from = (int) Math.min(pageable.getOffset(), all.size());
+            int to = Math.min(from + pageable.getPageSize(), all.size());
+
+            return new PageImpl<>(all.subList(from, to), pageable, all.size());
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return this.matches.size();
+        }
+
+        @Override
+        public boolean exists() {
+            return !this.matches.isEmpty();
+        }
+
+        private List<T> fetch(Sort sort, int limit) {
+            return this.matches.stream()
+                    .sorted(TaskOrdering.comparator(sort))
+                    .limit(limit)
+                    .map(this.reader)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pro.ardev.todo.repository;
+
+import org.springframework.data.domain.Sort;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskFieldsRepository {
+
+    /**
+     * Selects only the columns of {@code fields}, so unrequested columns such as the {@code description}
+     * TEXT are never read.
+     *
+     * @param statuses status filter, {@code null} or empty for all tasks
+     * @return one row per task holding the values of {@code fields} in iteration order
+     */
+    List<Object[]> findFields(Collection<TaskField> fields, Collection<TaskStatus> statuses, Sort sort);
+}
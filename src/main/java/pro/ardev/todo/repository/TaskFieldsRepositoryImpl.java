@@ -0,0 +1,40 @@
+package pro.ardev.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.toOrders;
+
+@RequiredArgsConstructor
+public class TaskFieldsRepositoryImpl implements TaskFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findFields(Collection<TaskField> fields, Collection<TaskStatus> statuses, Sort sort) {
+        CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<Task> task = query.from(Task.class);
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> task.get(field.attribute()))
+                .toList());
+        if (statuses != null && !statuses.isEmpty()) {
+            query.where(task.get("status").in(statuses));
+        }
+        query.orderBy(toOrders(sort, task, builder));
+
+        return this.entityManager.createQuery(query).getResultList();
+    }
+}
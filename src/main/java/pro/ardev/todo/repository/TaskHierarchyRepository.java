@@ -0,0 +1,45 @@
+package pro.ardev.todo.repository;
+
+import pro.ardev.todo.model.entity.Task;
+
+import java.util.List;
+
+/**
+ * Subtask hierarchy over {@code Task.parentId}. Whole subtrees and ancestor chains are read in one query from a
+ * closure table, which the writes below keep in step with the parent ids; they must run in the transaction that
+ * changes the parent id.
+ */
+public interface TaskHierarchyRepository {
+
+    /**
+     * Links a newly inserted task below {@code parentId} and all of its ancestors.
+     */
+    void linkToParent(long id, long parentId);
+
+    /**
+     * Moves the task together with its subtree below {@code parentId}, or to the top level if {@code null}.
+     * The caller makes sure {@code parentId} is not inside the subtree.
+     */
+    void moveSubtree(long id, Long parentId);
+
+    /**
+     * Removes every link of a task that is being deleted.
+     */
+    void unlinkFromHierarchy(long id);
+
+    /**
+     * The task and all of its descendants, level by level and by id within a level; empty if there is no such
+     * task.
+     */
+    List<Task> findSubtree(long id);
+
+    /**
+     * The ancestors of a task from the top level down to its parent.
+     */
+    List<Task> findAncestors(long id);
+
+    /**
+     * Progress of every subtree within the subtree of the task, in the order of {@link #findSubtree}.
+     */
+    List<TaskProgress> findSubtreeProgress(long id);
+}
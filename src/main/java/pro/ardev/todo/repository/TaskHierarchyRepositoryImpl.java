@@ -0,0 +1,150 @@
+package pro.ardev.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import pro.ardev.todo.model.entity.Task;
+
+import java.util.List;
+
+/**
+ * Native because the closure table is not mapped. Writes declare {@code task_closure} as their only query space, so
+ * Hibernate keeps the cached tasks instead of clearing the whole second-level cache after each of them.
+ */
+@RequiredArgsConstructor
+public class TaskHierarchyRepositoryImpl implements TaskHierarchyRepository {
+
+    private static final String CLOSURE = "task_closure";
+
+    private static final String LINK_SQL = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT ancestor_id, :id, depth + 1 FROM task_closure WHERE descendant_id = :parentId
+            UNION ALL
+            SELECT :parentId, :id, 1""";
+
+    /**
+     * Cuts the subtree off every ancestor of its root; the links inside the subtree stay.
+     */
+    private static final String DETACH_SQL = """
+            DELETE FROM task_closure
+            WHERE descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = :id
+                                    UNION ALL
+                                    SELECT :id)
+              AND ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = :id)""";
+
+    private static final String ATTACH_SQL = """
+            INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+            SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth
+            FROM (SELECT ancestor_id, depth + 1 AS depth FROM task_closure WHERE descendant_id = :parentId
+                  UNION ALL
+                  SELECT :parentId, 1) above
+            CROSS JOIN (SELECT descendant_id, depth FROM task_closure WHERE ancestor_id = :id
+                        UNION ALL
+                        SELECT :id, 0) below""";
+
+    private static final String UNLINK_SQL = "DELETE FROM task_closure WHERE descendant_id = :id OR ancestor_id = :id";
+
+    private static final String SUBTREE_SQL = """
+            SELECT t.*
+            FROM tasks t
+            JOIN (SELECT CAST(:id AS BIGINT) AS id, 0 AS depth
+                  UNION ALL
+                  SELECT descendant_id, depth FROM task_closure WHERE ancestor_id = :id) subtree ON subtree.id = t.id
+            ORDER BY subtree.depth, t.id""";
+
+    private static final String ANCESTORS_SQL = """
+            SELECT t.*
+            FROM tasks t
+            JOIN task_closure c ON c.ancestor_id = t.id
+            WHERE c.descendant_id = :id
+            ORDER BY c.depth DESC""";
+
+    /**
+     * Each task of the subtree counted once for itself and once for every ancestor within the subtree.
+     */
+    private static final String PROGRESS_SQL = """
+            WITH subtree AS (
+                SELECT CAST(:id AS BIGINT) AS id, 0 AS depth
+                UNION ALL
+                SELECT descendant_id, depth FROM task_closure WHERE ancestor_id = :id
+            ),
+            links AS (
+                SELECT id AS ancestor_id, id AS descendant_id, depth FROM subtree
+                UNION ALL
+                SELECT c.ancestor_id, c.descendant_id, s.depth
+                FROM subtree s
+                JOIN task_closure c ON c.ancestor_id = s.id
+            )
+            SELECT l.ancestor_id, count(*), count(*) FILTER (WHERE t.status = 'DONE')
+            FROM links l
+            JOIN tasks t ON t.id = l.descendant_id
+            GROUP BY l.ancestor_id, l.depth
+            ORDER BY l.depth, l.ancestor_id""";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public void linkToParent(long id, long parentId) {
+        write(LINK_SQL)
+                .setParameter("id", id)
+                .setParameter("parentId", parentId)
+                .executeUpdate();
+    }
+
+    @Override
+    public void moveSubtree(long id, Long parentId) {
+        write(DETACH_SQL)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (parentId != null) {
+            write(ATTACH_SQL)
+                    .setParameter("id", id)
+                    .setParameter("parentId", parentId)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void unlinkFromHierarchy(long id) {
+        write(UNLINK_SQL)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findSubtree(long id) {
+        return this.entityManager.createNativeQuery(SUBTREE_SQL, Task.class)
+                .setParameter("id", id)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findAncestors(long id) {
+        return this.entityManager.createNativeQuery(ANCESTORS_SQL, Task.class)
+                .setParameter("id", id)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskProgress> findSubtreeProgress(long id) {
+        List<Object[]> rows = this.entityManager.createNativeQuery(PROGRESS_SQL)
+                .setParameter("id", id)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TaskProgress(
+                        ((Number) row[0]).longValue(),
+                        ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue()))
+                .toList();
+    }
+
+    private NativeQuery<?> write(String sql) {
+        return this.entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(CLOSURE);
+    }
+}
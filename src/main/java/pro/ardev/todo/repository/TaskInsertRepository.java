@@ -0,0 +1,18 @@
+package pro.ardev.todo.repository;
+
+import pro.ardev.todo.model.entity.Task;
+
+public interface TaskInsertRepository {
+
+    /**
+     * Persists a new task with a single {@code INSERT}, without the lookup {@code save} performs for an entity
+     * whose id is already set. Unless the caller supplied one, the id is generated for the current shard.
+     */
+    <S extends Task> S insert(S task);
+
+    /**
+     * Holds a lock on {@code id} until the transaction ends, even while no task has it yet, so that concurrent
+     * creations of the same client-assigned id run one after the other and the later one finds the task.
+     */
+    void lockId(long id);
+}
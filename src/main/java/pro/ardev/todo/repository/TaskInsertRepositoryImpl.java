@@ -0,0 +1,33 @@
+package pro.ardev.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.shard.ShardContext;
+
+@RequiredArgsConstructor
+public class TaskInsertRepositoryImpl implements TaskInsertRepository {
+
+    private static final String LOCK_ID_SQL = "SELECT 1 FROM pg_advisory_xact_lock(:id)";
+
+    private final EntityManager entityManager;
+    private final TaskIdGenerator taskIdGenerator;
+
+    @Override
+    public <S extends Task> S insert(S task) {
+        if (task.getId() == null) {
+            task.setId(this.taskIdGenerator.nextId(ShardContext.current()));
+        }
+        this.entityManager.persist(task);
+
+        return task;
+    }
+
+    @Override
+    public void lockId(long id) {
+        this.entityManager.createNativeQuery(LOCK_ID_SQL)
+                .setParameter("id", id)
+                .getSingleResult();
+    }
+}
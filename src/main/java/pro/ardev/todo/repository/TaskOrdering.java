@@ -0,0 +1,91 @@
+package pro.ardev.todo.repository;
+
+import org.springframework.data.domain.Sort;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskField;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders tasks outside the database the way PostgreSQL orders them: {@code NULL}s sort last ascending and
+ * first descending, and statuses sort by name.
+ */
+public final class TaskOrdering {
+
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsLast(TaskOrdering::compareValues);
+
+    private TaskOrdering() {
+    }
+
+    /**
+     * @return a comparator for {@code sort}, breaking ties by id
+     */
+    public static Comparator<Task> comparator(Sort sort) {
+        Comparator<Task> comparator = null;
+        for (Sort.Order order : sort) {
+            TaskField field = field(order.getProperty());
+            Comparator<Task> next = Comparator.comparing(task -> value(field, task), VALUE_ORDER);
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<Task> byId = Comparator.comparing(Task::getId);
+
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    /**
+     * @return a comparator for {@code sort} over projected rows whose columns are {@code columns}; every sort
+     * property must be one of them
+     */
+    public static Comparator<Object[]> rowComparator(Sort sort, List<TaskField> columns) {
+        Comparator<Object[]> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            int column = columns.indexOf(field(order.getProperty()));
+            if (column < 0) {
+                throw new IllegalArgumentException("Sort property " + order.getProperty() + " is not selected");
+            }
+            Comparator<Object[]> next = Comparator.comparing(row -> row[column], VALUE_ORDER);
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator.thenComparing(next);
+        }
+
+        return comparator;
+    }
+
+    public static Object value(TaskField field, Task task) {
+        return switch (field) {
+            case ID -> task.getId();
+            case OWNER -> task.getOwner();
+            case TITLE -> task.getTitle();
+            case DESCRIPTION -> task.getDescription();
+            case DUE_DATE -> task.getDueDate();
+            case STATUS -> task.getStatus();
+            case TAGS -> task.getTags();
+            case RECURRENCE -> task.getRecurrence();
+            case SERIES_ID -> task.getSeriesId();
+            case OCCURRENCE_DATE -> task.getOccurrenceDate();
+            case PARENT_ID -> task.getParentId();
+            case CREATED_AT -> task.getCreatedAt();
+            case UPDATED_AT -> task.getUpdatedAt();
+        };
+    }
+
+    private static TaskField field(String property) {
+        return TaskField.fromAttribute(property)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort property " + property));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right) {
+        if (left instanceof Enum<?> leftEnum && right instanceof Enum<?> rightEnum) {
+            return leftEnum.name().compareTo(rightEnum.name());
+        }
+
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+}
@@ -0,0 +1,7 @@
+package pro.ardev.todo.repository;
+
+/**
+ * Size of the subtree rooted at a task, the task included, and how many of its tasks are {@code DONE}.
+ */
+public record TaskProgress(long taskId, long total, long done) {
+}
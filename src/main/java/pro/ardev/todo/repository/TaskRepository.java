@@ -1,15 +1,50 @@
 package pro.ardev.todo.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import pro.ardev.todo.model.entity.Task;
 import pro.ardev.todo.model.enums.TaskStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
 
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskFieldsRepository, TaskTagsRepository,
+        TaskInsertRepository, TaskHierarchyRepository {
+
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Task.LIST_CACHE_REGION)
+    })
     List<Task> findByStatusIn(List<TaskStatus> statuses);
 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = Task.LIST_CACHE_REGION)
+    })
     List<Task> findAll(Sort sort);
+
+    /**
+     * Stored tasks due within {@code [from, to]}: plain tasks and materialized occurrences, but no series.
+     */
+    List<Task> findByRecurrenceIsNullAndDueDateBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Series whose first occurrence is due no later than {@code to}.
+     */
+    List<Task> findByRecurrenceIsNotNullAndDueDateLessThanEqual(LocalDateTime to);
+
+    /**
+     * Materialized occurrences originally due within {@code [from, to]}, wherever they were moved to.
+     */
+    List<Task> findBySeriesIdIsNotNullAndOccurrenceDateBetween(LocalDateTime from, LocalDateTime to);
+
+    Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDateTime occurrenceDate);
+
+    List<Task> findBySeriesId(Long seriesId);
 }
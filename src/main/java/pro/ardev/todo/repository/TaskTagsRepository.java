@@ -0,0 +1,21 @@
+package pro.ardev.todo.repository;
+
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTagsRepository {
+
+    /**
+     * Filters by status and tags in one query served by the GIN index on {@code tags}.
+     * Each criterion is skipped when {@code null} or empty.
+     *
+     * @param anyTags tasks must carry at least one of these tags
+     * @param allTags tasks must carry every one of these tags
+     */
+    List<Task> findByStatusesAndTags(Collection<TaskStatus> statuses,
+                                     Collection<String> anyTags,
+                                     Collection<String> allTags);
+}
@@ -0,0 +1,54 @@
+package pro.ardev.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TaskTagsRepositoryImpl implements TaskTagsRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Native because the array operators {@code &&} and {@code @>}, which the GIN index supports, have no JPQL
+     * form. Only the criteria actually given are rendered, so the planner never sees a catch-all predicate.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findByStatusesAndTags(Collection<TaskStatus> statuses,
+                                            Collection<String> anyTags,
+                                            Collection<String> allTags) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM tasks WHERE TRUE");
+        if (statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND status IN (:statuses)");
+        }
+        if (anyTags != null && !anyTags.isEmpty()) {
+            sql.append(" AND tags && CAST(:anyTags AS text[])");
+        }
+        if (allTags != null && !allTags.isEmpty()) {
+            sql.append(" AND tags @> CAST(:allTags AS text[])");
+        }
+
+        NativeQuery<Task> query = this.entityManager.createNativeQuery(sql.toString(), Task.class)
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(Task.class)
+                .setCacheable(true)
+                .setCacheRegion(Task.LIST_CACHE_REGION);
+        if (statuses != null && !statuses.isEmpty()) {
+            query.setParameterList("statuses", statuses.stream().map(Enum::name).toList());
+        }
+        if (anyTags != null && !anyTags.isEmpty()) {
+            query.setParameter("anyTags", anyTags.toArray(String[]::new));
+        }
+        if (allTags != null && !allTags.isEmpty()) {
+            query.setParameter("allTags", allTags.toArray(String[]::new));
+        }
+
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,590 @@
+package pro.ardev.todo.repository.memory;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.repository.TaskExamples;
+import pro.ardev.todo.repository.TaskOrdering;
+import pro.ardev.todo.repository.TaskProgress;
+import pro.ardev.todo.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsLast;
+
+/**
+ * {@link TaskRepository} kept entirely in memory, for DB-less deployments and fast tests.
+ * <p>
+ * Tasks live in a {@link StripedLongMap} keyed by id, with secondary indexes by {@link TaskStatus}, by
+ * {@code dueDate} and by {@code parentId}, which stands in for the closure table. Stored tasks are private
+ * copies, so callers mutating a returned entity cannot bypass the indexes. Writers are serialized by a single
+ * lock; readers never take it and re-check every task they resolve from an index against the primary map. When a
+ * {@link TaskJournal} is configured every write is appended to it and the state is rebuilt from it on construction.
+ * <p>
+ * Ordering follows PostgreSQL, see {@link TaskOrdering}.
+ */
+public class InMemoryTaskRepository implements TaskRepository, AutoCloseable {
+
+    private final StripedLongMap<Task> tasks = new StripedLongMap<>();
+    private final Map<TaskStatus, NavigableSet<Long>> idsByStatus = new EnumMap<>(TaskStatus.class);
+    private final NavigableSet<DueDateKey> dueDateIndex = new ConcurrentSkipListSet<>();
+    private final Map<Long, NavigableSet<Long>> childrenByParent = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final TaskJournal journal;
+
+    public InMemoryTaskRepository() {
+        this(null);
+    }
+
+    public InMemoryTaskRepository(TaskJournal journal) {
+        for (TaskStatus status : TaskStatus.values()) {
+            this.idsByStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+        this.journal = journal;
+        if (journal != null) {
+            journal.replay(this::store, this::unstore);
+            journal.compact(findAll());
+        }
+    }
+
+    @Override
+    public List<Task> findByStatusIn(List<TaskStatus> statuses) {
+        NavigableSet<Long> ids = new TreeSet<>();
+        for (TaskStatus status : statuses) {
+            ids.addAll(this.idsByStatus.get(status));
+        }
+
+        List<Task> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task task = this.tasks.get(id);
+            if (task != null && statuses.contains(task.getStatus())) {
+                result.add(copy(task));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findByStatusesAndTags(Collection<TaskStatus> statuses,
+                                            Collection<String> anyTags,
+                                            Collection<String> allTags) {
+        List<Task> candidates = statuses == null || statuses.isEmpty()
+                ? findAll()
+                : findByStatusIn(List.copyOf(statuses));
+        candidates.removeIf(task -> !hasTags(task, anyTags, allTags));
+
+        return candidates;
+    }
+
+    @Override
+    public List<Object[]> findFields(Collection<TaskField> fields, Collection<TaskStatus> statuses, Sort sort) {
+        List<Task> source;
+        if (statuses == null || statuses.isEmpty()) {
+            source = findAll(sort);
+        } else {
+            source = findByStatusIn(List.copyOf(statuses));
+            if (sort.isSorted()) {
+                source.sort(TaskOrdering.comparator(sort));
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(source.size());
+        for (Task task : source) {
+            Object[] row = new Object[fields.size()];
+            int i = 0;
+            for (TaskField field : fields) {
+                row[i++] = TaskOrdering.value(field, task);
+            }
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    @Override
+    public List<Task> findAll(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() == 1 && "dueDate".equals(orders.get(0).getProperty())) {
+            NavigableSet<DueDateKey> keys = orders.get(0).isAscending()
+                    ? this.dueDateIndex
+                    : this.dueDateIndex.descendingSet();
+            List<Task> result = new ArrayList<>();
+            for (DueDateKey key : keys) {
+                Task task = this.tasks.get(key.id());
+                if (task != null) {
+                    result.add(copy(task));
+                }
+            }
+            return result;
+        }
+
+        List<Task> result = findAll();
+        if (sort.isSorted()) {
+            result.sort(TaskOrdering.comparator(sort));
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findByRecurrenceIsNullAndDueDateBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        for (DueDateKey key : this.dueDateIndex.subSet(
+                new DueDateKey(from, Long.MIN_VALUE), true, new DueDateKey(to, Long.MAX_VALUE), true)) {
+            Task task = this.tasks.get(key.id());
+            if (task != null && task.getRecurrence() == null && key.dueDate().equals(task.getDueDate())) {
+                result.add(copy(task));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findByRecurrenceIsNotNullAndDueDateLessThanEqual(LocalDateTime to) {
+        List<Task> result = findAll();
+        result.removeIf(task -> task.getRecurrence() == null || task.getDueDate().isAfter(to));
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findBySeriesIdIsNotNullAndOccurrenceDateBetween(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = findAll();
+        result.removeIf(task -> task.getSeriesId() == null
+                || task.getOccurrenceDate().isBefore(from)
+                || task.getOccurrenceDate().isAfter(to));
+
+        return result;
+    }
+
+    @Override
+    public Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDateTime occurrenceDate) {
+        return findBySeriesId(seriesId).stream()
+                .filter(task -> occurrenceDate.equals(task.getOccurrenceDate()))
+                .findFirst();
+    }
+
+    @Override
+    public List<Task> findBySeriesId(Long seriesId) {
+        List<Task> result = findAll();
+        result.removeIf(task -> !seriesId.equals(task.getSeriesId()));
+
+        return result;
+    }
+
+    /**
+     * The hierarchy is derived from the parent ids of the stored tasks.
+     */
+    @Override
+    public void linkToParent(long id, long parentId) {
+    }
+
+    @Override
+    public void moveSubtree(long id, Long parentId) {
+    }
+
+    @Override
+    public void unlinkFromHierarchy(long id) {
+    }
+
+    @Override
+    public List<Task> findSubtree(long id) {
+        Task root = this.tasks.get(id);
+        if (root == null) {
+            return new ArrayList<>();
+        }
+
+        List<Task> result = new ArrayList<>();
+        result.add(copy(root));
+        for (int i = 0; i < result.size(); i++) {
+            NavigableSet<Long> children = this.childrenByParent.get(result.get(i).getId());
+            if (children == null) {
+                continue;
+            }
+            for (Long childId : children) {
+                Task child = this.tasks.get(childId);
+                if (child != null && result.get(i).getId().equals(child.getParentId())) {
+                    result.add(copy(child));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findAncestors(long id) {
+        List<Task> result = new ArrayList<>();
+        Task task = this.tasks.get(id);
+        while (task != null && task.getParentId() != null) {
+            task = this.tasks.get(task.getParentId());
+            if (task != null) {
+                result.add(copy(task));
+            }
+        }
+
+        return result.reversed();
+    }
+
+    @Override
+    public List<TaskProgress> findSubtreeProgress(long id) {
+        List<Task> subtree = findSubtree(id);
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Task task : subtree) {
+            counts.put(task.getId(), new long[2]);
+        }
+        // Children come after their parents, so walking backwards completes each subtree before its parent.
+        for (Task task : subtree.reversed()) {
+            long[] own = counts.get(task.getId());
+            own[0]++;
+            if (task.getStatus() == TaskStatus.DONE) {
+                own[1]++;
+            }
+            long[] parent = task.getId() == id ? null : counts.get(task.getParentId());
+            if (parent != null) {
+                parent[0] += own[0];
+                parent[1] += own[1];
+            }
+        }
+
+        return subtree.stream()
+                .map(task -> new TaskProgress(task.getId(), counts.get(task.getId())[0], counts.get(task.getId())[1]))
+                .toList();
+    }
+
+    @Override
+    public List<Task> findAll() {
+        List<Task> result = new ArrayList<>(this.tasks.size());
+        this.tasks.forEach(task -> result.add(copy(task)));
+        result.sort(Comparator.comparing(Task::getId));
+
+        return result;
+    }
+
+    @Override
+    public Page<Task> findAll(Pageable pageable) {
+        List<Task> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return Optional.ofNullable(this.tasks.get(id)).map(InMemoryTaskRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return this.tasks.get(id) != null;
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> result = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(result::add);
+        }
+
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return this.tasks.size();
+    }
+
+    @Override
+    public <S extends Task> S save(S entity) {
+        this.writeLock.lock();
+        try {
+            if (entity.getId() == null) {
+                entity.setId(this.sequence.incrementAndGet());
+            }
+            Task previous = this.tasks.get(entity.getId());
+            LocalDateTime now = LocalDateTime.now();
+            entity.setCreatedAt(previous != null ? previous.getCreatedAt() : now);
+            entity.setUpdatedAt(now);
+
+            Task stored = copy(entity);
+            store(stored);
+            if (this.journal != null) {
+                this.journal.appendSave(stored);
+            }
+
+            return entity;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public <S extends Task> S insert(S task) {
+        return save(task);
+    }
+
+    /**
+     * Nothing to lock: a second creation of the same id just saves over the first.
+     */
+    @Override
+    public void lockId(long id) {
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        for (S entity : entities) {
+            result.add(save(entity));
+        }
+
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        this.writeLock.lock();
+        try {
+            if (unstore(id) && this.journal != null) {
+                this.journal.appendDelete(id);
+            }
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Task entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        for (Long id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> entities) {
+        for (Task entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAllById(findAll().stream().map(Task::getId).toList());
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Task> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Task getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Task getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Task getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException(
+                String.format("Task with ID %d not found", id)));
+    }
+
+    @Override
+    public <S extends Task> Optional<S> findOne(Example<S> example) {
+        return Optional.ofNullable(findBy(example, FluentQuery.FetchableFluentQuery::oneValue));
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::all);
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example, Sort sort) {
+        return findBy(example, query -> query.sortBy(sort).all());
+    }
+
+    @Override
+    public <S extends Task> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return findBy(example, query -> query.page(pageable));
+    }
+
+    @Override
+    public <S extends Task> long count(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::count);
+    }
+
+    @Override
+    public <S extends Task> boolean exists(Example<S> example) {
+        return findBy(example, FluentQuery.FetchableFluentQuery::exists);
+    }
+
+    @Override
+    public <S extends Task, R> R findBy(Example<S> example,
+                                       Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        List<S> matches = new ArrayList<>();
+        this.tasks.forEach(task -> {
+            if (TaskExamples.matches(example, task)) {
+                matches.add(example.getProbeType().cast(copy(task)));
+            }
+        });
+
+        return queryFunction.apply(TaskExamples.query(example, matches));
+    }
+
+    @Override
+    public void close() {
+        if (this.journal != null) {
+            this.journal.close();
+        }
+    }
+
+    private void store(Task task) {
+        this.sequence.accumulateAndGet(task.getId(), Math::max);
+        Task previous = this.tasks.put(task.getId(), task);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(task);
+    }
+
+    private boolean unstore(long id) {
+        Task previous = this.tasks.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        unindex(previous);
+
+        return true;
+    }
+
+    private void index(Task task) {
+        if (task.getStatus() != null) {
+            this.idsByStatus.get(task.getStatus()).add(task.getId());
+        }
+        this.dueDateIndex.add(new DueDateKey(task.getDueDate(), task.getId()));
+        if (task.getParentId() != null) {
+            this.childrenByParent.computeIfAbsent(task.getParentId(), parentId -> new ConcurrentSkipListSet<>())
+                    .add(task.getId());
+        }
+    }
+
+    private void unindex(Task task) {
+        if (task.getStatus() != null) {
+            this.idsByStatus.get(task.getStatus()).remove(task.getId());
+        }
+        this.dueDateIndex.remove(new DueDateKey(task.getDueDate(), task.getId()));
+        if (task.getParentId() != null) {
+            this.childrenByParent.computeIfPresent(task.getParentId(), (parentId, children) -> {
+                children.remove(task.getId());
+                return children.isEmpty() ? null : children;
+            });
+        }
+    }
+
+    private static boolean hasTags(Task task, Collection<String> anyTags, Collection<String> allTags) {
+        List<String> tags = task.getTags() == null ? List.of() : task.getTags();
+        if (anyTags != null && !anyTags.isEmpty() && anyTags.stream().noneMatch(tags::contains)) {
+            return false;
+        }
+
+        return allTags == null || tags.containsAll(allTags);
+    }
+
+    private static Task copy(Task task) {
+        return Task.builder()
+                .id(task.getId())
+                .owner(task.getOwner())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .status(task.getStatus())
+                .tags(task.getTags() == null ? null : new ArrayList<>(task.getTags()))
+                .recurrence(task.getRecurrence())
+                .seriesId(task.getSeriesId())
+                .occurrenceDate(task.getOccurrenceDate())
+                .parentId(task.getParentId())
+                .claimedBy(task.getClaimedBy())
+                .leaseExpiresAt(task.getLeaseExpiresAt())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+
+    private record DueDateKey(LocalDateTime dueDate, long id) implements Comparable<DueDateKey> {
+
+        private static final Comparator<DueDateKey> ORDER = Comparator
+                .comparing(DueDateKey::dueDate, nullsLast(naturalOrder()))
+                .thenComparingLong(DueDateKey::id);
+
+        @Override
+        public int compareTo(DueDateKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package pro.ardev.todo.repository.memory;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map keyed by primitive {@code long}. Keys are spread over a fixed number of stripes, each an
+ * open-addressing table with linear probing guarded by its own read-write lock, so readers of different
+ * stripes never contend and no key is ever boxed.
+ */
+final class StripedLongMap<V> {
+
+    private static final int STRIPES = 16;
+    private static final int STRIPE_SHIFT = 4;
+
+    private final Stripe<V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    StripedLongMap() {
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+    }
+
+    V get(long key) {
+        long hash = hash(key);
+        Stripe<V> stripe = this.stripes[(int) (hash & (STRIPES - 1))];
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.get(key, hash >>> STRIPE_SHIFT);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    V put(long key, V value) {
+        long hash = hash(key);
+        Stripe<V> stripe = this.stripes[(int) (hash & (STRIPES - 1))];
+        stripe.lock.writeLock().lock();
+        try {
+            return stripe.put(key, hash >>> STRIPE_SHIFT, value);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    V remove(long key) {
+        long hash = hash(key);
+        Stripe<V> stripe = this.stripes[(int) (hash & (STRIPES - 1))];
+        stripe.lock.writeLock().lock();
+        try {
+            return stripe.remove(key, hash >>> STRIPE_SHIFT);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe<V> stripe : this.stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        return size;
+    }
+
+    void forEach(Consumer<V> action) {
+        for (Stripe<V> stripe : this.stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                stripe.forEach(action);
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+    }
+
+    void clear() {
+        for (Stripe<V> stripe : this.stripes) {
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static long hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+
+        return hash ^ (hash >>> 32);
+    }
+
+    private static final class Stripe<V> {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        V get(long key, long hash) {
+            int mask = this.keys.length - 1;
+            for (int i = (int) hash & mask; this.values[i] != null; i = (i + 1) & mask) {
+                if (this.keys[i] == key) {
+                    return (V) this.values[i];
+                }
+            }
+
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(long key, long hash, V value) {
+            if ((this.size + 1) * 4 > this.keys.length * 3) {
+                resize();
+            }
+
+            int mask = this.keys.length - 1;
+            int i = (int) hash & mask;
+            for (; this.values[i] != null; i = (i + 1) & mask) {
+                if (this.keys[i] == key) {
+                    V previous = (V) this.values[i];
+                    this.values[i] = value;
+                    return previous;
+                }
+            }
+            this.keys[i] = key;
+            this.values[i] = value;
+            this.size++;
+
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(long key, long hash) {
+            int mask = this.keys.length - 1;
+            int hole = (int) hash & mask;
+            while (this.values[hole] != null && this.keys[hole] != key) {
+                hole = (hole + 1) & mask;
+            }
+            if (this.values[hole] == null) {
+                return null;
+            }
+
+            V previous = (V) this.values[hole];
+            // Backward-shift deletion keeps probe sequences intact without tombstones.
+            for (int j = (hole + 1) & mask; this.values[j] != null; j = (j + 1) & mask) {
+                int ideal = (int) (hash(this.keys[j]) >>> STRIPE_SHIFT) & mask;
+                boolean movable = j > hole
+                        ? ideal <= hole || ideal > j
+                        : ideal <= hole && ideal > j;
+                if (movable) {
+                    this.keys[hole] = this.keys[j];
+                    this.values[hole] = this.values[j];
+                    hole = j;
+                }
+            }
+            this.values[hole] = null;
+            this.size--;
+
+            return previous;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(Consumer<V> action) {
+            for (Object value : this.values) {
+                if (value != null) {
+                    action.accept((V) value);
+                }
+            }
+        }
+
+        void clear() {
+            this.keys = new long[INITIAL_CAPACITY];
+            this.values = new Object[INITIAL_CAPACITY];
+            this.size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void resize() {
+            long[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+            this.keys = new long[oldKeys.length * 2];
+            this.values = new Object[oldValues.length * 2];
+            this.size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], hash(oldKeys[i]) >>> STRIPE_SHIFT, (V) oldValues[i]);
+                }
+            }
+        }
+    }
+}
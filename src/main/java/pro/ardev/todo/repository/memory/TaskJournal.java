@@ -0,0 +1,145 @@
+package pro.ardev.todo.repository.memory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import pro.ardev.todo.model.entity.Task;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log of task writes used to rebuild {@link InMemoryTaskRepository} after a restart.
+ * Each line is either {@code S<tab><task json>} or {@code D<tab><id>}. On startup the log is replayed and
+ * then compacted into a snapshot holding one {@code S} line per live task.
+ */
+@Slf4j
+public class TaskJournal implements AutoCloseable {
+
+    private static final String SAVE = "S";
+    private static final String DELETE = "D";
+    private static final char SEPARATOR = '\t';
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+
+    public TaskJournal(Path path, ObjectMapper objectMapper, boolean fsync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    void replay(Consumer<Task> onSave, LongConsumer onDelete) {
+        if (!Files.exists(this.path)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(this.path, UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator < 0) {
+                    log.warn("Skipping malformed journal line in {}", this.path);
+                    continue;
+                }
+                String type = line.substring(0, separator);
+                String payload = line.substring(separator + 1);
+                try {
+                    if (SAVE.equals(type)) {
+                        onSave.accept(this.objectMapper.readValue(payload, Task.class));
+                    } else if (DELETE.equals(type)) {
+                        onDelete.accept(Long.parseLong(payload));
+                    }
+                } catch (JsonProcessingException | NumberFormatException e) {
+                    // A torn last write after a crash is expected; the record was never acknowledged.
+                    log.warn("Skipping unreadable journal record in {}", this.path);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to replay task journal " + this.path, e);
+        }
+    }
+
+    void compact(Iterable<Task> tasks) {
+        Path snapshot = this.path.resolveSibling(this.path.getFileName() + ".snapshot");
+        try {
+            closeChannel();
+            try (FileChannel out = FileChannel.open(snapshot, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                for (Task task : tasks) {
+                    write(out, SAVE, this.objectMapper.writeValueAsString(task));
+                }
+                out.force(true);
+            }
+            Files.move(snapshot, this.path, ATOMIC_MOVE, REPLACE_EXISTING);
+            this.channel = FileChannel.open(this.path, CREATE, WRITE, APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact task journal " + this.path, e);
+        }
+    }
+
+    void appendSave(Task task) {
+        try {
+            append(SAVE, this.objectMapper.writeValueAsString(task));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to journal task " + task.getId(), e);
+        }
+    }
+
+    void appendDelete(long id) {
+        append(DELETE, Long.toString(id));
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeChannel();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close task journal " + this.path, e);
+        }
+    }
+
+    private void append(String type, String payload) {
+        try {
+            if (this.channel == null) {
+                this.channel = FileChannel.open(this.path, CREATE, WRITE, APPEND);
+            }
+            write(this.channel, type, payload);
+            if (this.fsync) {
+                this.channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to task journal " + this.path, e);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private static void write(FileChannel channel, String type, String payload) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((type + SEPARATOR + payload + '\n').getBytes(UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
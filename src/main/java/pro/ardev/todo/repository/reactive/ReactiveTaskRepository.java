@@ -0,0 +1,244 @@
+package pro.ardev.todo.repository.reactive;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking access to the {@code tasks} table over R2DBC. The schema is the one Liquibase maintains for JPA;
+ * rows are mapped by hand since the entity carries JPA mapping annotations only. The connection factory points at
+ * the primary database, so the repository does not exist when sharded.
+ */
+@Repository
+@Profile("!in-memory")
+@ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS =
+            "id, owner, title, description, due_date, status, tags, recurrence, series_id, occurrence_date, "
+                    + "parent_id, created_at, updated_at";
+    private static final String QUALIFIED_COLUMNS = Arrays.stream(COLUMNS.split(", "))
+            .map(column -> "tasks." + column)
+            .collect(Collectors.joining(", "));
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "dueDate", "due_date",
+            "status", "status");
+
+    /**
+     * {@code xmax} is zero only for a row the statement inserted, so a resent creation is not linked again.
+     */
+    private static final String UPSERT_SQL = """
+            WITH upserted AS (
+                INSERT INTO tasks (id, owner, title, description, due_date, status, tags, recurrence, parent_id)
+                VALUES (:id, :owner, :title, :description, :dueDate, :status, COALESCE(:tags, '{}'), :recurrence,
+                        :parentId)
+                ON CONFLICT (id) DO UPDATE
+                SET title       = EXCLUDED.title,
+                    description = COALESCE(EXCLUDED.description, tasks.description),
+                    due_date    = COALESCE(EXCLUDED.due_date, tasks.due_date),
+                    tags        = COALESCE(:tags, tasks.tags),
+                    recurrence  = COALESCE(EXCLUDED.recurrence, tasks.recurrence),
+                    updated_at  = CURRENT_TIMESTAMP
+                RETURNING %1$s, xmax = 0 AS inserted
+            ),
+            linked AS (
+                INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+                SELECT c.ancestor_id, u.id, c.depth + 1
+                FROM upserted u
+                JOIN task_closure c ON c.descendant_id = u.parent_id
+                WHERE u.inserted
+                UNION ALL
+                SELECT u.parent_id, u.id, 1
+                FROM upserted u
+                WHERE u.inserted AND u.parent_id IS NOT NULL
+            )
+            SELECT %1$s FROM upserted""".formatted(COLUMNS);
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<Task> findAll() {
+        return this.databaseClient.sql("SELECT " + COLUMNS + " FROM tasks ORDER BY id")
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    /**
+     * Same contract as {@code TaskRepository.findByStatusesAndTags}: each criterion is skipped when empty, and only
+     * the given ones are rendered so the tag predicates can use the GIN index.
+     */
+    public Flux<Task> findByStatusesAndTags(List<TaskStatus> statuses, List<String> anyTags, List<String> allTags) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM tasks WHERE TRUE");
+        if (!statuses.isEmpty()) {
+            sql.append(" AND status = ANY(:statuses)");
+        }
+        if (!anyTags.isEmpty()) {
+            sql.append(" AND tags && :anyTags");
+        }
+        if (!allTags.isEmpty()) {
+            sql.append(" AND tags @> :allTags");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql(sql.append(" ORDER BY id").toString());
+        if (!statuses.isEmpty()) {
+            spec = spec.bind("statuses", statuses.stream().map(Enum::name).toArray(String[]::new));
+        }
+        if (!anyTags.isEmpty()) {
+            spec = spec.bind("anyTags", anyTags.toArray(String[]::new));
+        }
+        if (!allTags.isEmpty()) {
+            spec = spec.bind("allTags", allTags.toArray(String[]::new));
+        }
+
+        return spec.map(ReactiveTaskRepository::toTask).all();
+    }
+
+    /**
+     * @param sort a single order on {@code dueDate} or {@code status}, as produced by the task validator
+     */
+    public Flux<Task> findAll(Sort sort) {
+        Sort.Order order = sort.iterator().next();
+        String column = SORT_COLUMNS.get(order.getProperty());
+        if (column == null) {
+            return Flux.error(new IllegalArgumentException("Unknown sort property " + order.getProperty()));
+        }
+
+        return this.databaseClient.sql("SELECT " + COLUMNS + " FROM tasks ORDER BY " + column
+                        + (order.isDescending() ? " DESC" : " ASC") + ", id")
+                .map(ReactiveTaskRepository::toTask)
+                .all();
+    }
+
+    public Mono<Task> findById(long id) {
+        return this.databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveTaskRepository::toTask)
+                .one();
+    }
+
+    /**
+     * Inserts {@code task} under its preassigned id and links it below its parent. If a task with that id exists
+     * already its non-null fields are applied instead, like a blocking create that carries the id of an existing
+     * task; its parent stays as it is.
+     */
+    public Mono<Task> insert(Task task) {
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql(UPSERT_SQL)
+                .bind("id", task.getId())
+                .bind("owner", task.getOwner())
+                .bind("title", task.getTitle())
+                .bind("status", task.getStatus().name());
+        spec = bindNullable(spec, "tags", task.getTags() == null ? null : task.getTags().toArray(String[]::new),
+                String[].class);
+        spec = bindNullable(spec, "description", task.getDescription(), String.class);
+        spec = bindNullable(spec, "dueDate", task.getDueDate(), LocalDateTime.class);
+        spec = bindNullable(spec, "recurrence", task.getRecurrence(), String.class);
+        spec = bindNullable(spec, "parentId", task.getParentId(), Long.class);
+
+        return spec.map(ReactiveTaskRepository::toTask).one();
+    }
+
+    /**
+     * Applies the non-null fields of {@code changes} in a single statement, mirroring how the JPA update ignores
+     * absent fields and ends a worker's claim on a status change. The row is locked while its previous status is read,
+     * so concurrent updates each see the status the other one left.
+     *
+     * @return the updated task with its status before the update, or empty if there is no task with this id
+     */
+    public Mono<UpdatedTask> update(long id, Task changes) {
+        DatabaseClient.GenericExecuteSpec spec = this.databaseClient.sql("""
+                        UPDATE tasks
+                        SET title       = COALESCE(:title, tasks.title),
+                            description = COALESCE(:description, tasks.description),
+                            due_date    = COALESCE(:dueDate, tasks.due_date),
+                            status      = COALESCE(:status, tasks.status),
+                            tags        = COALESCE(:tags, tasks.tags),
+                            claimed_by  = CASE WHEN COALESCE(:status, previous_status) = previous_status
+                                               THEN tasks.claimed_by END,
+                            lease_expires_at = CASE WHEN COALESCE(:status, previous_status) = previous_status
+                                                    THEN tasks.lease_expires_at END,
+                            updated_at  = CURRENT_TIMESTAMP
+                        FROM (SELECT status AS previous_status FROM tasks WHERE id = :id FOR UPDATE) previous
+                        WHERE tasks.id = :id
+                        RETURNING previous.previous_status,\s""" + QUALIFIED_COLUMNS)
+                .bind("id", id);
+        spec = bindNullable(spec, "title", changes.getTitle(), String.class);
+        spec = bindNullable(spec, "description", changes.getDescription(), String.class);
+        spec = bindNullable(spec, "dueDate", changes.getDueDate(), LocalDateTime.class);
+        spec = bindNullable(spec, "status", changes.getStatus() == null ? null : changes.getStatus().name(),
+                String.class);
+        spec = bindNullable(spec, "tags", changes.getTags() == null ? null : changes.getTags().toArray(String[]::new),
+                String[].class);
+
+        return spec.map(row -> {
+            String previousStatus = row.get("previous_status", String.class);
+            return new UpdatedTask(toTask(row), previousStatus == null ? null : TaskStatus.valueOf(previousStatus));
+        }).one();
+    }
+
+    /**
+     * Deletes the task together with its subtasks and the stored occurrences of any recurring one among them.
+     *
+     * @return the ids of the deleted tasks, empty if there is no task with this id
+     */
+    public Flux<Long> deleteById(long id) {
+        return this.databaseClient.sql("""
+                        WITH subtree AS (
+                            SELECT CAST(:id AS BIGINT) AS id
+                            UNION ALL
+                            SELECT descendant_id FROM task_closure WHERE ancestor_id = :id
+                        ),
+                        unlinked AS (
+                            DELETE FROM task_closure WHERE descendant_id IN (SELECT id FROM subtree)
+                        )
+                        DELETE FROM tasks
+                        WHERE id IN (SELECT id FROM subtree) OR series_id IN (SELECT id FROM subtree)
+                        RETURNING id""")
+                .bind("id", id)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    private static <T> DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                      String name, T value, Class<T> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Task toTask(Readable row) {
+        String status = row.get("status", String.class);
+        String[] tags = row.get("tags", String[].class);
+
+        return Task.builder()
+                .id(row.get("id", Long.class))
+                .owner(row.get("owner", String.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .dueDate(row.get("due_date", LocalDateTime.class))
+                .status(status == null ? null : TaskStatus.valueOf(status))
+                .tags(tags == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(tags)))
+                .recurrence(row.get("recurrence", String.class))
+                .seriesId(row.get("series_id", Long.class))
+                .occurrenceDate(row.get("occurrence_date", LocalDateTime.class))
+                .parentId(row.get("parent_id", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    public record UpdatedTask(Task task, TaskStatus previousStatus) {
+    }
+}
@@ -0,0 +1,107 @@
+package pro.ardev.todo.rollup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.event.TasksImportedEvent;
+import pro.ardev.todo.model.enums.RollupBucket;
+import pro.ardev.todo.model.enums.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts committed creations, imported tasks included, and completions per hour in memory and adds them to
+ * {@code task_rollups} on every flush, one upsert per hour that saw any, so the table is written at a fixed rate
+ * whatever the write load. The increments are additive and every node flushes its own.
+ * <p>
+ * Counts not yet flushed are visible to readers only after the next flush and are lost if the node dies; a failed
+ * flush keeps them for the next one.
+ */
+@Slf4j
+public class TaskRollupRecorder {
+
+    static final String UPSERT_SQL = """
+            INSERT INTO task_rollups (granularity, bucket_start, created, completed)
+            VALUES ('HOUR', ?, ?, ?)
+            ON CONFLICT (granularity, bucket_start) DO UPDATE
+            SET created = task_rollups.created + EXCLUDED.created,
+                completed = task_rollups.completed + EXCLUDED.completed""";
+
+    private final ConcurrentHashMap<LocalDateTime, RollupCounts> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskRollupRecorder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Flushed from the scheduler or on shutdown, never as part of a task transaction.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TaskStatusChangedEvent event) {
+        long created = event.fromStatus() == null ? 1 : 0;
+        long completed = event.toStatus() == TaskStatus.DONE ? 1 : 0;
+        if (created + completed > 0) {
+            this.pending.merge(RollupBucket.HOUR.truncate(event.changedAt()), new RollupCounts(created, completed),
+                    RollupCounts::plus);
+        }
+    }
+
+    /**
+     * Imported tasks are always {@code TODO}, so they only count as created.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksImported(TasksImportedEvent event) {
+        this.pending.merge(RollupBucket.HOUR.truncate(event.importedAt()), new RollupCounts(event.imported(), 0),
+                RollupCounts::plus);
+    }
+
+    /**
+     * Writes the counts gathered since the last flush; also the destroy method of the bean.
+     */
+    @Scheduled(fixedDelayString = "${todo.task-rollups.flush-interval}")
+    public void flush() {
+        List<Map.Entry<LocalDateTime, RollupCounts>> batch = new ArrayList<>();
+        for (LocalDateTime bucketStart : this.pending.keySet()) {
+            RollupCounts counts = this.pending.remove(bucketStart);
+            if (counts != null) {
+                batch.add(Map.entry(bucketStart, counts));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Same lock order on every node.
+        batch.sort(Map.Entry.comparingByKey());
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.batchUpdate(
+                    UPSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(entry.getKey()));
+                        ps.setLong(2, entry.getValue().created());
+                        ps.setLong(3, entry.getValue().completed());
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} task rollup buckets, retrying with the next flush", batch.size(), e);
+            batch.forEach(entry -> this.pending.merge(entry.getKey(), entry.getValue(), RollupCounts::plus));
+        }
+    }
+
+    private record RollupCounts(long created, long completed) {
+
+        RollupCounts plus(RollupCounts other) {
+            return new RollupCounts(this.created + other.created, this.completed + other.completed);
+        }
+    }
+}
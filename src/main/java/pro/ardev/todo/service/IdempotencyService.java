@@ -0,0 +1,16 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code operation} once per client and idempotency key. A replay with the same key and request returns
+     * the stored response without running it again. A {@code null} key runs the operation unconditionally.
+     */
+    TaskResponse execute(String client, String key, String scope, Object request, Supplier<TaskResponse> operation);
+
+    void purgeExpired();
+}
@@ -0,0 +1,31 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, with the same validation and errors.
+ */
+public interface ReactiveTaskService {
+
+    Flux<TaskResponse> getAllTasks();
+
+    Mono<TaskResponse> createTask(CreateTaskRequest createTaskRequest);
+
+    Mono<TaskResponse> getTaskById(Long id);
+
+    Mono<Void> deleteTaskById(Long id);
+
+    Mono<TaskResponse> updateTask(Long id, UpdateTaskRequest updateTaskRequest);
+
+    Flux<TaskResponse> getTasksByStatusAndTags(List<TaskStatus> statuses, List<String> anyTags,
+                                               List<String> allTags);
+
+    Flux<TaskResponse> getSortedTasks(String sortBy, String direction);
+}
@@ -0,0 +1,36 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.LeaseResponse;
+
+/**
+ * Hands out {@code TODO} tasks to competing workers. A claimed task is {@code IN_PROGRESS} and leased to one worker,
+ * who keeps the lease alive with heartbeats and finishes the task with a regular update. Tasks whose lease runs out
+ * go back to {@code TODO}.
+ */
+public interface TaskClaimService {
+
+    /**
+     * Claims up to {@code limit} unclaimed {@code TODO} tasks in due-date order. Tasks being claimed by another
+     * worker at the same time are skipped rather than waited for, so concurrent claims never return the same task.
+     */
+    ClaimResponse claimTasks(ClaimTasksRequest request);
+
+    /**
+     * Extends the lease of a task the worker still holds.
+     */
+    LeaseResponse heartbeat(Long id, String workerId);
+
+    /**
+     * Returns a task the worker holds to {@code TODO} without finishing it.
+     */
+    void release(Long id, String workerId);
+
+    /**
+     * Returns the tasks whose lease has expired to {@code TODO}.
+     *
+     * @return the number of tasks reclaimed
+     */
+    int reapExpiredLeases();
+}
@@ -0,0 +1,20 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.enums.CountMode;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.response.TaskCountResponse;
+
+import java.util.List;
+
+public interface TaskCountService {
+
+    /**
+     * Counts the tasks the list and filter views would return for the statuses, all of them when there are none.
+     */
+    TaskCountResponse countTasks(List<TaskStatus> statuses, CountMode mode);
+
+    /**
+     * Recounts the tasks per status for {@link CountMode#CACHED}.
+     */
+    void refreshCachedCounts();
+}
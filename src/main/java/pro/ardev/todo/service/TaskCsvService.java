@@ -0,0 +1,20 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.response.ImportResponse;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface TaskCsvService {
+
+    /**
+     * Bulk-inserts the valid rows of a {@code title,description,due_date} CSV in a single transaction.
+     * Invalid rows are skipped and reported; they do not abort the import.
+     */
+    ImportResponse importTasks(InputStream csv);
+
+    /**
+     * Writes every task as CSV with a header row, ordered by id.
+     */
+    void exportTasks(OutputStream csv);
+}
@@ -0,0 +1,29 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.response.ThroughputResponse;
+
+import java.time.LocalDateTime;
+
+public interface TaskRollupService {
+
+    /**
+     * Returns the tasks created and completed per bucket for every bucket overlapping {@code [from, to)}, empty
+     * buckets included. Only the rollups of the range are read, never the tasks themselves. Hourly ranges reaching
+     * into the days past the hourly retention are refused, since those hours may have been compacted already.
+     *
+     * @param bucket {@code hour} or {@code day}
+     */
+    ThroughputResponse getThroughput(LocalDateTime from, LocalDateTime to, String bucket);
+
+    /**
+     * Records the current overdue backlog in the current hour, keeping the peak of the hour.
+     */
+    void sampleOverdue();
+
+    /**
+     * Folds the hourly buckets of the days past the hourly retention into daily ones.
+     *
+     * @return the number of hourly buckets compacted
+     */
+    int compactHourlyRollups();
+}
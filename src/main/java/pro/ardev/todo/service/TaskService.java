@@ -2,10 +2,15 @@ package pro.ardev.todo.service;
 
 import pro.ardev.todo.model.enums.TaskStatus;
 import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
 import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskProgressResponse;
 import pro.ardev.todo.model.response.TaskResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
 
@@ -15,11 +20,60 @@ public interface TaskService {
 
     TaskResponse getTaskById(Long id);
 
+    TaskBatchResponse getTasksByIds(List<Long> ids);
+
+    /**
+     * Deletes the task together with its subtasks and, for a recurring task, its stored occurrences.
+     */
     void deleteTaskById(Long id);
 
     TaskResponse updateTask(Long id, UpdateTaskRequest updateTaskRequest);
 
     List<TaskResponse> getTasksByStatus(List<TaskStatus> statuses);
 
+    /**
+     * @param anyTags tasks carrying at least one of these tags, {@code null} or empty for no restriction
+     * @param allTags tasks carrying all of these tags, {@code null} or empty for no restriction
+     */
+    List<TaskResponse> getTasksByStatusAndTags(List<TaskStatus> statuses, List<String> anyTags,
+                                               List<String> allTags);
+
     List<TaskResponse> getSortedTasks(String sortBy, String direction);
+
+    /**
+     * Tasks due within {@code [from, to]} ordered by due date, with the occurrences of recurring tasks expanded.
+     */
+    List<TaskResponse> getTasksInWindow(LocalDateTime from, LocalDateTime to, String direction);
+
+    /**
+     * Updates one occurrence of a recurring task, storing it as a task of its own on first change.
+     */
+    TaskResponse updateOccurrence(Long seriesId, LocalDateTime occurrenceDate, UpdateTaskRequest updateTaskRequest);
+
+    List<Map<String, Object>> getAllTaskFields(List<String> fields);
+
+    List<Map<String, Object>> getTaskFieldsByStatus(List<String> fields, List<TaskStatus> statuses);
+
+    List<Map<String, Object>> getSortedTaskFields(List<String> fields, String sortBy, String direction);
+
+    /**
+     * The task and all of its subtasks, level by level.
+     */
+    List<TaskResponse> getSubtree(Long id);
+
+    /**
+     * The tasks above this one, from the top level down to its parent.
+     */
+    List<TaskResponse> getAncestors(Long id);
+
+    /**
+     * Share of {@code DONE} tasks in the subtree of this task and in the subtree of each of its subtasks, level by
+     * level.
+     */
+    List<TaskProgressResponse> getSubtreeProgress(Long id);
+
+    /**
+     * Moves the task with its subtasks below another task of the same owner, or to the top level.
+     */
+    TaskResponse moveTask(Long id, MoveTaskRequest moveTaskRequest);
 }
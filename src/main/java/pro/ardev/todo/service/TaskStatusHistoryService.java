@@ -0,0 +1,21 @@
+package pro.ardev.todo.service;
+
+import pro.ardev.todo.model.response.StatusTransitionResponse;
+import pro.ardev.todo.model.response.TimeInStatusResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskStatusHistoryService {
+
+    /**
+     * Returns the recorded transitions of a task, oldest first. The history outlives the task.
+     */
+    List<StatusTransitionResponse> getHistory(Long taskId);
+
+    /**
+     * Aggregates how long tasks stayed in each status, over the stays that ended within {@code [from, to)}, and
+     * the cycle time from first starting a task to finishing it, over the tasks finished within the window.
+     */
+    TimeInStatusResponse getTimeInStatus(LocalDateTime from, LocalDateTime to);
+}
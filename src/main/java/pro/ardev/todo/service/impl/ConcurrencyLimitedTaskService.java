@@ -0,0 +1,134 @@
+package pro.ardev.todo.service.impl;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskProgressResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter.Priority.BULK;
+import static pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter.Priority.SINGLE;
+
+/**
+ * Sheds load in front of {@link TaskServiceImpl}: full-list scans are {@code BULK},
+ * single-task reads and writes are {@code SINGLE}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "todo.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitedTaskService implements TaskService {
+
+    private final TaskService delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedTaskService(@Qualifier("taskServiceImpl") TaskService delegate,
+                                         AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public List<TaskResponse> getAllTasks() {
+        return this.limiter.call(BULK, this.delegate::getAllTasks);
+    }
+
+    @Override
+    public TaskResponse createTask(CreateTaskRequest createTaskRequest) {
+        return this.limiter.call(SINGLE, () -> this.delegate.createTask(createTaskRequest));
+    }
+
+    @Override
+    public TaskResponse getTaskById(Long id) {
+        return this.limiter.call(SINGLE, () -> this.delegate.getTaskById(id));
+    }
+
+    @Override
+    public TaskBatchResponse getTasksByIds(List<Long> ids) {
+        return this.limiter.call(SINGLE, () -> this.delegate.getTasksByIds(ids));
+    }
+
+    @Override
+    public void deleteTaskById(Long id) {
+        this.limiter.run(SINGLE, () -> this.delegate.deleteTaskById(id));
+    }
+
+    @Override
+    public TaskResponse updateTask(Long id, UpdateTaskRequest updateTaskRequest) {
+        return this.limiter.call(SINGLE, () -> this.delegate.updateTask(id, updateTaskRequest));
+    }
+
+    @Override
+    public List<TaskResponse> getTasksByStatus(List<TaskStatus> statuses) {
+        return this.limiter.call(BULK, () -> this.delegate.getTasksByStatus(statuses));
+    }
+
+    @Override
+    public List<TaskResponse> getTasksByStatusAndTags(List<TaskStatus> statuses, List<String> anyTags,
+                                                      List<String> allTags) {
+        return this.limiter.call(BULK, () -> this.delegate.getTasksByStatusAndTags(statuses, anyTags, allTags));
+    }
+
+    @Override
+    public List<TaskResponse> getSortedTasks(String sortBy, String direction) {
+        return this.limiter.call(BULK, () -> this.delegate.getSortedTasks(sortBy, direction));
+    }
+
+    @Override
+    public List<TaskResponse> getTasksInWindow(LocalDateTime from, LocalDateTime to, String direction) {
+        return this.limiter.call(BULK, () -> this.delegate.getTasksInWindow(from, to, direction));
+    }
+
+    @Override
+    public TaskResponse updateOccurrence(Long seriesId, LocalDateTime occurrenceDate,
+                                         UpdateTaskRequest updateTaskRequest) {
+        return this.limiter.call(SINGLE,
+                () -> this.delegate.updateOccurrence(seriesId, occurrenceDate, updateTaskRequest));
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllTaskFields(List<String> fields) {
+        return this.limiter.call(BULK, () -> this.delegate.getAllTaskFields(fields));
+    }
+
+    @Override
+    public List<Map<String, Object>> getTaskFieldsByStatus(List<String> fields, List<TaskStatus> statuses) {
+        return this.limiter.call(BULK, () -> this.delegate.getTaskFieldsByStatus(fields, statuses));
+    }
+
+    @Override
+    public List<Map<String, Object>> getSortedTaskFields(List<String> fields, String sortBy, String direction) {
+        return this.limiter.call(BULK, () -> this.delegate.getSortedTaskFields(fields, sortBy, direction));
+    }
+
+    @Override
+    public List<TaskResponse> getSubtree(Long id) {
+        return this.limiter.call(BULK, () -> this.delegate.getSubtree(id));
+    }
+
+    @Override
+    public List<TaskResponse> getAncestors(Long id) {
+        return this.limiter.call(SINGLE, () -> this.delegate.getAncestors(id));
+    }
+
+    @Override
+    public List<TaskProgressResponse> getSubtreeProgress(Long id) {
+        return this.limiter.call(BULK, () -> this.delegate.getSubtreeProgress(id));
+    }
+
+    @Override
+    public TaskResponse moveTask(Long id, MoveTaskRequest moveTaskRequest) {
+        return this.limiter.call(SINGLE, () -> this.delegate.moveTask(id, moveTaskRequest));
+    }
+}
@@ -0,0 +1,115 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.ardev.todo.config.IdempotencyProperties;
+import pro.ardev.todo.exception.IdempotencyConflictException;
+import pro.ardev.todo.model.entity.IdempotencyRecord;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.repository.IdempotencyRecordRepository;
+import pro.ardev.todo.service.IdempotencyService;
+import pro.ardev.todo.shard.EachShard;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Claims the key in a transaction of its own, so that a concurrent duplicate is told right away that the request is
+ * being processed, then runs the operation and stores its response in one transaction. A key whose operation
+ * failed is released again for the client to retry.
+ */
+@Service
+@Profile("!in-memory")
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  IdempotencyProperties idempotencyProperties,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public TaskResponse execute(String client, String key, String scope, Object request,
+                                Supplier<TaskResponse> operation) {
+        if (key == null) {
+            return operation.get();
+        }
+
+        String requestHash = RequestHashes.sha256(this.objectMapper, scope, request);
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = this.idempotencyRecordRepository.claim(
+                client, key, requestHash, now, now.plus(this.idempotencyProperties.ttl()));
+        if (claimed == 0) {
+            return replay(client, key, requestHash);
+        }
+
+        try {
+            return this.transactionTemplate.execute(status -> {
+                TaskResponse response = operation.get();
+                this.idempotencyRecordRepository.storeResponse(client, key, write(response));
+                return response;
+            });
+        } catch (RuntimeException e) {
+            this.idempotencyRecordRepository.release(client, key);
+            throw e;
+        }
+    }
+
+    @Override
+    @EachShard
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval}")
+    public void purgeExpired() {
+        int batchSize = this.idempotencyProperties.purgeBatchSize();
+        int deleted;
+        do {
+            deleted = this.idempotencyRecordRepository.deleteExpired(LocalDateTime.now(), batchSize);
+        } while (deleted == batchSize);
+    }
+
+    private TaskResponse replay(String client, String key, String requestHash) {
+        IdempotencyRecord record = this.idempotencyRecordRepository.findById(new IdempotencyRecord.Key(client, key))
+                .orElseThrow(() -> new IdempotencyConflictException(
+                        String.format("Request with idempotency key %s is being processed", key)));
+
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException(
+                    String.format("Idempotency key %s was already used for a different request", key));
+        }
+        if (record.getResponseBody() == null) {
+            throw new IdempotencyConflictException(
+                    String.format("Request with idempotency key %s is being processed", key));
+        }
+
+        return read(record.getResponseBody());
+    }
+
+    private String write(TaskResponse response) {
+        try {
+            return this.objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to store response", e);
+        }
+    }
+
+    private TaskResponse read(String responseBody) {
+        try {
+            return this.objectMapper.readValue(responseBody, TaskResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored response", e);
+        }
+    }
+}
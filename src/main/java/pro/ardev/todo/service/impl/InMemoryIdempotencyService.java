@@ -0,0 +1,85 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pro.ardev.todo.config.IdempotencyProperties;
+import pro.ardev.todo.exception.IdempotencyConflictException;
+import pro.ardev.todo.model.entity.IdempotencyRecord;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.IdempotencyService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdempotencyService} for the {@code in-memory} profile. A concurrent duplicate waits for the
+ * first request to finish and then replays its response; a failed request releases its key.
+ */
+@Service
+@Profile("in-memory")
+@RequiredArgsConstructor
+public class InMemoryIdempotencyService implements IdempotencyService {
+
+    private final ConcurrentMap<IdempotencyRecord.Key, Entry> entries = new ConcurrentHashMap<>();
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public TaskResponse execute(String client, String key, String scope, Object request,
+                                Supplier<TaskResponse> operation) {
+        if (key == null) {
+            return operation.get();
+        }
+
+        IdempotencyRecord.Key scopedKey = new IdempotencyRecord.Key(client, key);
+        String requestHash = RequestHashes.sha256(this.objectMapper, scope, request);
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            Entry claim = new Entry(requestHash, now.plus(this.idempotencyProperties.ttl()), new CompletableFuture<>());
+            Entry current = this.entries.compute(scopedKey, (k, existing) ->
+                    existing == null || existing.expiresAt().isBefore(now) ? claim : existing);
+
+            if (current == claim) {
+                return run(scopedKey, claim, operation);
+            }
+            if (!current.requestHash().equals(requestHash)) {
+                throw new IdempotencyConflictException(
+                        String.format("Idempotency key %s was already used for a different request", key));
+            }
+            try {
+                return current.response().join();
+            } catch (CompletionException e) {
+                // The first request failed and released the key; claim it again.
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${todo.idempotency.purge-interval}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        this.entries.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+    }
+
+    private TaskResponse run(IdempotencyRecord.Key key, Entry claim, Supplier<TaskResponse> operation) {
+        try {
+            TaskResponse response = operation.get();
+            claim.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            this.entries.remove(key, claim);
+            claim.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private record Entry(String requestHash, LocalDateTime expiresAt, CompletableFuture<TaskResponse> response) {
+    }
+}
@@ -0,0 +1,193 @@
+package pro.ardev.todo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import pro.ardev.todo.deadline.RequestDeadline;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.exception.DeadlineExceededException;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.mapper.TaskMapper;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskChangeType;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.repository.reactive.ReactiveTaskRepository;
+import pro.ardev.todo.service.ReactiveTaskService;
+import pro.ardev.todo.shard.ShardContext;
+import pro.ardev.todo.validator.TaskValidator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.data.domain.Sort.by;
+import static pro.ardev.todo.model.enums.TaskChangeType.CREATED;
+import static pro.ardev.todo.model.enums.TaskChangeType.DELETED;
+import static pro.ardev.todo.model.enums.TaskChangeType.UPDATED;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * {@link ReactiveTaskService} over R2DBC. Writes bypass Hibernate, so they evict the task from the
+ * second-level and query caches and publish the same {@link TaskChangedEvent}s and {@link TaskStatusChangedEvent}s
+ * as the blocking service.
+ * The request deadline is read when a call is assembled, on the request thread, and enforced as a timeout.
+ */
+@Service
+@Profile("!in-memory")
+@ConditionalOnProperty(prefix = "todo.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+
+    private final ReactiveTaskRepository reactiveTaskRepository;
+    private final TaskMapper taskMapper;
+    private final TaskValidator taskValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskIdGenerator taskIdGenerator;
+
+    @Override
+    public Flux<TaskResponse> getAllTasks() {
+        return withDeadline(this.reactiveTaskRepository.findAll()
+                .map(this.taskMapper::toResponse));
+    }
+
+    @Override
+    public Mono<TaskResponse> createTask(CreateTaskRequest createTaskRequest) {
+        Task task = this.taskMapper.toEntity(createTaskRequest);
+        if (task.getId() == null) {
+            task.setId(this.taskIdGenerator.nextId(ShardContext.PRIMARY_SHARD));
+        }
+        if (task.getOwner() == null) {
+            task.setOwner(Task.DEFAULT_OWNER);
+        }
+        if (task.getTags() != null) {
+            task.setTags(this.taskValidator.normalizeTags(task.getTags()));
+        }
+        this.taskValidator.validateRecurrence(task.getRecurrence(), task.getDueDate());
+        task.setStatus(TODO);
+        TaskChangeType changeType = createTaskRequest.id() == null ? CREATED : UPDATED;
+
+        Mono<Task> prepared = task.getParentId() == null
+                ? Mono.just(task)
+                : this.reactiveTaskRepository.findById(task.getParentId())
+                        .switchIfEmpty(Mono.error(() -> new BadRequestException(
+                                String.format("Parent task with ID %d not found", task.getParentId()))))
+                        .map(parent -> {
+                            task.setOwner(parent.getOwner());
+                            return task;
+                        });
+
+        return withDeadline(prepared.flatMap(this.reactiveTaskRepository::insert)
+                .doOnNext(saved -> {
+                    changed(saved.getId(), changeType);
+                    if (changeType == CREATED) {
+                        statusChanged(saved.getId(), null, saved.getStatus());
+                    }
+                })
+                .map(this.taskMapper::toResponse));
+    }
+
+    @Override
+    public Mono<TaskResponse> getTaskById(Long id) {
+        return withDeadline(this.reactiveTaskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.task(id)))
+                .map(this.taskMapper::toResponse));
+    }
+
+    @Override
+    public Mono<Void> deleteTaskById(Long id) {
+        return withDeadline(this.reactiveTaskRepository.deleteById(id)
+                .collectList()
+                .flatMap(deleted -> deleted.isEmpty()
+                        ? Mono.<Void>error(ResourceNotFoundException.task(id))
+                        : Mono.<Void>fromRunnable(() -> deleted.forEach(deletedId -> changed(deletedId, DELETED)))));
+    }
+
+    @Override
+    public Mono<TaskResponse> updateTask(Long id, UpdateTaskRequest updateTaskRequest) {
+        Task changes = new Task();
+        this.taskMapper.updateEntity(changes, updateTaskRequest);
+        if (changes.getTags() != null) {
+            changes.setTags(this.taskValidator.normalizeTags(changes.getTags()));
+        }
+
+        return withDeadline(this.reactiveTaskRepository.update(id, changes)
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.task(id)))
+                .doOnNext(updated -> {
+                    changed(id, UPDATED);
+                    if (updated.task().getStatus() != updated.previousStatus()) {
+                        statusChanged(id, updated.previousStatus(), updated.task().getStatus());
+                    }
+                })
+                .map(updated -> this.taskMapper.toResponse(updated.task())));
+    }
+
+    @Override
+    public Flux<TaskResponse> getTasksByStatusAndTags(List<TaskStatus> statuses, List<String> anyTags,
+                                                      List<String> allTags) {
+        return withDeadline(this.reactiveTaskRepository.findByStatusesAndTags(
+                        statuses == null ? List.of() : statuses,
+                        this.taskValidator.normalizeTags(anyTags),
+                        this.taskValidator.normalizeTags(allTags))
+                .map(this.taskMapper::toResponse));
+    }
+
+    @Override
+    public Flux<TaskResponse> getSortedTasks(String sortBy, String direction) {
+        String sortField = this.taskValidator.validateSortField(sortBy);
+
+        return withDeadline(this.reactiveTaskRepository
+                .findAll(by(this.taskValidator.validateSortDirection(direction), sortField))
+                .map(this.taskMapper::toResponse));
+    }
+
+    private void changed(long id, TaskChangeType type) {
+        this.entityManagerFactory.getCache().evict(Task.class, id);
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        this.eventPublisher.publishEvent(new TaskChangedEvent(id, type));
+    }
+
+    private void statusChanged(long id, TaskStatus fromStatus, TaskStatus toStatus) {
+        this.eventPublisher.publishEvent(new TaskStatusChangedEvent(id, fromStatus, toStatus, LocalDateTime.now()));
+    }
+
+    /**
+     * Bounds the whole stream, not just the gap between two elements.
+     */
+    private static <T> Flux<T> withDeadline(Flux<T> flux) {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return flux;
+        }
+
+        long deadline = System.nanoTime() + remaining.toNanos();
+        return flux.timeout(
+                Mono.delay(positive(remaining)),
+                element -> Mono.delay(positive(Duration.ofNanos(deadline - System.nanoTime()))),
+                Flux.error(DeadlineExceededException::new));
+    }
+
+    private static <T> Mono<T> withDeadline(Mono<T> mono) {
+        Duration remaining = RequestDeadline.remaining();
+
+        return remaining == null
+                ? mono
+                : mono.timeout(positive(remaining), Mono.error(DeadlineExceededException::new));
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
@@ -0,0 +1,31 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fingerprints of idempotent requests, so that a key reused for a different request is detected.
+ */
+final class RequestHashes {
+
+    private RequestHashes() {
+    }
+
+    static String sha256(ObjectMapper objectMapper, String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Unable to hash request", e);
+        }
+    }
+}
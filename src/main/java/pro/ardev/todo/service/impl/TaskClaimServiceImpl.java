@@ -0,0 +1,237 @@
+package pro.ardev.todo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.config.TaskClaimProperties;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.exception.LeaseNotHeldException;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.mapper.TaskMapper;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.LeaseResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskClaimService;
+import pro.ardev.todo.shard.EachShard;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsLast;
+import static pro.ardev.todo.model.enums.TaskChangeType.UPDATED;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Claims over plain SQL with {@code FOR UPDATE SKIP LOCKED}: each claim locks the first unlocked rows of the
+ * claimable index and flips them in the same statement. Lease times come from the database clock, so workers and
+ * nodes with skewed clocks agree on when a lease ends.
+ * <p>
+ * The statements are invisible to Hibernate; the affected tasks are evicted from the second-level cache after
+ * commit and announced like any other update.
+ */
+@Service
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskClaimServiceImpl implements TaskClaimService {
+
+    private static final String COLUMNS =
+            "tasks.id, tasks.owner, tasks.title, tasks.description, tasks.due_date, tasks.status, tasks.tags, "
+                    + "tasks.recurrence, tasks.series_id, tasks.occurrence_date, tasks.created_at, tasks.updated_at, "
+                    + "tasks.lease_expires_at";
+    private static final Comparator<TaskResponse> DUE_DATE_ORDER = Comparator
+            .comparing(TaskResponse::dueDate, nullsLast(naturalOrder()))
+            .thenComparingLong(TaskResponse::id);
+
+    private static final String CLAIM_SQL = """
+            WITH claimable AS (
+                SELECT id
+                FROM tasks
+                WHERE status = 'TODO' AND recurrence IS NULL
+                ORDER BY due_date, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE tasks
+            SET status           = 'IN_PROGRESS',
+                claimed_by       = ?,
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond',
+                updated_at       = CURRENT_TIMESTAMP
+            FROM claimable
+            WHERE tasks.id = claimable.id
+            RETURNING\s""" + COLUMNS;
+
+    private static final String HEARTBEAT_SQL = """
+            UPDATE tasks
+            SET lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond'
+            WHERE id = ? AND claimed_by = ? AND status = 'IN_PROGRESS' AND lease_expires_at > LOCALTIMESTAMP
+            RETURNING lease_expires_at""";
+
+    private static final String RELEASE_SQL = """
+            UPDATE tasks
+            SET status = 'TODO', claimed_by = NULL, lease_expires_at = NULL, updated_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND claimed_by = ? AND status = 'IN_PROGRESS'""";
+
+    /**
+     * Rows a worker is heartbeating right now are skipped; the next run sees their extended lease.
+     */
+    private static final String REAP_SQL = """
+            UPDATE tasks
+            SET status = 'TODO', claimed_by = NULL, lease_expires_at = NULL, updated_at = CURRENT_TIMESTAMP
+            WHERE id IN (SELECT id
+                         FROM tasks
+                         WHERE status = 'IN_PROGRESS' AND lease_expires_at < LOCALTIMESTAMP
+                         ORDER BY lease_expires_at
+                         LIMIT ?
+                         FOR UPDATE SKIP LOCKED)
+            RETURNING id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskMapper taskMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskClaimProperties taskClaimProperties;
+
+    @Override
+    @Transactional
+    public ClaimResponse claimTasks(ClaimTasksRequest request) {
+        int limit = request.limit() == null ? this.taskClaimProperties.defaultLimit() : request.limit();
+        List<LocalDateTime> leaseExpiries = new ArrayList<>(1);
+        List<TaskResponse> claimed = new ArrayList<>(this.jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            if (rowNum == 0) {
+                leaseExpiries.add(rs.getTimestamp("lease_expires_at").toLocalDateTime());
+            }
+            return this.taskMapper.toResponse(toTask(rs));
+        }, limit, request.workerId(), this.taskClaimProperties.leaseDuration().toMillis()));
+        // UPDATE ... RETURNING does not keep the order of the locking subquery.
+        claimed.sort(DUE_DATE_ORDER);
+
+        List<Long> ids = claimed.stream().map(TaskResponse::id).toList();
+        transitioned(ids, TODO, IN_PROGRESS);
+
+        return ClaimResponse.builder()
+                .workerId(request.workerId())
+                .leaseExpiresAt(leaseExpiries.isEmpty() ? null : leaseExpiries.getFirst())
+                .tasks(claimed)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public LeaseResponse heartbeat(Long id, String workerId) {
+        List<Timestamp> leaseExpiresAt = this.jdbcTemplate.queryForList(HEARTBEAT_SQL, Timestamp.class,
+                this.taskClaimProperties.leaseDuration().toMillis(), id, workerId);
+        if (leaseExpiresAt.isEmpty()) {
+            throw leaseNotHeld(id, workerId);
+        }
+        // A stale cached lease is harmless, see Task#claimedBy.
+
+        return LeaseResponse.builder()
+                .taskId(id)
+                .workerId(workerId)
+                .leaseExpiresAt(leaseExpiresAt.getFirst().toLocalDateTime())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void release(Long id, String workerId) {
+        if (this.jdbcTemplate.update(RELEASE_SQL, id, workerId) == 0) {
+            throw leaseNotHeld(id, workerId);
+        }
+        transitioned(List.of(id), IN_PROGRESS, TODO);
+    }
+
+    @Override
+    @EachShard
+    @Transactional
+    @Scheduled(fixedDelayString = "${todo.task-claims.reap-interval}")
+    public int reapExpiredLeases() {
+        List<Long> reaped = this.jdbcTemplate.queryForList(REAP_SQL, Long.class,
+                this.taskClaimProperties.reapBatchSize());
+        transitioned(reaped, IN_PROGRESS, TODO);
+
+        return reaped.size();
+    }
+
+    private void transitioned(List<Long> ids, TaskStatus fromStatus, TaskStatus toStatus) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : ids) {
+            this.eventPublisher.publishEvent(new TaskChangedEvent(id, UPDATED));
+            this.eventPublisher.publishEvent(new TaskStatusChangedEvent(id, fromStatus, toStatus, now));
+        }
+        evictAfterCommit(ids);
+    }
+
+    /**
+     * After commit, so that a concurrent reader cannot cache the pre-claim state again.
+     */
+    private void evictAfterCommit(List<Long> ids) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = TaskClaimServiceImpl.this.entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                ids.forEach(id -> cache.evictEntityData(Task.class, id));
+                cache.evictQueryRegions();
+            }
+        });
+    }
+
+    private LeaseNotHeldException leaseNotHeld(Long id, String workerId) {
+        Boolean exists = this.jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM tasks WHERE id = ?)", Boolean.class, id);
+        if (!Boolean.TRUE.equals(exists)) {
+            throw ResourceNotFoundException.task(id);
+        }
+
+        return new LeaseNotHeldException(String.format("Task with ID %d is not leased to worker %s", id, workerId));
+    }
+
+    private static Task toTask(ResultSet rs) throws SQLException {
+        Array tags = rs.getArray("tags");
+        String status = rs.getString("status");
+
+        return Task.builder()
+                .id(rs.getLong("id"))
+                .owner(rs.getString("owner"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .dueDate(toLocalDateTime(rs.getTimestamp("due_date")))
+                .status(status == null ? null : TaskStatus.valueOf(status))
+                .tags(tags == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList((String[]) tags.getArray())))
+                .recurrence(rs.getString("recurrence"))
+                .seriesId(rs.getObject("series_id", Long.class))
+                .occurrenceDate(toLocalDateTime(rs.getTimestamp("occurrence_date")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,176 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pro.ardev.todo.model.enums.CountMode;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.response.TaskCountResponse;
+import pro.ardev.todo.service.TaskCountService;
+import pro.ardev.todo.shard.ShardExecutor;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Counts tasks by status in three ways. An exact count reads every matching row. A cached count sums per-status
+ * counts that a full scan refreshes on a schedule, however many requests come in, as long as any come in. An
+ * estimate reads {@code pg_class.reltuples} or the planner's row estimate for the status filter, so it is only as
+ * fresh as the last {@code ANALYZE}.
+ * <p>
+ * With sharding enabled every mode sums the counts of all shards.
+ */
+@Service
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskCountServiceImpl implements TaskCountService {
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM tasks";
+
+    private static final String COUNT_BY_STATUS_SQL = "SELECT count(*) FROM tasks WHERE status = ANY (?)";
+
+    private static final String COUNT_PER_STATUS_SQL = "SELECT status, count(*) AS tasks FROM tasks GROUP BY status";
+
+    /**
+     * Negative until the table has been vacuumed or analyzed once.
+     */
+    private static final String RELTUPLES_SQL = "SELECT reltuples FROM pg_class WHERE oid = 'tasks'::regclass";
+
+    private static final String EXPLAIN_SQL = "EXPLAIN (FORMAT JSON) SELECT 1 FROM tasks";
+
+    private static final String EXPLAIN_BY_STATUS_SQL = EXPLAIN_SQL + " WHERE status = ANY (?)";
+
+    private final AtomicReference<StatusCounts> cachedCounts = new AtomicReference<>();
+    private final AtomicBoolean cachedCountRequested = new AtomicBoolean();
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ShardExecutor> shardExecutor;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCountResponse countTasks(List<TaskStatus> statuses, CountMode mode) {
+        List<TaskStatus> filter = statuses == null ? List.of() : statuses;
+        return switch (mode) {
+            case EXACT -> TaskCountResponse.builder()
+                    .count(countExact(filter))
+                    .mode(mode)
+                    .asOf(LocalDateTime.now())
+                    .build();
+            case CACHED -> countCached(filter);
+            case ESTIMATED -> TaskCountResponse.builder()
+                    .count(estimate(filter))
+                    .mode(mode)
+                    .build();
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshCachedCounts() {
+        LocalDateTime refreshedAt = LocalDateTime.now();
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (Map<TaskStatus, Long> shardCounts : onEveryShard(this::countPerStatus)) {
+            shardCounts.forEach((status, tasks) -> counts.merge(status, tasks, Long::sum));
+        }
+        this.cachedCounts.set(new StatusCounts(counts, refreshedAt));
+    }
+
+    /**
+     * Recounts only if a cached count was served since the last run, so that nodes nobody asks do not scan the
+     * table. Otherwise the counts are dropped, and the next cached request recounts rather than serve counts
+     * that have not been refreshed for a while.
+     */
+    @Transactional(readOnly = true)
+    @Scheduled(fixedDelayString = "${todo.task-counts.refresh-interval}")
+    public void refreshRequestedCounts() {
+        if (this.cachedCountRequested.getAndSet(false)) {
+            refreshCachedCounts();
+        } else {
+            this.cachedCounts.set(null);
+        }
+    }
+
+    private long countExact(List<TaskStatus> statuses) {
+        return onEveryShard(() -> {
+            Long count = statuses.isEmpty()
+                    ? this.jdbcTemplate.queryForObject(COUNT_SQL, Long.class)
+                    : this.jdbcTemplate.queryForObject(COUNT_BY_STATUS_SQL, Long.class, (Object) names(statuses));
+            return count == null ? 0L : count;
+        }).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private Map<TaskStatus, Long> countPerStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        this.jdbcTemplate.query(COUNT_PER_STATUS_SQL, rs -> {
+            counts.put(TaskStatus.valueOf(rs.getString("status")), rs.getLong("tasks"));
+        });
+
+        return counts;
+    }
+
+    private TaskCountResponse countCached(List<TaskStatus> statuses) {
+        if (!this.cachedCountRequested.get()) {
+            this.cachedCountRequested.set(true);
+        }
+        if (this.cachedCounts.get() == null) {
+            refreshCachedCounts();
+        }
+        StatusCounts snapshot = this.cachedCounts.get();
+        long count = (statuses.isEmpty() ? List.of(TaskStatus.values()) : statuses).stream()
+                .distinct()
+                .mapToLong(status -> snapshot.counts().getOrDefault(status, 0L))
+                .sum();
+
+        return TaskCountResponse.builder()
+                .count(count)
+                .mode(CountMode.CACHED)
+                .asOf(snapshot.refreshedAt())
+                .build();
+    }
+
+    private long estimate(List<TaskStatus> statuses) {
+        return onEveryShard(() -> estimateOnShard(statuses)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private long estimateOnShard(List<TaskStatus> statuses) {
+        if (statuses.isEmpty()) {
+            Double reltuples = this.jdbcTemplate.queryForObject(RELTUPLES_SQL, Double.class);
+            if (reltuples != null && reltuples >= 0) {
+                return Math.round(reltuples);
+            }
+        }
+
+        String plan = statuses.isEmpty()
+                ? this.jdbcTemplate.queryForObject(EXPLAIN_SQL, String.class)
+                : this.jdbcTemplate.queryForObject(EXPLAIN_BY_STATUS_SQL, String.class, (Object) names(statuses));
+        try {
+            return this.objectMapper.readTree(plan).get(0).get("Plan").get("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read query plan", e);
+        }
+    }
+
+    private <T> List<T> onEveryShard(Supplier<T> action) {
+        ShardExecutor shardExecutor = this.shardExecutor.getIfAvailable();
+
+        return shardExecutor == null ? List.of(action.get()) : shardExecutor.readAll(action);
+    }
+
+    private static String[] names(List<TaskStatus> statuses) {
+        return statuses.stream().map(TaskStatus::name).toArray(String[]::new);
+    }
+
+    private record StatusCounts(Map<TaskStatus, Long> counts, LocalDateTime refreshedAt) {
+    }
+}
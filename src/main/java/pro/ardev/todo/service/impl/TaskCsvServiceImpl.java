@@ -0,0 +1,125 @@
+package pro.ardev.todo.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.csv.TaskCsvImporter;
+import pro.ardev.todo.event.TasksImportedEvent;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.model.response.ImportResponse;
+import pro.ardev.todo.service.TaskCsvService;
+import pro.ardev.todo.shard.ShardContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * CSV import and export over PostgreSQL {@code COPY}, bypassing Hibernate. Both run on the connection of the
+ * surrounding transaction, so statement timeouts and rollback apply as for any other query.
+ */
+@Service
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskCsvServiceImpl implements TaskCsvService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String IMPORT_SQL =
+            "COPY tasks (" + TaskCsvImporter.COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String EXPORT_SQL = """
+            COPY (
+                SELECT id, owner, title, description,
+                       to_char(due_date, 'YYYY-MM-DD HH24:MI:SS') AS due_date,
+                       status,
+                       tags,
+                       to_char(created_at, 'YYYY-MM-DD HH24:MI:SS') AS created_at,
+                       to_char(updated_at, 'YYYY-MM-DD HH24:MI:SS') AS updated_at
+                FROM tasks
+                ORDER BY id
+            ) TO STDOUT WITH (FORMAT csv, HEADER)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskCsvImporter taskCsvImporter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskIdGenerator taskIdGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public ImportResponse importTasks(InputStream csv) {
+        ImportResponse response = this.jdbcTemplate.execute((ConnectionCallback<ImportResponse>) connection -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), IMPORT_SQL, COPY_BUFFER_SIZE);
+            try {
+                ImportResponse result = this.taskCsvImporter.importCsv(csv, copy,
+                        () -> this.taskIdGenerator.nextId(ShardContext.PRIMARY_SHARD));
+                copy.endCopy();
+                return result;
+            } catch (IOException e) {
+                cancel(copy);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                cancel(copy);
+                throw e;
+            }
+        });
+
+        if (response.imported() > 0) {
+            evictQueryCacheAfterCommit();
+            this.eventPublisher.publishEvent(new TasksImportedEvent(response.imported(), LocalDateTime.now()));
+        }
+
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(OutputStream csv) {
+        this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(EXPORT_SQL, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * {@code COPY} is invisible to Hibernate, so cached task lists have to be dropped explicitly; doing it after
+     * commit keeps a concurrent reader from caching the pre-import state again.
+     */
+    private void evictQueryCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                TaskCsvServiceImpl.this.entityManagerFactory.unwrap(SessionFactory.class)
+                        .getCache()
+                        .evictQueryRegions();
+            }
+        });
+    }
+
+    private static void cancel(PGCopyOutputStream copy) {
+        try {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        } catch (SQLException ignored) {
+            // The transaction is rolled back either way.
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package pro.ardev.todo.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pro.ardev.todo.config.TaskRollupProperties;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.model.enums.RollupBucket;
+import pro.ardev.todo.model.response.ThroughputBucket;
+import pro.ardev.todo.model.response.ThroughputResponse;
+import pro.ardev.todo.service.TaskRollupService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves throughput from {@code task_rollups}, which {@link pro.ardev.todo.rollup.TaskRollupRecorder} fills; the
+ * overdue samples and the compaction run here on a schedule, on every node, and are safe to run concurrently.
+ */
+@Slf4j
+@Service
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskRollupServiceImpl implements TaskRollupService {
+
+    private static final String THROUGHPUT_SQL = """
+            SELECT date_trunc(?, bucket_start) AS bucket_start,
+                   sum(created) AS created,
+                   sum(completed) AS completed,
+                   max(overdue) AS overdue
+            FROM task_rollups
+            WHERE granularity = ANY (?) AND bucket_start >= ? AND bucket_start < ?
+            GROUP BY 1""";
+
+    /**
+     * Series templates are not work items themselves, their occurrences are.
+     */
+    private static final String SAMPLE_OVERDUE_SQL = """
+            INSERT INTO task_rollups (granularity, bucket_start, overdue)
+            SELECT 'HOUR', ?, count(*)
+            FROM tasks
+            WHERE due_date < ? AND status <> 'DONE' AND recurrence IS NULL
+            ON CONFLICT (granularity, bucket_start) DO UPDATE
+            SET overdue = GREATEST(task_rollups.overdue, EXCLUDED.overdue)""";
+
+    /**
+     * Whole days only, so that a day is never split between a daily bucket and hourly ones.
+     */
+    private static final String COMPACT_SQL = """
+            WITH compacted AS (
+                DELETE FROM task_rollups
+                WHERE granularity = 'HOUR' AND bucket_start < ?
+                RETURNING bucket_start, created, completed, overdue
+            ),
+            daily AS (
+                INSERT INTO task_rollups (granularity, bucket_start, created, completed, overdue)
+                SELECT 'DAY', date_trunc('day', bucket_start), sum(created), sum(completed), max(overdue)
+                FROM compacted
+                GROUP BY date_trunc('day', bucket_start)
+                ON CONFLICT (granularity, bucket_start) DO UPDATE
+                SET created = task_rollups.created + EXCLUDED.created,
+                    completed = task_rollups.completed + EXCLUDED.completed,
+                    overdue = GREATEST(task_rollups.overdue, EXCLUDED.overdue)
+            )
+            SELECT count(*) FROM compacted""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskRollupProperties taskRollupProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ThroughputResponse getThroughput(LocalDateTime from, LocalDateTime to, String bucket) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        RollupBucket rollupBucket = RollupBucket.fromUnit(bucket)
+                .orElseThrow(() -> new BadRequestException(
+                        String.format("Unknown bucket %s, expected one of %s", bucket, units())));
+        LocalDateTime cutoff = compactionCutoff();
+        if (rollupBucket == RollupBucket.HOUR && from.isBefore(cutoff)) {
+            throw new BadRequestException(String.format("Hourly buckets before %s are compacted into days, use %s",
+                    cutoff, RollupBucket.DAY.unit()));
+        }
+
+        LocalDateTime first = rollupBucket.truncate(from);
+        LocalDateTime end = first;
+        for (int count = 0; end.isBefore(to); count++) {
+            if (count == this.taskRollupProperties.maxBuckets()) {
+                throw new BadRequestException(String.format("At most %d buckets can be requested at once",
+                        this.taskRollupProperties.maxBuckets()));
+            }
+            end = rollupBucket.next(end);
+        }
+
+        Map<LocalDateTime, ThroughputBucket> rollups = new HashMap<>();
+        this.jdbcTemplate.query(THROUGHPUT_SQL, rs -> {
+            LocalDateTime bucketStart = rs.getTimestamp("bucket_start").toLocalDateTime();
+            rollups.put(bucketStart, ThroughputBucket.builder()
+                    .bucketStart(bucketStart)
+                    .created(rs.getLong("created"))
+                    .completed(rs.getLong("completed"))
+                    .overdue(rs.getObject("overdue", Long.class))
+                    .build());
+        }, rollupBucket.unit(), granularities(rollupBucket), Timestamp.valueOf(first), Timestamp.valueOf(end));
+
+        List<ThroughputBucket> buckets = new ArrayList<>();
+        for (LocalDateTime start = first; start.isBefore(end); start = rollupBucket.next(start)) {
+            buckets.add(rollups.getOrDefault(start, ThroughputBucket.builder().bucketStart(start).build()));
+        }
+
+        return ThroughputResponse.builder()
+                .bucket(rollupBucket)
+                .from(from)
+                .to(to)
+                .buckets(buckets)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${todo.task-rollups.overdue-sample-interval}")
+    public void sampleOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        this.jdbcTemplate.update(SAMPLE_OVERDUE_SQL,
+                Timestamp.valueOf(RollupBucket.HOUR.truncate(now)), Timestamp.valueOf(now));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${todo.task-rollups.compaction-interval}")
+    public int compactHourlyRollups() {
+        LocalDateTime cutoff = compactionCutoff();
+        Integer compacted = this.jdbcTemplate.queryForObject(COMPACT_SQL, Integer.class, Timestamp.valueOf(cutoff));
+        log.debug("Compacted {} hourly task rollups before {}", compacted, cutoff);
+
+        return compacted;
+    }
+
+    /**
+     * The start of the first day whose hours are kept; earlier hours are folded into days on compaction.
+     */
+    private LocalDateTime compactionCutoff() {
+        return RollupBucket.DAY.truncate(LocalDateTime.now().minus(this.taskRollupProperties.hourlyRetention()));
+    }
+
+    /**
+     * The stored granularities a bucket is summed from: its own and every finer one.
+     */
+    private static String[] granularities(RollupBucket bucket) {
+        return Arrays.stream(RollupBucket.values())
+                .filter(stored -> stored.compareTo(bucket) <= 0)
+                .map(RollupBucket::name)
+                .toArray(String[]::new);
+    }
+
+    private static List<String> units() {
+        return Arrays.stream(RollupBucket.values()).map(RollupBucket::unit).toList();
+    }
+}
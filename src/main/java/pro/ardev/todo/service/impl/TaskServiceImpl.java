@@ -1,48 +1,105 @@
 package pro.ardev.todo.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pro.ardev.todo.cache.TaskListCache;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.exception.BadRequestException;
 import pro.ardev.todo.exception.ResourceNotFoundException;
 import pro.ardev.todo.mapper.TaskMapper;
 import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskField;
 import pro.ardev.todo.model.enums.TaskStatus;
 import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
 import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskProgressResponse;
 import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.recurrence.RecurrenceRule;
+import pro.ardev.todo.repository.TaskProgress;
 import pro.ardev.todo.repository.TaskRepository;
 import pro.ardev.todo.service.TaskService;
 import pro.ardev.todo.validator.TaskValidator;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.springframework.data.domain.Sort.Direction;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 import static org.springframework.data.domain.Sort.by;
+import static pro.ardev.todo.model.enums.TaskChangeType.CREATED;
+import static pro.ardev.todo.model.enums.TaskChangeType.DELETED;
+import static pro.ardev.todo.model.enums.TaskChangeType.UPDATED;
 import static pro.ardev.todo.model.enums.TaskStatus.TODO;
 
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_OCCURRENCES_PER_SERIES = 1000;
+    private static final Comparator<TaskResponse> DUE_DATE_ORDER = Comparator
+            .comparing(TaskResponse::dueDate)
+            .thenComparingLong(TaskResponse::id);
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final TaskValidator taskValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskListCache taskListCache;
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        return this.taskRepository.findAll().stream()
+        return this.taskListCache.get(TaskListCache.Key.ALL, () -> this.taskRepository.findAll().stream()
                 .map(taskMapper::toResponse)
-                .toList();
+                .toList());
     }
 
+    /**
+     * A request carrying the id of an existing task updates that task instead, so clients that assign ids offline
+     * can safely resend their creations, concurrently as well.
+     */
     @Override
     @Transactional
     public TaskResponse createTask(CreateTaskRequest createTaskRequest) {
+        if (createTaskRequest.id() != null) {
+            this.taskRepository.lockId(createTaskRequest.id());
+            Task existing = this.taskRepository.findById(createTaskRequest.id()).orElse(null);
+            if (existing != null) {
+                return replaceTask(existing, createTaskRequest);
+            }
+        }
+
         Task task = this.taskMapper.toEntity(createTaskRequest);
+        if (task.getParentId() != null) {
+            // Keeps the whole hierarchy on one shard.
+            task.setOwner(findParent(task.getParentId()).getOwner());
+        }
+        if (task.getOwner() == null) {
+            task.setOwner(Task.DEFAULT_OWNER);
+        }
+        task.setTags(this.taskValidator.normalizeTags(task.getTags()));
+        this.taskValidator.validateRecurrence(task.getRecurrence(), task.getDueDate());
         task.setStatus(TODO);
-        Task saved = this.taskRepository.save(task);
+        Task saved = this.taskRepository.insert(task);
+        if (saved.getParentId() != null) {
+            this.taskRepository.linkToParent(saved.getId(), saved.getParentId());
+        }
+        this.eventPublisher.publishEvent(new TaskChangedEvent(saved.getId(), CREATED));
+        statusChanged(saved.getId(), null, saved.getStatus());
 
         return this.taskMapper.toResponse(saved);
     }
@@ -55,21 +112,64 @@ public class TaskServiceImpl implements TaskService {
         return this.taskMapper.toResponse(task);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TaskBatchResponse getTasksByIds(List<Long> ids) {
+        this.taskValidator.validateIds(ids);
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        Map<Long, Task> tasks = this.taskRepository.findAllById(distinctIds).stream()
+                .collect(toMap(Task::getId, identity()));
+
+        List<TaskResponse> found = new ArrayList<>(tasks.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Task task = tasks.get(id);
+            if (task == null) {
+                missingIds.add(id);
+            } else {
+                found.add(this.taskMapper.toResponse(task));
+            }
+        }
+
+        return new TaskBatchResponse(found, missingIds);
+    }
+
     @Override
     @Transactional
     public void deleteTaskById(Long id) {
         boolean existsById = this.taskRepository.existsById(id);
         this.taskValidator.validate(id, existsById);
-        this.taskRepository.deleteById(id);
+        // Deepest first, so that no task is left without its parent.
+        for (Task task : this.taskRepository.findSubtree(id).reversed()) {
+            for (Task occurrence : this.taskRepository.findBySeriesId(task.getId())) {
+                this.taskRepository.deleteById(occurrence.getId());
+                this.eventPublisher.publishEvent(new TaskChangedEvent(occurrence.getId(), DELETED));
+            }
+            this.taskRepository.unlinkFromHierarchy(task.getId());
+            this.taskRepository.deleteById(task.getId());
+            this.eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), DELETED));
+        }
     }
 
     @Override
     @Transactional
     public TaskResponse updateTask(Long id, UpdateTaskRequest updateTaskRequest) {
         Task task = findTaskById(id);
+        TaskStatus previousStatus = task.getStatus();
 
         this.taskMapper.updateEntity(task, updateTaskRequest);
+        task.setTags(this.taskValidator.normalizeTags(task.getTags()));
+        boolean transitioned = task.getStatus() != previousStatus;
+        if (transitioned) {
+            // A task moved by hand is no longer held by a worker.
+            task.setClaimedBy(null);
+            task.setLeaseExpiresAt(null);
+        }
         this.taskRepository.save(task);
+        this.eventPublisher.publishEvent(new TaskChangedEvent(id, UPDATED));
+        if (transitioned) {
+            statusChanged(id, previousStatus, task.getStatus());
+        }
 
         return this.taskMapper.toResponse(task);
     }
@@ -77,13 +177,30 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> getTasksByStatus(List<TaskStatus> statuses) {
-        if (statuses == null || statuses.isEmpty()) {
-            return this.taskRepository.findAll().stream()
+        return this.taskListCache.get(TaskListCache.Key.byStatus(statuses), () -> {
+            if (statuses == null || statuses.isEmpty()) {
+                return this.taskRepository.findAll().stream()
+                        .map(this.taskMapper::toResponse)
+                        .toList();
+            }
+
+            return this.taskRepository.findByStatusIn(statuses).stream()
                     .map(this.taskMapper::toResponse)
                     .toList();
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByStatusAndTags(List<TaskStatus> statuses, List<String> anyTags,
+                                                      List<String> allTags) {
+        List<String> any = this.taskValidator.normalizeTags(anyTags);
+        List<String> all = this.taskValidator.normalizeTags(allTags);
+        if (any.isEmpty() && all.isEmpty()) {
+            return getTasksByStatus(statuses);
         }
 
-        return this.taskRepository.findByStatusIn(statuses).stream()
+        return this.taskRepository.findByStatusesAndTags(statuses, any, all).stream()
                 .map(this.taskMapper::toResponse)
                 .toList();
     }
@@ -96,14 +213,212 @@ public class TaskServiceImpl implements TaskService {
 
         Sort sort = by(sortDirection, sortField);
 
-        return this.taskRepository.findAll(sort).stream()
+        return this.taskListCache.get(TaskListCache.Key.sorted(sortField, sortDirection),
+                () -> this.taskRepository.findAll(sort).stream()
+                        .map(this.taskMapper::toResponse)
+                        .toList());
+    }
+
+    /**
+     * Stored tasks come from the due-date index; series are expanded for the window only, and an occurrence that
+     * has been materialized replaces its expansion even when it was moved out of the window.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksInWindow(LocalDateTime from, LocalDateTime to, String direction) {
+        this.taskValidator.validateWindow(from, to);
+        Direction sortDirection = this.taskValidator.validateSortDirection(direction);
+
+        List<TaskResponse> result = new ArrayList<>();
+        for (Task task : this.taskRepository.findByRecurrenceIsNullAndDueDateBetween(from, to)) {
+            result.add(this.taskMapper.toResponse(task));
+        }
+
+        List<Task> series = this.taskRepository.findByRecurrenceIsNotNullAndDueDateLessThanEqual(to);
+        if (!series.isEmpty()) {
+            Set<Occurrence> materialized = this.taskRepository
+                    .findBySeriesIdIsNotNullAndOccurrenceDateBetween(from, to).stream()
+                    .map(task -> new Occurrence(task.getSeriesId(), task.getOccurrenceDate()))
+                    .collect(toSet());
+            for (Task template : series) {
+                RecurrenceRule rule = RecurrenceRule.parse(template.getRecurrence());
+                for (LocalDateTime date : rule.occurrences(template.getDueDate(), from, to,
+                        MAX_OCCURRENCES_PER_SERIES)) {
+                    if (!materialized.contains(new Occurrence(template.getId(), date))) {
+                        result.add(this.taskMapper.toOccurrenceResponse(template, date));
+                    }
+                }
+            }
+        }
+
+        result.sort(sortDirection == DESC ? DUE_DATE_ORDER.reversed() : DUE_DATE_ORDER);
+
+        return result;
+    }
+
+    /**
+     * The stored occurrence starts as a copy of its series, including the owner so that it lands on the same
+     * shard, and then takes the changes like any other task.
+     */
+    @Override
+    @Transactional
+    public TaskResponse updateOccurrence(Long seriesId, LocalDateTime occurrenceDate,
+                                         UpdateTaskRequest updateTaskRequest) {
+        Task stored = this.taskRepository.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate).orElse(null);
+        if (stored != null) {
+            return updateTask(stored.getId(), updateTaskRequest);
+        }
+
+        Task series = findTaskById(seriesId);
+        if (series.getRecurrence() == null || RecurrenceRule.parse(series.getRecurrence())
+                .occurrences(series.getDueDate(), occurrenceDate, occurrenceDate, 1).isEmpty()) {
+            throw new ResourceNotFoundException(
+                    String.format("Task with ID %d has no occurrence at %s", seriesId, occurrenceDate));
+        }
+
+        Task occurrence = Task.builder()
+                .owner(series.getOwner())
+                .title(series.getTitle())
+                .description(series.getDescription())
+                .dueDate(occurrenceDate)
+                .status(TODO)
+                .tags(new ArrayList<>(series.getTags()))
+                .seriesId(seriesId)
+                .occurrenceDate(occurrenceDate)
+                .build();
+        this.taskMapper.updateEntity(occurrence, updateTaskRequest);
+        occurrence.setTags(this.taskValidator.normalizeTags(occurrence.getTags()));
+        Task saved = this.taskRepository.insert(occurrence);
+        this.eventPublisher.publishEvent(new TaskChangedEvent(saved.getId(), CREATED));
+        statusChanged(saved.getId(), null, saved.getStatus());
+
+        return this.taskMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getSubtree(Long id) {
+        List<Task> subtree = this.taskRepository.findSubtree(id);
+        if (subtree.isEmpty()) {
+            throw ResourceNotFoundException.task(id);
+        }
+
+        return subtree.stream()
+                .map(this.taskMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAncestors(Long id) {
+        findTaskById(id);
+
+        return this.taskRepository.findAncestors(id).stream()
                 .map(this.taskMapper::toResponse)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskProgressResponse> getSubtreeProgress(Long id) {
+        List<TaskProgress> progress = this.taskRepository.findSubtreeProgress(id);
+        if (progress.isEmpty()) {
+            throw ResourceNotFoundException.task(id);
+        }
+
+        return progress.stream()
+                .map(subtree -> TaskProgressResponse.builder()
+                        .taskId(subtree.taskId())
+                        .total(subtree.total())
+                        .done(subtree.done())
+                        .percentDone(100.0 * subtree.done() / subtree.total())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public TaskResponse moveTask(Long id, MoveTaskRequest moveTaskRequest) {
+        Task task = findTaskById(id);
+        Long parentId = moveTaskRequest.parentId();
+        if (Objects.equals(task.getParentId(), parentId)) {
+            return this.taskMapper.toResponse(task);
+        }
+
+        if (parentId != null) {
+            Task parent = findParent(parentId);
+            if (parentId.equals(id) || this.taskRepository.findAncestors(parentId).stream()
+                    .anyMatch(ancestor -> ancestor.getId().equals(id))) {
+                throw new BadRequestException(
+                        String.format("Task with ID %d cannot be moved below its own subtask %d", id, parentId));
+            }
+            if (!parent.getOwner().equals(task.getOwner())) {
+                throw new BadRequestException(
+                        String.format("Task with ID %d can only be moved below a task of the same owner", id));
+            }
+        }
+        task.setParentId(parentId);
+        this.taskRepository.save(task);
+        this.taskRepository.moveSubtree(id, parentId);
+        this.eventPublisher.publishEvent(new TaskChangedEvent(id, UPDATED));
+
+        return this.taskMapper.toResponse(task);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllTaskFields(List<String> fields) {
+        return findTaskFields(fields, null, Sort.unsorted());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTaskFieldsByStatus(List<String> fields, List<TaskStatus> statuses) {
+        return findTaskFields(fields, statuses, Sort.unsorted());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getSortedTaskFields(List<String> fields, String sortBy, String direction) {
+        String sortField = this.taskValidator.validateSortField(sortBy);
+        Direction sortDirection = this.taskValidator.validateSortDirection(direction);
+
+        return findTaskFields(fields, null, by(sortDirection, sortField));
+    }
+
+    private List<Map<String, Object>> findTaskFields(List<String> fields, List<TaskStatus> statuses, Sort sort) {
+        Set<TaskField> taskFields = this.taskValidator.validateFields(fields);
+
+        return this.taskRepository.findFields(taskFields, statuses, sort).stream()
+                .map(row -> this.taskMapper.toFieldMap(taskFields, row))
+                .toList();
+    }
+
+    private TaskResponse replaceTask(Task task, CreateTaskRequest createTaskRequest) {
+        this.taskMapper.mergeEntity(task, createTaskRequest);
+        task.setTags(this.taskValidator.normalizeTags(task.getTags()));
+        this.taskValidator.validateRecurrence(task.getRecurrence(), task.getDueDate());
+        this.taskRepository.save(task);
+        this.eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), UPDATED));
+
+        return this.taskMapper.toResponse(task);
+    }
+
+    private void statusChanged(Long id, TaskStatus fromStatus, TaskStatus toStatus) {
+        this.eventPublisher.publishEvent(new TaskStatusChangedEvent(id, fromStatus, toStatus, LocalDateTime.now()));
+    }
+
     private Task findTaskById(Long id) {
         return this.taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("Task with ID %d not found", id)));
+                .orElseThrow(() -> ResourceNotFoundException.task(id));
+    }
+
+    private Task findParent(Long parentId) {
+        return this.taskRepository.findById(parentId)
+                .orElseThrow(() -> new BadRequestException(
+                        String.format("Parent task with ID %d not found", parentId)));
+    }
+
+    private record Occurrence(long seriesId, LocalDateTime date) {
     }
 }
@@ -0,0 +1,127 @@
+package pro.ardev.todo.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.model.response.DurationStatistics;
+import pro.ardev.todo.model.response.StatusTransitionResponse;
+import pro.ardev.todo.model.response.TimeInStatusResponse;
+import pro.ardev.todo.service.TaskStatusHistoryService;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads {@code task_status_history} with plain SQL; the percentiles are computed by PostgreSQL so that only one row
+ * per status leaves the database.
+ */
+@Service
+@Profile("!in-memory")
+@RequiredArgsConstructor
+public class TaskStatusHistoryServiceImpl implements TaskStatusHistoryService {
+
+    private static final String DURATION_AGGREGATES = """
+            count(*) AS samples,
+            avg(seconds) AS average,
+            percentile_cont(0.5) WITHIN GROUP (ORDER BY seconds) AS p50,
+            percentile_cont(0.9) WITHIN GROUP (ORDER BY seconds) AS p90,
+            percentile_cont(0.99) WITHIN GROUP (ORDER BY seconds) AS p99""";
+
+    private static final String HISTORY_SQL = """
+            SELECT from_status, to_status, changed_at
+            FROM task_status_history
+            WHERE task_id = ?
+            ORDER BY changed_at, id""";
+
+    /**
+     * A stay in a status lasts until the next transition of the same task; stays still open are not counted.
+     */
+    private static final String TIME_IN_STATUS_SQL = """
+            SELECT status, %s
+            FROM (SELECT to_status AS status,
+                         LEAD(changed_at) OVER next AS ended_at,
+                         EXTRACT(EPOCH FROM LEAD(changed_at) OVER next - changed_at)::double precision AS seconds
+                  FROM task_status_history
+                  WHERE task_id IN (SELECT task_id
+                                    FROM task_status_history
+                                    WHERE changed_at >= ? AND changed_at < ?)
+                  WINDOW next AS (PARTITION BY task_id ORDER BY changed_at, id)) stays
+            WHERE ended_at >= ? AND ended_at < ?
+            GROUP BY status""".formatted(DURATION_AGGREGATES);
+
+    /**
+     * Measured up to the last time a task was finished within the window, from the first time it was started.
+     */
+    private static final String CYCLE_TIME_SQL = """
+            SELECT %s
+            FROM (SELECT EXTRACT(EPOCH FROM done.changed_at - (SELECT min(started.changed_at)
+                                                               FROM task_status_history started
+                                                               WHERE started.task_id = done.task_id
+                                                                 AND started.to_status = 'IN_PROGRESS'
+                                                                 AND started.changed_at <= done.changed_at)
+                         )::double precision AS seconds
+                  FROM (SELECT task_id, max(changed_at) AS changed_at
+                        FROM task_status_history
+                        WHERE to_status = 'DONE' AND changed_at >= ? AND changed_at < ?
+                        GROUP BY task_id) done) cycles
+            WHERE seconds IS NOT NULL""".formatted(DURATION_AGGREGATES);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatusTransitionResponse> getHistory(Long taskId) {
+        return this.jdbcTemplate.query(HISTORY_SQL, (rs, rowNum) -> StatusTransitionResponse.builder()
+                .fromStatus(status(rs.getString("from_status")))
+                .toStatus(status(rs.getString("to_status")))
+                .changedAt(rs.getTimestamp("changed_at").toLocalDateTime())
+                .build(), taskId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimeInStatusResponse getTimeInStatus(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        Timestamp fromTimestamp = Timestamp.valueOf(from);
+        Timestamp toTimestamp = Timestamp.valueOf(to);
+
+        Map<TaskStatus, DurationStatistics> timeInStatus = new EnumMap<>(TaskStatus.class);
+        this.jdbcTemplate.query(TIME_IN_STATUS_SQL, rs -> {
+            timeInStatus.put(TaskStatus.valueOf(rs.getString("status")), statistics(rs));
+        }, fromTimestamp, toTimestamp, fromTimestamp, toTimestamp);
+        DurationStatistics cycleTime = this.jdbcTemplate.queryForObject(CYCLE_TIME_SQL,
+                (rs, rowNum) -> statistics(rs), fromTimestamp, toTimestamp);
+
+        return TimeInStatusResponse.builder()
+                .from(from)
+                .to(to)
+                .timeInStatus(timeInStatus)
+                .cycleTime(cycleTime)
+                .build();
+    }
+
+    private static DurationStatistics statistics(ResultSet rs) throws SQLException {
+        return DurationStatistics.builder()
+                .count(rs.getLong("samples"))
+                .averageSeconds(rs.getObject("average", Double.class))
+                .p50Seconds(rs.getObject("p50", Double.class))
+                .p90Seconds(rs.getObject("p90", Double.class))
+                .p99Seconds(rs.getObject("p99", Double.class))
+                .build();
+    }
+
+    private static TaskStatus status(String name) {
+        return name == null ? null : TaskStatus.valueOf(name);
+    }
+}
@@ -0,0 +1,15 @@
+package pro.ardev.todo.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a maintenance method, typically a scheduled one, that has to run once on every shard, each run in its own
+ * transaction. An {@code int} result is summed over the shards. See {@link ShardRoutingAdvisor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EachShard {
+}
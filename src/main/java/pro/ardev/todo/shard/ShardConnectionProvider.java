@@ -0,0 +1,43 @@
+package pro.ardev.todo.shard;
+
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Hands Hibernate the connection pool of the shard a session was opened for. Shard 0 is the application's primary
+ * data source; the pools of the other shards are owned, and closed, by this provider.
+ */
+public class ShardConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String>
+        implements AutoCloseable {
+
+    private final List<DataSource> dataSources;
+
+    public ShardConnectionProvider(List<DataSource> dataSources) {
+        this.dataSources = List.copyOf(dataSources);
+    }
+
+    public List<DataSource> dataSources() {
+        return this.dataSources;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : this.dataSources.subList(1, this.dataSources.size())) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return this.dataSources.get(ShardContext.PRIMARY_SHARD);
+    }
+
+    @Override
+    protected DataSource selectDataSource(String tenantIdentifier) {
+        return this.dataSources.get(Integer.parseInt(tenantIdentifier));
+    }
+}
@@ -0,0 +1,39 @@
+package pro.ardev.todo.shard;
+
+/**
+ * Shard the current thread works against. Hibernate reads it through {@link ShardTenantResolver} when a session
+ * opens, so it has to be set before the transaction starts; without it the primary shard is used.
+ */
+public final class ShardContext {
+
+    public static final int PRIMARY_SHARD = 0;
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = SHARD.get();
+
+        return shard == null ? PRIMARY_SHARD : shard;
+    }
+
+    /**
+     * @return the shard that was current before, to be passed to {@link #restore(int)}
+     */
+    static int set(int shard) {
+        int previous = current();
+        SHARD.set(shard);
+
+        return previous;
+    }
+
+    static void restore(int shard) {
+        if (shard == PRIMARY_SHARD) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+    }
+}
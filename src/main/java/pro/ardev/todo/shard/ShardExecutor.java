@@ -0,0 +1,140 @@
+package pro.ardev.todo.shard;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.ardev.todo.deadline.RequestDeadline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs repository calls against a given shard. A read on another shard than the current one gets a transaction
+ * of its own on that shard, since a Hibernate session is bound to one shard for its whole lifetime.
+ * <p>
+ * Writes have to stay on the shard the unit of work was routed to, see {@link ShardRoutingAdvisor}, so that they
+ * commit or roll back together. Only a caller outside any transaction may write to another shard, which then
+ * commits on its own, unless the write asks for a new transaction.
+ */
+public class ShardExecutor implements AutoCloseable {
+
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate newWriteTemplate;
+    private final ExecutorService executor;
+
+    public ShardExecutor(ShardRouter shardRouter, PlatformTransactionManager transactionManager,
+                         ExecutorService executor) {
+        this.shardRouter = shardRouter;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+        this.newWriteTemplate = new TransactionTemplate(transactionManager);
+        this.newWriteTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = executor;
+    }
+
+    public ShardRouter router() {
+        return this.shardRouter;
+    }
+
+    public <T> T write(int shard, Supplier<T> action) {
+        int current = ShardContext.current();
+        if (shard != current && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                    String.format("Cannot write to shard %d in a transaction on shard %d", shard, current));
+        }
+
+        return execute(shard, this.writeTemplate, action);
+    }
+
+    /**
+     * Runs {@code action} in a transaction of its own on {@code shard}, which commits regardless of the caller's.
+     */
+    public <T> T writeInNewTransaction(int shard, Supplier<T> action) {
+        int previous = ShardContext.set(shard);
+        try {
+            return this.newWriteTemplate.execute(status -> action.get());
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public <T> T read(int shard, Supplier<T> action) {
+        return execute(shard, this.readTemplate, action);
+    }
+
+    /**
+     * Runs {@code action} on every shard in parallel. The current shard's part runs on the calling thread so it
+     * joins the caller's transaction instead of taking a second connection from the same pool.
+     *
+     * @return the results, indexed by shard
+     */
+    public <T> List<T> readAll(Supplier<T> action) {
+        int current = ShardContext.current();
+        Duration remaining = RequestDeadline.remaining();
+        List<CompletableFuture<T>> futures = new ArrayList<>(this.shardRouter.shardCount());
+        for (int shard = 0; shard < this.shardRouter.shardCount(); shard++) {
+            if (shard == current) {
+                futures.add(null);
+                continue;
+            }
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                if (remaining != null) {
+                    RequestDeadline.set(remaining);
+                }
+                try {
+                    return read(target, action);
+                } finally {
+                    RequestDeadline.clear();
+                }
+            }, this.executor));
+        }
+
+        T local = action.get();
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future == null ? local : join(future));
+        }
+
+        return results;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    private <T> T execute(int shard, TransactionTemplate template, Supplier<T> action) {
+        if (shard == ShardContext.current()) {
+            return action.get();
+        }
+
+        int previous = ShardContext.set(shard);
+        try {
+            return template.execute(status -> action.get());
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package pro.ardev.todo.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the handler parameter that decides which shard the request works against: a task id, or the
+ * {@link pro.ardev.todo.model.request.CreateTaskRequest} of a new task. See {@link ShardRoutingAdvisor}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,35 @@
+package pro.ardev.todo.shard;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Applies the Liquibase changelog to every shard besides the primary one, which Spring Boot migrates itself.
+ */
+public class ShardMigrator implements InitializingBean {
+
+    private final List<DataSource> dataSources;
+    private final String changeLog;
+    private final ResourceLoader resourceLoader;
+
+    public ShardMigrator(List<DataSource> dataSources, String changeLog, ResourceLoader resourceLoader) {
+        this.dataSources = dataSources;
+        this.changeLog = changeLog;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        for (int shard = 1; shard < this.dataSources.size(); shard++) {
+            SpringLiquibase liquibase = new SpringLiquibase();
+            liquibase.setDataSource(this.dataSources.get(shard));
+            liquibase.setChangeLog(this.changeLog);
+            liquibase.setResourceLoader(this.resourceLoader);
+            liquibase.afterPropertiesSet();
+        }
+    }
+}
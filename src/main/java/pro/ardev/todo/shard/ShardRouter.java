@@ -0,0 +1,86 @@
+package pro.ardev.todo.shard;
+
+import pro.ardev.todo.id.TaskIdGenerator;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Maps owners to shards by consistent hashing, and task ids to shards by their high bits.
+ * <p>
+ * Each shard owns {@code virtualNodes} points on a 64-bit hash ring and an owner belongs to the first point at or
+ * after its own hash, so adding a shard moves only about {@code 1/N} of the owners. Existing tasks never move:
+ * generated ids carry their shard, see {@link TaskIdGenerator}, so the shard of an id is readable without a lookup.
+ * Ids from the former identity column predate sharding and stay on the primary shard.
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+    private final NavigableMap<Long, Integer> ring = new TreeMap<>();
+
+    public ShardRouter(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > TaskIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("Unsupported shard count " + shardCount);
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                this.ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shardCount() {
+        return this.shardCount;
+    }
+
+    public int shardForOwner(String owner) {
+        Map.Entry<Long, Integer> entry = this.ring.ceilingEntry(hash(owner));
+
+        return entry != null ? entry.getValue() : this.ring.firstEntry().getValue();
+    }
+
+    /**
+     * @return the shard encoded in a generated {@code id}, or the primary shard for ids from the former identity
+     *         column and for shards beyond {@link #shardCount()}
+     */
+    public int shardForId(long id) {
+        int shard = TaskIdGenerator.isGenerated(id) ? TaskIdGenerator.shardOf(id) : ShardContext.PRIMARY_SHARD;
+
+        return shard < this.shardCount ? shard : ShardContext.PRIMARY_SHARD;
+    }
+
+    /**
+     * @param anchorId the parent or series the task is stored with, if any
+     * @return the shard of the task's id once it has one, else that of the task it is stored with, else that of
+     *         its owner
+     */
+    public int shardForTask(Long id, Long anchorId, String owner) {
+        if (id != null) {
+            return shardForId(id);
+        }
+        if (anchorId != null) {
+            return shardForId(anchorId);
+        }
+
+        return shardForOwner(owner);
+    }
+
+    /**
+     * FNV-1a followed by the SplitMix64 finalizer, which spreads short, similar keys evenly over the ring.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+
+        return hash ^ (hash >>> 31);
+    }
+}
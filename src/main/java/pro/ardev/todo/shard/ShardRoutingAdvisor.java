@@ -0,0 +1,115 @@
+package pro.ardev.todo.shard;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sets the {@link ShardContext} from the {@link ShardKey} parameter before a handler runs, so that every
+ * transaction of the request, those of its idempotency record included, opens on the shard of the task it works
+ * on.
+ * <p>
+ * Runs methods marked {@link EachShard} once per shard instead. Either way the advice goes first, so the
+ * transaction the method declares opens on the shard chosen here.
+ */
+public class ShardRoutingAdvisor extends StaticMethodMatcherPointcutAdvisor implements MethodInterceptor {
+
+    private static final int NO_KEY = -1;
+    private static final int EACH_SHARD = -2;
+
+    private final ShardRouter shardRouter;
+    private final Map<Method, Integer> keyIndexes = new ConcurrentHashMap<>();
+
+    public ShardRoutingAdvisor(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+        setAdvice(this);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return keyIndex(AopUtils.getMostSpecificMethod(method, targetClass)) != NO_KEY;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        int index = this.keyIndexes.computeIfAbsent(invocation.getMethod(), method -> keyIndex(
+                AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(invocation.getThis()))));
+        if (index == EACH_SHARD) {
+            return eachShard(invocation);
+        }
+        Object key = index == NO_KEY ? null : invocation.getArguments()[index];
+        if (key == null) {
+            return invocation.proceed();
+        }
+
+        int previous = ShardContext.set(shardFor(key));
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private Object eachShard(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(String.format(
+                    "%s runs on every shard and cannot join a transaction", invocation.getMethod().getName()));
+        }
+
+        Object result = null;
+        int total = 0;
+        for (int shard = 0; shard < this.shardRouter.shardCount(); shard++) {
+            int previous = ShardContext.set(shard);
+            try {
+                result = ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+            } finally {
+                ShardContext.restore(previous);
+            }
+            if (result instanceof Integer count) {
+                total += count;
+            }
+        }
+
+        return result instanceof Integer ? total : result;
+    }
+
+    private int shardFor(Object key) {
+        if (key instanceof Long id) {
+            return this.shardRouter.shardForId(id);
+        }
+        if (key instanceof CreateTaskRequest request) {
+            return this.shardRouter.shardForTask(request.id(), request.parentId(),
+                    request.owner() != null ? request.owner() : Task.DEFAULT_OWNER);
+        }
+
+        throw new IllegalStateException("Unsupported shard key " + key.getClass().getName());
+    }
+
+    private static int keyIndex(Method method) {
+        if (method.isAnnotationPresent(EachShard.class)) {
+            return EACH_SHARD;
+        }
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return i;
+                }
+            }
+        }
+
+        return NO_KEY;
+    }
+}
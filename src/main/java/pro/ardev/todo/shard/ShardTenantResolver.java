@@ -0,0 +1,20 @@
+package pro.ardev.todo.shard;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Uses the shard index as the Hibernate tenant identifier, which also keeps second-level and query cache
+ * entries of different shards apart.
+ */
+public class ShardTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return String.valueOf(ShardContext.current());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
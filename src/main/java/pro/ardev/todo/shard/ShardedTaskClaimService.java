@@ -0,0 +1,95 @@
+package pro.ardev.todo.shard;
+
+import pro.ardev.todo.config.TaskClaimProperties;
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.LeaseResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskClaimService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsLast;
+
+/**
+ * {@link TaskClaimService} spread over several databases.
+ * <p>
+ * A claim takes what it can from one shard and tops up from the next ones until it has {@code limit} tasks, each
+ * shard in a transaction of its own. Claims start on a different shard each time, so that no shard is drained
+ * first; the due-date order holds within a shard and for the tasks of one claim, not across claims. Heartbeats and
+ * releases go to the shard encoded in the id, and the reaper runs on every shard, see {@link EachShard}.
+ */
+public class ShardedTaskClaimService implements TaskClaimService {
+
+    private static final Comparator<TaskResponse> DUE_DATE_ORDER = Comparator
+            .comparing(TaskResponse::dueDate, nullsLast(naturalOrder()))
+            .thenComparingLong(TaskResponse::id);
+
+    private final TaskClaimService delegate;
+    private final ShardExecutor shardExecutor;
+    private final ShardRouter shardRouter;
+    private final TaskClaimProperties taskClaimProperties;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedTaskClaimService(TaskClaimService delegate, ShardExecutor shardExecutor,
+                                   TaskClaimProperties taskClaimProperties) {
+        this.delegate = delegate;
+        this.shardExecutor = shardExecutor;
+        this.shardRouter = shardExecutor.router();
+        this.taskClaimProperties = taskClaimProperties;
+    }
+
+    @Override
+    public ClaimResponse claimTasks(ClaimTasksRequest request) {
+        int limit = request.limit() == null ? this.taskClaimProperties.defaultLimit() : request.limit();
+        int shardCount = this.shardRouter.shardCount();
+        int first = Math.floorMod(this.nextShard.getAndIncrement(), shardCount);
+
+        List<TaskResponse> claimed = new ArrayList<>(limit);
+        LocalDateTime leaseExpiresAt = null;
+        for (int i = 0; i < shardCount && claimed.size() < limit; i++) {
+            ClaimTasksRequest shardRequest = ClaimTasksRequest.builder()
+                    .workerId(request.workerId())
+                    .limit(limit - claimed.size())
+                    .build();
+            ClaimResponse response = this.shardExecutor.write((first + i) % shardCount,
+                    () -> this.delegate.claimTasks(shardRequest));
+            claimed.addAll(response.tasks());
+            if (leaseExpiresAt == null || response.leaseExpiresAt() != null
+                    && response.leaseExpiresAt().isBefore(leaseExpiresAt)) {
+                leaseExpiresAt = response.leaseExpiresAt();
+            }
+        }
+        claimed.sort(DUE_DATE_ORDER);
+
+        return ClaimResponse.builder()
+                .workerId(request.workerId())
+                .leaseExpiresAt(leaseExpiresAt)
+                .tasks(claimed)
+                .build();
+    }
+
+    @Override
+    public LeaseResponse heartbeat(Long id, String workerId) {
+        return this.shardExecutor.write(this.shardRouter.shardForId(id),
+                () -> this.delegate.heartbeat(id, workerId));
+    }
+
+    @Override
+    public void release(Long id, String workerId) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.release(id, workerId);
+            return null;
+        });
+    }
+
+    @Override
+    public int reapExpiredLeases() {
+        return this.delegate.reapExpiredLeases();
+    }
+}
@@ -0,0 +1,413 @@
+package pro.ardev.todo.shard;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.model.enums.TaskStatus;
+import pro.ardev.todo.repository.TaskExamples;
+import pro.ardev.todo.repository.TaskOrdering;
+import pro.ardev.todo.repository.TaskProgress;
+import pro.ardev.todo.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * {@link TaskRepository} spread over several databases.
+ * <p>
+ * New tasks go to the shard of their id if given, else to that of their parent or series, else to that of their
+ * owner, and every other single-task call goes to the shard encoded in the id. List queries run on all shards in
+ * parallel; sorted results are merged by the same ordering the database uses, see {@link TaskOrdering}.
+ * <p>
+ * Writes join the caller's transaction, so a request has to be routed to its task's shard before it opens one,
+ * see {@link ShardRoutingAdvisor}; writing to another shard inside a transaction fails.
+ */
+public class ShardedTaskRepository implements TaskRepository {
+
+    private final TaskRepository delegate;
+    private final ShardExecutor shardExecutor;
+    private final ShardRouter shardRouter;
+
+    public ShardedTaskRepository(TaskRepository delegate, ShardExecutor shardExecutor) {
+        this.delegate = delegate;
+        this.shardExecutor = shardExecutor;
+        this.shardRouter = shardExecutor.router();
+    }
+
+    @Override
+    public List<Task> findByStatusIn(List<TaskStatus> statuses) {
+        return concat(this.shardExecutor.readAll(() -> this.delegate.findByStatusIn(statuses)));
+    }
+
+    @Override
+    public List<Task> findByStatusesAndTags(Collection<TaskStatus> statuses,
+                                            Collection<String> anyTags,
+                                            Collection<String> allTags) {
+        return concat(this.shardExecutor.readAll(
+                () -> this.delegate.findByStatusesAndTags(statuses, anyTags, allTags)));
+    }
+
+    @Override
+    public List<Object[]> findFields(Collection<TaskField> fields, Collection<TaskStatus> statuses, Sort sort) {
+        List<TaskField> columns = new ArrayList<>(fields);
+        for (Sort.Order order : sort) {
+            TaskField.fromAttribute(order.getProperty())
+                    .filter(field -> !columns.contains(field))
+                    .ifPresent(columns::add);
+        }
+
+        List<Object[]> rows = concat(this.shardExecutor.readAll(
+                () -> this.delegate.findFields(columns, statuses, sort)));
+        if (sort.isUnsorted()) {
+            return rows;
+        }
+
+        rows.sort(TaskOrdering.rowComparator(sort, columns));
+        if (columns.size() > fields.size()) {
+            rows.replaceAll(row -> Arrays.copyOf(row, fields.size()));
+        }
+
+        return rows;
+    }
+
+    @Override
+    public List<Task> findAll(Sort sort) {
+        List<Task> result = concat(this.shardExecutor.readAll(() -> this.delegate.findAll(sort)));
+        if (sort.isSorted()) {
+            result.sort(TaskOrdering.comparator(sort));
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<Task> findByRecurrenceIsNullAndDueDateBetween(LocalDateTime from, LocalDateTime to) {
+        return concat(this.shardExecutor.readAll(
+                () -> this.delegate.findByRecurrenceIsNullAndDueDateBetween(from, to)));
+    }
+
+    @Override
+    public List<Task> findByRecurrenceIsNotNullAndDueDateLessThanEqual(LocalDateTime to) {
+        return concat(this.shardExecutor.readAll(
+                () -> this.delegate.findByRecurrenceIsNotNullAndDueDateLessThanEqual(to)));
+    }
+
+    @Override
+    public List<Task> findBySeriesIdIsNotNullAndOccurrenceDateBetween(LocalDateTime from, LocalDateTime to) {
+        return concat(this.shardExecutor.readAll(
+                () -> this.delegate.findBySeriesIdIsNotNullAndOccurrenceDateBetween(from, to)));
+    }
+
+    /**
+     * Occurrences are stored with their series' owner, so they live on the series' shard.
+     */
+    @Override
+    public Optional<Task> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDateTime occurrenceDate) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(seriesId),
+                () -> this.delegate.findBySeriesIdAndOccurrenceDate(seriesId, occurrenceDate));
+    }
+
+    @Override
+    public List<Task> findBySeriesId(Long seriesId) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(seriesId),
+                () -> this.delegate.findBySeriesId(seriesId));
+    }
+
+    /**
+     * Subtasks are stored with their parent's owner, so a whole hierarchy lives on one shard.
+     */
+    @Override
+    public void linkToParent(long id, long parentId) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.linkToParent(id, parentId);
+            return null;
+        });
+    }
+
+    @Override
+    public void moveSubtree(long id, Long parentId) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.moveSubtree(id, parentId);
+            return null;
+        });
+    }
+
+    @Override
+    public void unlinkFromHierarchy(long id) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.unlinkFromHierarchy(id);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Task> findSubtree(long id) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(id), () -> this.delegate.findSubtree(id));
+    }
+
+    @Override
+    public List<Task> findAncestors(long id) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(id), () -> this.delegate.findAncestors(id));
+    }
+
+    @Override
+    public List<TaskProgress> findSubtreeProgress(long id) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(id),
+                () -> this.delegate.findSubtreeProgress(id));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return concat(this.shardExecutor.readAll(this.delegate::findAll));
+    }
+
+    @Override
+    public Page<Task> findAll(Pageable pageable) {
+        List<Task> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(id), () -> this.delegate.findById(id));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return this.shardExecutor.read(this.shardRouter.shardForId(id), () -> this.delegate.existsById(id));
+    }
+
+    @Override
+    public List<Task> findAllById(Iterable<Long> ids) {
+        List<Task> result = new ArrayList<>();
+        byShard(ids).forEach((shard, shardIds) ->
+                result.addAll(this.shardExecutor.read(shard, () -> this.delegate.findAllById(shardIds))));
+
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return this.shardExecutor.readAll(this.delegate::count).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public <S extends Task> S save(S entity) {
+        return this.shardExecutor.write(shardOf(entity), () -> this.delegate.save(entity));
+    }
+
+    @Override
+    public <S extends Task> S insert(S task) {
+        return this.shardExecutor.write(shardOf(task), () -> this.delegate.insert(task));
+    }
+
+    @Override
+    public void lockId(long id) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.lockId(id);
+            return null;
+        });
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAll(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        for (S entity : entities) {
+            result.add(save(entity));
+        }
+
+        return result;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        this.shardExecutor.write(this.shardRouter.shardForId(id), () -> {
+            this.delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(Task entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        for (Long id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> entities) {
+        for (Task entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (int shard = 0; shard < this.shardRouter.shardCount(); shard++) {
+            this.shardExecutor.write(shard, () -> {
+                this.delegate.deleteAll();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Writes only ever go to the current shard's session.
+     */
+    @Override
+    public void flush() {
+        this.delegate.flush();
+    }
+
+    @Override
+    public <S extends Task> S saveAndFlush(S entity) {
+        return this.shardExecutor.write(shardOf(entity), () -> this.delegate.saveAndFlush(entity));
+    }
+
+    @Override
+    public <S extends Task> List<S> saveAllAndFlush(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        for (S entity : entities) {
+            result.add(saveAndFlush(entity));
+        }
+
+        return result;
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Task> entities) {
+        List<Long> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(entity.getId()));
+        deleteAllByIdInBatch(ids);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        byShard(ids).forEach((shard, shardIds) -> this.shardExecutor.write(shard, () -> {
+            this.delegate.deleteAllByIdInBatch(shardIds);
+            return null;
+        }));
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        for (int shard = 0; shard < this.shardRouter.shardCount(); shard++) {
+            this.shardExecutor.write(shard, () -> {
+                this.delegate.deleteAllInBatch();
+                return null;
+            });
+        }
+    }
+
+    @Override
+    @Deprecated
+    public Task getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Task getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    /**
+     * Loads the task instead of returning a lazy proxy, which could not be initialized once the shard's session
+     * is closed.
+     */
+    @Override
+    public Task getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException(
+                String.format("Task with ID %d not found", id)));
+    }
+
+    @Override
+    public <S extends Task> Optional<S> findOne(Example<S> example) {
+        return Optional.ofNullable(findBy(example, FluentQuery.FetchableFluentQuery::oneValue));
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example) {
+        return concat(this.shardExecutor.readAll(() -> this.delegate.findAll(example)));
+    }
+
+    @Override
+    public <S extends Task> List<S> findAll(Example<S> example, Sort sort) {
+        return findBy(example, query -> query.sortBy(sort).all());
+    }
+
+    @Override
+    public <S extends Task> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return findBy(example, query -> query.page(pageable));
+    }
+
+    @Override
+    public <S extends Task> long count(Example<S> example) {
+        return this.shardExecutor.readAll(() -> this.delegate.count(example)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public <S extends Task> boolean exists(Example<S> example) {
+        return this.shardExecutor.readAll(() -> this.delegate.exists(example)).contains(true);
+    }
+
+    /**
+     * Gathers every shard's matches and runs the query over them, see {@link TaskExamples}.
+     */
+    @Override
+    public <S extends Task, R> R findBy(Example<S> example,
+                                       Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(TaskExamples.query(example, findAll(example)));
+    }
+
+    private int shardOf(Task task) {
+        return this.shardRouter.shardForTask(task.getId(),
+                task.getParentId() != null ? task.getParentId() : task.getSeriesId(),
+                task.getOwner() != null ? task.getOwner() : Task.DEFAULT_OWNER);
+    }
+
+    private Map<Integer, List<Long>> byShard(Iterable<? extends Long> ids) {
+        Map<Integer, List<Long>> result = new TreeMap<>();
+        for (Long id : ids) {
+            result.computeIfAbsent(this.shardRouter.shardForId(id), shard -> new ArrayList<>()).add(id);
+        }
+
+        return result;
+    }
+
+    private static <T> List<T> concat(List<List<T>> results) {
+        List<T> result = new ArrayList<>();
+        results.forEach(result::addAll);
+
+        return result;
+    }
+}
@@ -1,9 +1,21 @@
 package pro.ardev.todo.validator;
 
 import org.springframework.stereotype.Component;
+import pro.ardev.todo.exception.BadRequestException;
 import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.model.enums.TaskField;
+import pro.ardev.todo.recurrence.RecurrenceRule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toCollection;
 import static org.springframework.data.domain.Sort.Direction;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -11,10 +23,23 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @Component
 public class TaskValidator {
 
+    private static final Duration MAX_WINDOW = Duration.ofDays(366);
+
+    private static final int MAX_BATCH_IDS = 1_000;
+
     public void validate(Long id, boolean existsById) {
         if (!existsById) {
-            throw new ResourceNotFoundException(
-                    String.format("Task with ID %d not found", id));
+            throw ResourceNotFoundException.task(id);
+        }
+    }
+
+    /**
+     * Bounds a batch get, which binds every id as a statement parameter.
+     */
+    public void validateIds(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException(
+                    String.format("At most %d ids can be requested at once", MAX_BATCH_IDS));
         }
     }
 
@@ -37,4 +62,74 @@ public class TaskValidator {
                 ? DESC
                 : ASC;
     }
+
+    /**
+     * Blank names are skipped; no names at all select every field.
+     */
+    public Set<TaskField> validateFields(List<String> fields) {
+        Set<TaskField> result = EnumSet.noneOf(TaskField.class);
+        if (fields != null) {
+            for (String field : fields) {
+                String attribute = field.trim();
+                if (!attribute.isEmpty()) {
+                    result.add(TaskField.fromAttribute(attribute).orElseThrow(() -> new BadRequestException(
+                            String.format("Unknown field %s, expected any of %s", attribute, attributes()))));
+                }
+            }
+        }
+
+        return result.isEmpty()
+                ? EnumSet.allOf(TaskField.class)
+                : result;
+    }
+
+    /**
+     * Trims tags and drops blank and duplicate ones, keeping the first occurrence's position.
+     */
+    public List<String> normalizeTags(List<String> tags) {
+        if (tags == null) {
+            return new ArrayList<>();
+        }
+
+        return tags.stream()
+                .map(String::strip)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .collect(toCollection(ArrayList::new));
+    }
+
+    /**
+     * @return the parsed rule, or {@code null} for a task that does not recur
+     */
+    public RecurrenceRule validateRecurrence(String recurrence, LocalDateTime dueDate) {
+        if (recurrence == null) {
+            return null;
+        }
+        if (dueDate == null) {
+            throw new BadRequestException("A recurring task needs a due date");
+        }
+
+        try {
+            return RecurrenceRule.parse(recurrence);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Bounds the due-date window recurring tasks are expanded for.
+     */
+    public void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("dueFrom must not be after dueTo");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new BadRequestException(
+                    String.format("The due-date window must not exceed %d days", MAX_WINDOW.toDays()));
+        }
+    }
+
+    private static List<String> attributes() {
+        return Arrays.stream(TaskField.values()).map(TaskField::attribute).toList();
+    }
 }
@@ -0,0 +1,4 @@
+ALTER TABLE tasks
+    ADD COLUMN owner VARCHAR(255) NOT NULL DEFAULT 'default';
+
+CREATE INDEX idx_tasks_owner ON tasks (owner);
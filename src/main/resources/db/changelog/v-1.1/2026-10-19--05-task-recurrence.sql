@@ -0,0 +1,10 @@
+ALTER TABLE tasks
+    ADD COLUMN recurrence      VARCHAR(255),
+    ADD COLUMN series_id       BIGINT,
+    ADD COLUMN occurrence_date TIMESTAMP;
+
+CREATE INDEX idx_tasks_series_due_date ON tasks (due_date) WHERE recurrence IS NOT NULL;
+
+CREATE INDEX idx_tasks_occurrence_date ON tasks (occurrence_date) WHERE series_id IS NOT NULL;
+
+CREATE UNIQUE INDEX uq_tasks_series_occurrence ON tasks (series_id, occurrence_date) WHERE series_id IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Task ids are generated by the application from now on; existing ids stay as they are.
+ALTER TABLE tasks
+    ALTER COLUMN id DROP IDENTITY IF EXISTS;
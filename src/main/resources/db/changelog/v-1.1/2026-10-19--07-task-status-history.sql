@@ -0,0 +1,11 @@
+CREATE TABLE task_status_history
+(
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    task_id     BIGINT      NOT NULL,
+    from_status VARCHAR(20),
+    to_status   VARCHAR(20) NOT NULL,
+    changed_at  TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_task_status_history_task_id ON task_status_history (task_id, changed_at);
+CREATE INDEX idx_task_status_history_changed_at ON task_status_history (changed_at);
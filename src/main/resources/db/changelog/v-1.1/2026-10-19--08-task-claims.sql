@@ -0,0 +1,9 @@
+ALTER TABLE tasks
+    ADD COLUMN claimed_by       VARCHAR(100),
+    ADD COLUMN lease_expires_at TIMESTAMP;
+
+-- Claimable work in claim order; series templates are not work items themselves.
+CREATE INDEX idx_tasks_claimable ON tasks (due_date, id) WHERE status = 'TODO' AND recurrence IS NULL;
+
+CREATE INDEX idx_tasks_lease_expires_at ON tasks (lease_expires_at)
+    WHERE status = 'IN_PROGRESS' AND lease_expires_at IS NOT NULL;
@@ -0,0 +1,13 @@
+ALTER TABLE tasks ADD COLUMN parent_id BIGINT;
+
+-- Every ancestor-descendant pair at distance 1 or more. A task is not linked to itself, so tasks outside any
+-- hierarchy, including those written before it existed, have no rows here.
+CREATE TABLE task_closure
+(
+    ancestor_id   BIGINT  NOT NULL,
+    descendant_id BIGINT  NOT NULL,
+    depth         INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_task_closure_descendant ON task_closure (descendant_id, depth);
@@ -0,0 +1,22 @@
+-- Tasks created and completed per bucket, with the peak overdue backlog sampled within it. Hourly buckets are
+-- compacted into daily ones once they fall out of the hourly retention.
+CREATE TABLE task_rollups
+(
+    granularity  VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP   NOT NULL,
+    created      BIGINT      NOT NULL DEFAULT 0,
+    completed    BIGINT      NOT NULL DEFAULT 0,
+    overdue      BIGINT,
+    PRIMARY KEY (granularity, bucket_start)
+);
+
+-- Existing tasks by creation time and past completions as far as the status history goes back.
+INSERT INTO task_rollups (granularity, bucket_start, created, completed)
+SELECT 'HOUR', bucket_start, sum(created), sum(completed)
+FROM (SELECT date_trunc('hour', created_at) AS bucket_start, 1 AS created, 0 AS completed
+      FROM tasks
+      UNION ALL
+      SELECT date_trunc('hour', changed_at), 0, 1
+      FROM task_status_history
+      WHERE to_status = 'DONE') events
+GROUP BY bucket_start;
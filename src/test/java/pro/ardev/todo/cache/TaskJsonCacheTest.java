@@ -0,0 +1,82 @@
+package pro.ardev.todo.cache;
+
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.event.TaskChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pro.ardev.todo.model.enums.TaskChangeType.CREATED;
+import static pro.ardev.todo.model.enums.TaskChangeType.DELETED;
+import static pro.ardev.todo.model.enums.TaskChangeType.UPDATED;
+
+class TaskJsonCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 19, 8, 0);
+
+    private final TaskJsonCache cache = new TaskJsonCache(100);
+
+    @Test
+    void put_ShouldAccountForReplacedAndEvictedFragments() {
+        // When
+        this.cache.put(1L, UPDATED_AT, new byte[30]);
+        this.cache.put(2L, UPDATED_AT, new byte[20]);
+        this.cache.put(1L, UPDATED_AT.plusSeconds(1), new byte[10]);
+        long afterReplace = this.cache.usedBytes();
+        this.cache.evict(2L);
+        this.cache.evict(3L);
+
+        // Then
+        assertThat(afterReplace).isEqualTo(30);
+        assertThat(this.cache.usedBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void put_OverMaxBytes_ShouldShrinkBelowTheBound() {
+        // When
+        for (long id = 1; id <= 10; id++) {
+            this.cache.put(id, UPDATED_AT, new byte[30]);
+        }
+        this.cache.put(11L, UPDATED_AT, new byte[101]);
+
+        // Then
+        assertThat(this.cache.usedBytes()).isLessThanOrEqualTo(100);
+        assertThat(this.cache.get(11L, UPDATED_AT)).isNull();
+        long stored = LongStream.rangeClosed(1, 10)
+                .filter(id -> this.cache.get(id, UPDATED_AT) != null)
+                .count();
+        assertThat(stored * 30).isEqualTo(this.cache.usedBytes());
+    }
+
+    @Test
+    void get_WithDifferentUpdatedAt_ShouldMiss() {
+        // Given
+        byte[] json = {'{', '}'};
+        this.cache.put(1L, UPDATED_AT, json);
+
+        // When / Then
+        assertThat(this.cache.get(1L, UPDATED_AT)).isSameAs(json);
+        assertThat(this.cache.get(1L, UPDATED_AT.plusNanos(1))).isNull();
+        assertThat(this.cache.get(1L, null)).isNull();
+    }
+
+    @Test
+    void onTaskChanged_ShouldEvictUpdatedAndDeletedTasks() {
+        // Given
+        for (long id = 1; id <= 3; id++) {
+            this.cache.put(id, UPDATED_AT, new byte[10]);
+        }
+
+        // When
+        this.cache.onTaskChanged(new TaskChangedEvent(1L, CREATED));
+        this.cache.onTaskChanged(new TaskChangedEvent(2L, UPDATED));
+        this.cache.onTaskChanged(new TaskChangedEvent(3L, DELETED));
+
+        // Then
+        assertThat(this.cache.get(1L, UPDATED_AT)).isNotNull();
+        assertThat(this.cache.get(2L, UPDATED_AT)).isNull();
+        assertThat(this.cache.get(3L, UPDATED_AT)).isNull();
+        assertThat(this.cache.usedBytes()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,107 @@
+package pro.ardev.todo.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import pro.ardev.todo.json.TaskResponseJsonWriter;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class TaskJsonHttpMessageConverterTest {
+
+    private static final Type TASK_LIST = ResolvableType.forClassWithGenerics(List.class, TaskResponse.class).getType();
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 19, 8, 5, 9);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TaskJsonCache cache = new TaskJsonCache(1024 * 1024);
+    private final TaskJsonHttpMessageConverter converter =
+            new TaskJsonHttpMessageConverter(this.cache, new TaskResponseJsonWriter(this.objectMapper));
+
+    @Test
+    void write_SingleTask_ShouldMatchJacksonAndServeFromCacheAfterwards() throws IOException {
+        // Given
+        TaskResponse task = task(1L);
+
+        // When
+        byte[] miss = write(task, TaskResponse.class);
+        byte[] hit = write(task, TaskResponse.class);
+
+        // Then
+        assertThat(miss).isEqualTo(this.objectMapper.writeValueAsBytes(task));
+        assertThat(hit).isEqualTo(miss);
+        assertThat(this.cache.get(1L, UPDATED_AT)).isEqualTo(miss);
+    }
+
+    @Test
+    void write_List_ShouldMatchJackson() throws IOException {
+        // Given
+        List<TaskResponse> tasks = List.of(task(1L), task(2L), task(3L));
+        write(task(2L), TaskResponse.class);
+
+        // When / Then
+        assertThat(write(tasks, TASK_LIST)).isEqualTo(this.objectMapper.writeValueAsBytes(tasks));
+        assertThat(write(List.of(), TASK_LIST)).isEqualTo(this.objectMapper.writeValueAsBytes(List.of()));
+    }
+
+    @Test
+    void write_UnstoredOccurrence_ShouldBypassCache() throws IOException {
+        // Given
+        TaskResponse series = task(5L);
+        TaskResponse occurrence = TaskResponse.builder()
+                .id(5L)
+                .owner("default")
+                .title("Occurrence")
+                .status(TODO)
+                .seriesId(5L)
+                .occurrenceDate(UPDATED_AT.plusDays(1))
+                .createdAt(UPDATED_AT)
+                .updatedAt(UPDATED_AT)
+                .build();
+        write(series, TaskResponse.class);
+
+        // When
+        byte[] json = write(List.of(occurrence), TASK_LIST);
+
+        // Then
+        assertThat(json).isEqualTo(this.objectMapper.writeValueAsBytes(List.of(occurrence)));
+        assertThat(this.cache.get(5L, UPDATED_AT)).isEqualTo(this.objectMapper.writeValueAsBytes(series));
+    }
+
+    @Test
+    void canWrite_ShouldOnlyAcceptTaskResponsesAndTheirLists() {
+        assertThat(this.converter.canWrite(TaskResponse.class, TaskResponse.class, APPLICATION_JSON)).isTrue();
+        assertThat(this.converter.canWrite(TASK_LIST, List.class, APPLICATION_JSON)).isTrue();
+        assertThat(this.converter.canWrite(
+                ResolvableType.forClassWithGenerics(List.class, String.class).getType(), List.class,
+                APPLICATION_JSON)).isFalse();
+    }
+
+    private byte[] write(Object body, Type type) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        this.converter.write(body, type, APPLICATION_JSON, message);
+        return message.getBodyAsBytes();
+    }
+
+    private static TaskResponse task(long id) {
+        return TaskResponse.builder()
+                .id(id)
+                .owner("default")
+                .title("Task " + id)
+                .status(TODO)
+                .tags(List.of("work"))
+                .createdAt(UPDATED_AT)
+                .updatedAt(UPDATED_AT)
+                .build();
+    }
+}
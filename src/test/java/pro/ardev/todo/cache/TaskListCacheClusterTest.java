@@ -0,0 +1,132 @@
+package pro.ardev.todo.cache;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pro.ardev.todo.TodoApplication;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two application nodes on one embedded PostgreSQL. Lists are cached for an hour unless a notification drops them,
+ * so a node only sees rows written behind its back once it has been notified or has reconnected.
+ */
+@Tag("embedded-postgres")
+class TaskListCacheClusterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        first = startNode(1);
+        second = startNode(2);
+        await().atMost(Duration.ofSeconds(10)).until(() -> cache(first).isCoherent() && cache(second).isCoherent());
+    }
+
+    @AfterAll
+    static void stopNodes() throws IOException {
+        second.close();
+        first.close();
+        postgres.close();
+    }
+
+    @Test
+    void getAllTasks_ShouldDropCachedListWhenOtherNodeWrites() throws SQLException {
+        // Given
+        service(first).getAllTasks();
+        long unnotified = insertWithoutNotification(900_001L);
+        assertThat(ids(service(first).getAllTasks())).doesNotContain(unnotified);
+
+        // When
+        TaskResponse created = service(second).createTask(CreateTaskRequest.builder()
+                .title("Written on the second node")
+                .build());
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(ids(service(first).getAllTasks()))
+                        .contains(created.id(), unnotified));
+    }
+
+    @Test
+    void getAllTasks_WhenNotificationConnectionDrops_ShouldReloadAfterReconnect() throws SQLException {
+        // Given
+        service(first).getAllTasks();
+
+        // When
+        execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = '"
+                + TaskChangeNotificationListener.APPLICATION_NAME + "'");
+        await().atMost(Duration.ofSeconds(5)).pollInterval(Duration.ofMillis(10))
+                .until(() -> !cache(first).isCoherent());
+        long unnotified = insertWithoutNotification(900_002L);
+
+        // Then
+        await().atMost(Duration.ofSeconds(10)).until(() -> cache(first).isCoherent());
+        assertThat(ids(service(first).getAllTasks())).contains(unnotified);
+    }
+
+    /**
+     * Passed as arguments, since default properties would lose to {@code application.yml}.
+     */
+    private static ConfigurableApplicationContext startNode(int nodeId) {
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres",
+                        "--spring.r2dbc.username=postgres",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--todo.task-ids.node-id=" + nodeId,
+                        "--todo.cache.task-lists.enabled=true",
+                        "--todo.cache.task-lists.fallback-ttl=1h",
+                        "--todo.cache.task-lists.poll-interval=100ms",
+                        "--todo.cache.task-lists.reconnect-delay=1s");
+    }
+
+    private static long insertWithoutNotification(long id) throws SQLException {
+        execute("INSERT INTO tasks (id, owner, title, status, tags) VALUES (" + id + ", 'default', 'Unnotified', "
+                + "'TODO', ARRAY[]::text[])");
+        return id;
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<Long> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::id).toList();
+    }
+
+    private static TaskService service(ConfigurableApplicationContext context) {
+        return context.getBean(TaskService.class);
+    }
+
+    private static TaskListCache cache(ConfigurableApplicationContext context) {
+        return context.getBean(TaskListCache.class);
+    }
+}
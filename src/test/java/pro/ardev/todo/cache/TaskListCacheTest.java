@@ -0,0 +1,89 @@
+package pro.ardev.todo.cache;
+
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class TaskListCacheTest {
+
+    private static final List<TaskResponse> TASKS = List.of(TaskResponse.builder().id(1L).title("Task").build());
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final TaskListCache cache = new TaskListCache(true, Duration.ofSeconds(5), this.nanoTime::get);
+
+    @Test
+    void get_ShouldServeCachedListUntilInvalidated() {
+        // Given
+        TaskListCache.Key key = TaskListCache.Key.byStatus(List.of(TODO, DONE, TODO));
+
+        // When
+        this.cache.get(key, this::load);
+        List<TaskResponse> cached = this.cache.get(TaskListCache.Key.byStatus(List.of(DONE, TODO)), this::load);
+        this.cache.invalidateAll();
+        this.cache.get(key, this::load);
+
+        // Then
+        assertThat(cached).isSameAs(TASKS);
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotStoreList() {
+        // When
+        List<TaskResponse> loaded = this.cache.get(TaskListCache.Key.ALL, () -> {
+            this.cache.invalidateAll();
+            return load();
+        });
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+
+        // Then
+        assertThat(loaded).isSameAs(TASKS);
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    void get_WhenIncoherent_ShouldReloadAfterFallbackTtl() {
+        // Given
+        this.cache.setCoherent(false);
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+
+        // When
+        this.nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+        this.nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+
+        // Then
+        assertThat(this.loads).hasValue(2);
+    }
+
+    @Test
+    void setCoherent_ShouldDropListsLoadedWhileIncoherent() {
+        // Given
+        this.cache.setCoherent(false);
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+
+        // When
+        this.cache.setCoherent(true);
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+        this.nanoTime.addAndGet(Duration.ofHours(1).toNanos());
+        this.cache.get(TaskListCache.Key.ALL, this::load);
+
+        // Then
+        assertThat(this.loads).hasValue(2);
+    }
+
+    private List<TaskResponse> load() {
+        this.loads.incrementAndGet();
+        return TASKS;
+    }
+}
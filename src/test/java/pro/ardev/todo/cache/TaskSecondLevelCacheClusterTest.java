@@ -0,0 +1,121 @@
+package pro.ardev.todo.cache;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pro.ardev.todo.TodoApplication;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two application nodes on one embedded PostgreSQL with the default cache settings: the second-level cache on and
+ * the task list cache off. A node serves tasks from its own cache until another node's notification evicts them.
+ */
+@Tag("embedded-postgres")
+class TaskSecondLevelCacheClusterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        first = startNode(1);
+        second = startNode(2);
+        await().atMost(Duration.ofSeconds(10)).until(() -> listening(first) && listening(second));
+    }
+
+    @AfterAll
+    static void stopNodes() throws IOException {
+        second.close();
+        first.close();
+        postgres.close();
+    }
+
+    @Test
+    void getTaskById_ShouldServeRepeatedReadsFromSecondLevelCache() throws SQLException {
+        // Given
+        long id = service(first).createTask(CreateTaskRequest.builder().title("Cached").build()).id();
+        service(first).getTaskById(id);
+        long hits = statistics(first).getSecondLevelCacheHitCount();
+
+        // When
+        execute("UPDATE tasks SET title = 'Written behind the cache' WHERE id = " + id);
+
+        // Then
+        assertThat(service(first).getTaskById(id).title()).isEqualTo("Cached");
+        assertThat(statistics(first).getSecondLevelCacheHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void getTaskById_ShouldSeeUpdateFromOtherNode() {
+        // Given
+        long id = service(first).createTask(CreateTaskRequest.builder().title("Before").build()).id();
+        assertThat(service(first).getTaskById(id).title()).isEqualTo("Before");
+        assertThat(service(second).getTaskById(id).title()).isEqualTo("Before");
+
+        // When
+        service(second).updateTask(id, UpdateTaskRequest.builder().title("After").build());
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(service(first).getTaskById(id).title()).isEqualTo("After"));
+    }
+
+    /**
+     * Passed as arguments, since default properties would lose to {@code application.yml}.
+     */
+    private static ConfigurableApplicationContext startNode(int nodeId) {
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres",
+                        "--spring.r2dbc.username=postgres",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--todo.task-ids.node-id=" + nodeId,
+                        "--todo.cache.task-lists.poll-interval=100ms");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean listening(ConfigurableApplicationContext context) {
+        return context.getBean(TaskListCache.class).isCoherent();
+    }
+
+    private static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static TaskService service(ConfigurableApplicationContext context) {
+        return context.getBean(TaskService.class);
+    }
+}
@@ -0,0 +1,168 @@
+package pro.ardev.todo.concurrency;
+
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.exception.ServiceOverloadedException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter.Priority.BULK;
+import static pro.ardev.todo.concurrency.AdaptiveConcurrencyLimiter.Priority.SINGLE;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int CLIENTS = 64;
+
+    private static final int POOL_SIZE = 4;
+
+    private static final long QUERY_TIME = MILLISECONDS.toNanos(2);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void call_WhenLatencyRises_ShouldShrinkLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                20, 2, 100, 0.5, 2.0, 0.5, null, clock::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.call(SINGLE, () -> clock.addAndGet(MILLISECONDS.toNanos(1)));
+        }
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            limiter.call(SINGLE, () -> clock.addAndGet(MILLISECONDS.toNanos(10)));
+        }
+
+        // Then
+        assertThat(limiter.getLimit(SINGLE)).isEqualTo(2);
+        assertThat(limiter.getInFlight(SINGLE)).isZero();
+    }
+
+    @Test
+    void call_WhenOperationFails_ShouldReleasePermit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                1, 1, 10, 0.5, 2.0, 0.9, null, clock::get);
+
+        // When & Then
+        assertThatThrownBy(() -> limiter.call(SINGLE, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(limiter.getInFlight(SINGLE)).isZero();
+    }
+
+    @Test
+    void call_WithMixedSingleAndBulkTraffic_ShouldNotShedSingleTaskCalls() {
+        // Given
+        AtomicLong statements = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                20, 2, 100, 0.5, 2.0, 0.5, statements::get, clock::get);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            // a cache hit, a single-task read from the database and a full scan
+            limiter.call(SINGLE, () -> clock.addAndGet(MILLISECONDS.toNanos(1) / 100));
+            limiter.call(SINGLE, () -> {
+                statements.incrementAndGet();
+                return clock.addAndGet(MILLISECONDS.toNanos(1));
+            });
+            limiter.call(BULK, () -> {
+                statements.incrementAndGet();
+                return clock.addAndGet(MILLISECONDS.toNanos(50));
+            });
+        }
+
+        // Then
+        assertThat(limiter.getLimit(SINGLE)).isEqualTo(20);
+        assertThat(limiter.getLimit(BULK)).isEqualTo(10);
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire(SINGLE)).isTrue();
+        }
+    }
+
+    @Test
+    void call_WhenFastCallsFail_ShouldNotLowerBaseline() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                20, 2, 100, 0.5, 2.0, 0.5, null, clock::get);
+        limiter.call(SINGLE, () -> clock.addAndGet(MILLISECONDS.toNanos(10)));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> limiter.call(SINGLE, () -> {
+                throw new IllegalStateException("Task not found");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+        limiter.call(SINGLE, () -> clock.addAndGet(MILLISECONDS.toNanos(10)));
+
+        // Then
+        assertThat(limiter.getLimit(SINGLE)).isEqualTo(20);
+        assertThat(limiter.getInFlight(SINGLE)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldPrioritizeSingleTaskCallsOverBulk() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                4, 1, 10, 0.5, 2.0, 0.9, null, clock::get);
+
+        // When
+        boolean firstBulk = limiter.tryAcquire(BULK);
+        boolean secondBulk = limiter.tryAcquire(BULK);
+        boolean thirdBulk = limiter.tryAcquire(BULK);
+        boolean single = limiter.tryAcquire(SINGLE);
+
+        // Then
+        assertThat(firstBulk).isTrue();
+        assertThat(secondBulk).isTrue();
+        assertThat(thirdBulk).isFalse();
+        assertThat(single).isTrue();
+        assertThatThrownBy(() -> limiter.call(BULK, () -> null))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void tryAcquire_UnderDbQueueing_ShouldBoundWaitingCalls() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                30, 2, 40, 0.5, 2.0, 0.9, null, clock::get);
+
+        // When
+        int limitedWaiting = simulate(limiter);
+        int unlimitedWaiting = simulate(null);
+
+        // Then
+        assertThat(unlimitedWaiting).isEqualTo(CLIENTS - POOL_SIZE);
+        assertThat(limitedWaiting).isLessThanOrEqualTo(2 * POOL_SIZE);
+        assertThat(limiter.getLimit(SINGLE)).isLessThan(30);
+        assertThat(limiter.getInFlight(SINGLE)).isZero();
+    }
+
+    /**
+     * Each round every client issues one call against a pool of {@link #POOL_SIZE} connections, so the admitted
+     * calls queue for the pool and take proportionally longer. Clients join one per round, so the limiter sees
+     * the no-load latency before the pool saturates.
+     *
+     * @return the most calls waiting for a connection in a round once every client has joined
+     */
+    private static int simulate(AdaptiveConcurrencyLimiter limiter) {
+        int maxWaiting = 0;
+        for (int round = 0; round < 4 * CLIENTS; round++) {
+            int clients = Math.min(round + 1, CLIENTS);
+            int admitted = 0;
+            while (admitted < clients && (limiter == null || limiter.tryAcquire(SINGLE))) {
+                admitted++;
+            }
+            long latency = QUERY_TIME * ((admitted + POOL_SIZE - 1) / POOL_SIZE);
+            for (int i = 0; i < admitted && limiter != null; i++) {
+                limiter.release(SINGLE, latency);
+            }
+            if (clients == CLIENTS) {
+                maxWaiting = Math.max(maxWaiting, admitted - POOL_SIZE);
+            }
+        }
+        return maxWaiting;
+    }
+}
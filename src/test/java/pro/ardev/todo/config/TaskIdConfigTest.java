@@ -0,0 +1,45 @@
+package pro.ardev.todo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import pro.ardev.todo.id.TaskIdGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(TaskIdConfig.class, Properties.class);
+
+    @Test
+    void taskIdGenerator_WithoutNodeId_ShouldFailStartup() {
+        contextRunner.run(context -> assertThat(context)
+                .hasFailed()
+                .getFailure()
+                .rootCause()
+                .hasMessageContaining("todo.task-ids.node-id is not set"));
+    }
+
+    @Test
+    void taskIdGenerator_WithUnsetEnvironmentVariable_ShouldFailStartup() {
+        contextRunner.withPropertyValues("todo.task-ids.node-id=${TODO_NODE_ID_UNSET_IN_TESTS:}")
+                .run(context -> assertThat(context)
+                        .hasFailed()
+                        .getFailure()
+                        .rootCause()
+                        .hasMessageContaining("todo.task-ids.node-id is not set"));
+    }
+
+    @Test
+    void taskIdGenerator_WithNodeId_ShouldStart() {
+        contextRunner.withPropertyValues("todo.task-ids.node-id=3")
+                .run(context -> assertThat(context).hasSingleBean(TaskIdGenerator.class));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(TaskIdProperties.class)
+    static class Properties {
+    }
+}
@@ -0,0 +1,149 @@
+package pro.ardev.todo.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pro.ardev.todo.handler.GlobalExceptionHandler;
+import pro.ardev.todo.loader.TaskLoader;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.ratelimit.ClientKeyResolver;
+import pro.ardev.todo.service.IdempotencyService;
+import pro.ardev.todo.service.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Which handler a combination of query parameters reaches, and that parameters a handler cannot honor are refused.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private TaskLoader taskLoader;
+
+    @Mock
+    private ClientKeyResolver clientKeyResolver;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+                .build();
+    }
+
+    @Test
+    void getTasksByIds_ShouldReturnBatch() throws Exception {
+        // Given
+        when(taskService.getTasksByIds(List.of(1L, 2L))).thenReturn(new TaskBatchResponse(List.of(), List.of(1L, 2L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks").param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missingIds.length()").value(2));
+    }
+
+    @Test
+    void getTasksByIds_WithFields_ShouldRespondBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks").param("ids", "1").param("fields", "title"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("fields cannot be combined with ids"));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getAllTaskFields_ShouldSelectFields() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks").param("fields", "title"))
+                .andExpect(status().isOk());
+        verify(taskService).getAllTaskFields(List.of("title"));
+    }
+
+    @Test
+    void getTaskFieldsByStatus_WithTags_ShouldRespondBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks/filter").param("fields", "title").param("anyTags", "home"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("anyTags cannot be combined with fields"));
+        mockMvc.perform(get("/api/v1/tasks/filter").param("fields", "title").param("allTags", "home"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("allTags cannot be combined with fields"));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getTasksByStatus_WithTags_ShouldFilterByTags() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks/filter").param("statuses", "TODO").param("anyTags", "home"))
+                .andExpect(status().isOk());
+        verify(taskService).getTasksByStatusAndTags(List.of(TODO), List.of("home"), null);
+    }
+
+    @Test
+    void getTasksInWindow_SortedByOtherField_ShouldRespondBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks/sorted")
+                        .param("dueFrom", "2026-01-01T00:00:00")
+                        .param("dueTo", "2026-02-01T00:00:00")
+                        .param("sortBy", "status"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Tasks within dueFrom and dueTo are sorted by dueDate only"));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getTasksInWindow_WithFields_ShouldRespondBadRequest() throws Exception {
+        // When & Then
+        for (String path : List.of("/api/v1/tasks", "/api/v1/tasks/sorted")) {
+            mockMvc.perform(get(path)
+                            .param("dueFrom", "2026-01-01T00:00:00")
+                            .param("dueTo", "2026-02-01T00:00:00")
+                            .param("fields", "title"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("fields cannot be combined with dueFrom"));
+        }
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getTasksInWindow_SortedByDueDate_ShouldReturnWindow() throws Exception {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/tasks/sorted")
+                        .param("dueFrom", "2026-01-01T00:00:00")
+                        .param("dueTo", "2026-02-01T00:00:00")
+                        .param("sortBy", "dueDate")
+                        .param("direction", "DESC"))
+                .andExpect(status().isOk());
+        verify(taskService).getTasksInWindow(from, to, "DESC");
+    }
+}
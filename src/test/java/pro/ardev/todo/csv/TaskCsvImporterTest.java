@@ -0,0 +1,106 @@
+package pro.ardev.todo.csv;
+
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.model.response.ImportResponse;
+import pro.ardev.todo.model.response.RejectedRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCsvImporterTest {
+
+    private final TaskCsvImporter importer =
+            new TaskCsvImporter(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void importCsv_WhenRowsValid_ShouldWriteCopyRows() throws IOException {
+        // Given
+        String csv = """
+                title,description,due_date
+                Buy milk,,2999-01-01 10:00:00
+                "Say ""hi""\",""
+                Plain
+                """;
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        // When
+        ImportResponse response = importer.importCsv(input(csv), copy, new AtomicLong()::incrementAndGet);
+
+        // Then
+        assertThat(response.imported()).isEqualTo(3);
+        assertThat(response.rejected()).isZero();
+        assertThat(copy.toString(UTF_8)).isEqualTo("""
+                1,"Buy milk",,2999-01-01 10:00:00,TODO
+                2,"Say ""hi""\","",,TODO
+                3,"Plain",,,TODO
+                """);
+    }
+
+    @Test
+    void importCsv_WhenFirstRowIsTaskTitledTitle_ShouldImportIt() throws IOException {
+        // Given
+        String csv = """
+                Title,Not a header
+                Second
+                """;
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        // When
+        ImportResponse response = importer.importCsv(input(csv), copy, new AtomicLong()::incrementAndGet);
+
+        // Then
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(copy.toString(UTF_8)).isEqualTo("""
+                1,"Title","Not a header",,TODO
+                2,"Second",,,TODO
+                """);
+    }
+
+    @Test
+    void importCsv_WhenRowsInvalid_ShouldReportLinesAndSkipThem() throws IOException {
+        // Given
+        String csv = "Valid,\"spans\ntwo lines\"\n"
+                + ",no title\n"
+                + "\n"
+                + "Late,,2000-01-01 00:00:00\n"
+                + "Bad date,,tomorrow\n"
+                + "a,b,2999-01-01 00:00:00,extra\n"
+                + "x".repeat(256) + "\n";
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        // When
+        ImportResponse response = importer.importCsv(input(csv), copy, new AtomicLong()::incrementAndGet);
+
+        // Then
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(response.rejected()).isEqualTo(5);
+        assertThat(response.rejectedRows()).extracting(RejectedRow::line).containsExactly(3L, 5L, 6L, 7L, 8L);
+        assertThat(response.rejectedRows().get(0).reason()).isEqualTo("Title is mandatory");
+        assertThat(response.rejectedRows().get(1).reason()).isEqualTo("Due date must be in present or future");
+        assertThat(copy.toString(UTF_8)).isEqualTo("1,\"Valid\",\"spans\ntwo lines\",,TODO\n");
+    }
+
+    @Test
+    void importCsv_WhenManyRowsRejected_ShouldCapReport() throws IOException {
+        // Given
+        String csv = ",\n".repeat(TaskCsvImporter.MAX_REPORTED_REJECTIONS + 10);
+
+        // When
+        ImportResponse response = importer.importCsv(input(csv), new ByteArrayOutputStream(),
+                new AtomicLong()::incrementAndGet);
+
+        // Then
+        assertThat(response.rejected()).isEqualTo(TaskCsvImporter.MAX_REPORTED_REJECTIONS + 10);
+        assertThat(response.rejectedRows()).hasSize(TaskCsvImporter.MAX_REPORTED_REJECTIONS);
+    }
+
+    private static ByteArrayInputStream input(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(UTF_8));
+    }
+}
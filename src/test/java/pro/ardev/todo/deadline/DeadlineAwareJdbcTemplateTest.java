@@ -0,0 +1,58 @@
+package pro.ardev.todo.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.exception.DeadlineExceededException;
+
+import javax.sql.DataSource;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class DeadlineAwareJdbcTemplateTest {
+
+    private final DeadlineAwareJdbcTemplate jdbcTemplate = new DeadlineAwareJdbcTemplate(mock(DataSource.class));
+
+    private final Statement statement = mock(Statement.class);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void applyStatementSettings_WithDeadline_ShouldSetRemainingTimeRoundedUp() throws Exception {
+        // Given
+        RequestDeadline.set(Duration.ofMillis(2500));
+
+        // When
+        jdbcTemplate.applyStatementSettings(statement);
+
+        // Then
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void applyStatementSettings_WithoutDeadline_ShouldLeaveTimeoutUnset() throws Exception {
+        // When
+        jdbcTemplate.applyStatementSettings(statement);
+
+        // Then
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void applyStatementSettings_AfterDeadline_ShouldThrow() {
+        // Given
+        RequestDeadline.set(Duration.ofMillis(-1));
+
+        // When & Then
+        assertThatThrownBy(() -> jdbcTemplate.applyStatementSettings(statement))
+                .isInstanceOf(DeadlineExceededException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package pro.ardev.todo.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import pro.ardev.todo.config.DeadlineProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(new DeadlineProperties(
+            "X-Request-Timeout",
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(30),
+            Map.of("Endpoints.getSortedTasks", Duration.ofSeconds(2))));
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void preHandle_WithoutHeader_ShouldUseEndpointDefault() throws Exception {
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("getSortedTasks"));
+
+        // Then
+        assertThat(RequestDeadline.remaining()).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void preHandle_WithoutHeaderOrEndpointDefault_ShouldUseDefaultTimeout() throws Exception {
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("getTask"));
+
+        // Then
+        assertThat(RequestDeadline.remaining()).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void preHandle_WithSameMethodNameOnOtherController_ShouldUseDefaultTimeout() throws Exception {
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(),
+                new HandlerMethod(new OtherEndpoints(), OtherEndpoints.class.getMethod("getSortedTasks")));
+
+        // Then
+        assertThat(RequestDeadline.remaining()).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void preHandle_WithHeader_ShouldUseRequestedTimeoutCappedAtMax() throws Exception {
+        // Given
+        request.addHeader("X-Request-Timeout", "60000");
+
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("getTask"));
+
+        // Then
+        assertThat(RequestDeadline.remaining()).isBetween(Duration.ofSeconds(29), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void afterCompletion_ShouldClearDeadline() throws Exception {
+        // Given
+        interceptor.preHandle(request, new MockHttpServletResponse(), handler("getTask"));
+
+        // When
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("getTask"), null);
+
+        // Then
+        assertThat(RequestDeadline.remaining()).isNull();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    public static class Endpoints {
+
+        public void getSortedTasks() {
+        }
+
+        public void getTask() {
+        }
+    }
+
+    public static class OtherEndpoints {
+
+        public void getSortedTasks() {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package pro.ardev.todo.handler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import pro.ardev.todo.exception.DeadlineExceededException;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.model.response.ErrorResponse;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler(meterRegistry);
+
+    @Test
+    void handleResourceNotFound_ShouldRespondWithLazyMessageAndCountPerEndpoint() throws Exception {
+        // Given
+        ResourceNotFoundException e = ResourceNotFoundException.task(42L);
+
+        // When
+        ErrorResponse first = exceptionHandler.handleResourceNotFound(e, handler("getTask"));
+        exceptionHandler.handleResourceNotFound(e, handler("getTask"));
+        exceptionHandler.handleResourceNotFound(e, handler("deleteTask"));
+
+        // Then
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(first.status()).isEqualTo(404);
+        assertThat(first.message()).isEqualTo("Task with ID 42 not found");
+        assertThat(errors("Endpoints.getTask", "404")).isEqualTo(2);
+        assertThat(errors("Endpoints.deleteTask", "404")).isEqualTo(1);
+    }
+
+    @Test
+    void handleMethodArgumentNotValid_ShouldListFieldErrors() throws Exception {
+        // Given
+        BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "createTaskRequest");
+        bindingResult.addError(new FieldError("createTaskRequest", "title", "must not be blank"));
+        bindingResult.addError(new FieldError("createTaskRequest", "priority", "must be at most 5"));
+        HandlerMethod createTask = handler("createTask");
+        MethodParameter parameter = new MethodParameter(createTask.getMethod(), 0);
+
+        // When
+        ErrorResponse response = exceptionHandler.handleMethodArgumentNotValid(
+                new MethodArgumentNotValidException(parameter, bindingResult), createTask);
+
+        // Then
+        assertThat(response.status()).isEqualTo(400);
+        assertThat(response.message()).isEqualTo("title: must not be blank; priority: must be at most 5");
+        assertThat(errors("Endpoints.createTask", "400")).isEqualTo(1);
+    }
+
+    @Test
+    void handleMethodArgumentTypeMismatch_ShouldNameParameterAndValue() throws Exception {
+        // Given
+        HandlerMethod getTask = handler("getTask");
+        MethodArgumentTypeMismatchException e = new MethodArgumentTypeMismatchException(
+                "abc", Long.class, "id", new MethodParameter(getTask.getMethod(), 0), null);
+
+        // When
+        ErrorResponse response = exceptionHandler.handleMethodArgumentTypeMismatch(e, getTask);
+
+        // Then
+        assertThat(response.status()).isEqualTo(400);
+        assertThat(response.message()).isEqualTo("Invalid value 'abc' for parameter id");
+        assertThat(errors("Endpoints.getTask", "400")).isEqualTo(1);
+    }
+
+    @Test
+    void handleDeadlineExceeded_ShouldCountTimeoutsPerEndpoint() throws Exception {
+        // Given
+        DeadlineExceededException e = new DeadlineExceededException();
+
+        // When
+        ErrorResponse response = exceptionHandler.handleDeadlineExceeded(e, handler("getTask"));
+        exceptionHandler.handleDeadlineExceeded(e, handler("getTask"));
+
+        // Then
+        assertThat(response.status()).isEqualTo(504);
+        assertThat(meterRegistry.get("todo.requests.timed-out")
+                .tag("endpoint", "Endpoints.getTask")
+                .counter()
+                .count()).isEqualTo(2);
+        assertThat(errors("Endpoints.getTask", "504")).isEqualTo(2);
+    }
+
+    private double errors(String endpoint, String status) {
+        return meterRegistry.get("todo.requests.errors")
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .counter()
+                .count();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name, Object.class));
+    }
+
+    public static class Endpoints {
+
+        public void getTask(Object id) {
+        }
+
+        public void deleteTask(Object id) {
+        }
+
+        public void createTask(Object createTaskRequest) {
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package pro.ardev.todo.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.shard.ShardContext;
+import pro.ardev.todo.shard.ShardExecutor;
+import pro.ardev.todo.shard.ShardRouter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+
+@ExtendWith(MockitoExtension.class)
+class StatusHistoryWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<TaskStatusChangedEvent> written = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.batchUpdate(eq(StatusHistoryWriter.INSERT_SQL), anyList(), anyInt(),
+                        ArgumentMatchers.<ParameterizedPreparedStatementSetter<TaskStatusChangedEvent>>any()))
+                .thenAnswer(invocation -> {
+                    writing.countDown();
+                    if (!Thread.currentThread().getName().equals("status-history-writer")
+                            || released.await(5, TimeUnit.SECONDS)) {
+                        synchronized (written) {
+                            written.addAll(invocation.<Collection<TaskStatusChangedEvent>>getArgument(1));
+                        }
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void onStatusChanged_WhenRunning_ShouldWriteInBackgroundAndDrainOnStop() {
+        // Given
+        StatusHistoryWriter writer = writer(new StatusTransitionBuffer(100), OverflowPolicy.DROP);
+        writer.start();
+        released.countDown();
+
+        // When
+        for (long id = 1; id <= 50; id++) {
+            writer.onStatusChanged(transition(id));
+        }
+        writer.stop();
+
+        // Then
+        assertThat(written).extracting(TaskStatusChangedEvent::taskId).hasSize(50).isSorted();
+        assertThat(meterRegistry.counter("todo.status-history.written").count()).isEqualTo(50);
+    }
+
+    @Test
+    void onStatusChanged_WhenBufferFullAndDropping_ShouldCountDropped() throws InterruptedException {
+        // Given
+        StatusTransitionBuffer buffer = new StatusTransitionBuffer(1);
+        StatusHistoryWriter writer = writer(buffer, OverflowPolicy.DROP);
+        writer.start();
+        writer.onStatusChanged(transition(1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.onStatusChanged(transition(2));
+
+        // When
+        writer.onStatusChanged(transition(3));
+        released.countDown();
+        writer.stop();
+
+        // Then
+        assertThat(written).extracting(TaskStatusChangedEvent::taskId).containsExactly(1L, 2L);
+        assertThat(meterRegistry.counter("todo.status-history.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void onStatusChanged_WhenBufferFullAndCallerRuns_ShouldWriteOnCallingThread() throws InterruptedException {
+        // Given
+        StatusTransitionBuffer buffer = new StatusTransitionBuffer(1);
+        StatusHistoryWriter writer = writer(buffer, OverflowPolicy.CALLER_RUNS);
+        writer.start();
+        writer.onStatusChanged(transition(1));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.onStatusChanged(transition(2));
+
+        // When
+        writer.onStatusChanged(transition(3));
+
+        // Then
+        assertThat(written).extracting(TaskStatusChangedEvent::taskId).containsExactly(3L);
+        released.countDown();
+        writer.stop();
+        assertThat(written).extracting(TaskStatusChangedEvent::taskId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void onStatusChanged_WhenSharded_ShouldWriteEachTransitionOnShardOfItsTask() {
+        // Given
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ShardExecutor shardExecutor = new ShardExecutor(new ShardRouter(3, 64), transactionManager,
+                Executors.newSingleThreadExecutor());
+        Map<Long, Integer> writtenOn = new ConcurrentHashMap<>();
+        when(jdbcTemplate.batchUpdate(eq(StatusHistoryWriter.INSERT_SQL), anyList(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<TaskStatusChangedEvent>>any()))
+                .thenAnswer(invocation -> {
+                    invocation.<Collection<TaskStatusChangedEvent>>getArgument(1)
+                            .forEach(transition -> writtenOn.put(transition.taskId(), ShardContext.current()));
+                    return new int[0][];
+                });
+        StatusHistoryWriter writer = new StatusHistoryWriter(new StatusTransitionBuffer(100), jdbcTemplate,
+                transactionManager, shardExecutor, 10, Duration.ofMillis(20), OverflowPolicy.DROP,
+                Duration.ofSeconds(5), meterRegistry);
+        TaskIdGenerator taskIdGenerator = new TaskIdGenerator(0);
+        Map<Long, Integer> shards = new HashMap<>();
+        for (int i = 0; i < 9; i++) {
+            shards.put(taskIdGenerator.nextId(i % 3), i % 3);
+        }
+        writer.start();
+
+        // When
+        shards.keySet().forEach(taskId -> writer.onStatusChanged(transition(taskId)));
+        writer.stop();
+
+        // Then
+        assertThat(writtenOn).isEqualTo(shards);
+        assertThat(meterRegistry.counter("todo.status-history.written").count()).isEqualTo(9);
+    }
+
+    private StatusHistoryWriter writer(StatusTransitionBuffer buffer, OverflowPolicy overflowPolicy) {
+        return new StatusHistoryWriter(buffer, jdbcTemplate, transactionManager, null, 10, Duration.ofMillis(20),
+                overflowPolicy, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    private static TaskStatusChangedEvent transition(long taskId) {
+        return new TaskStatusChangedEvent(taskId, IN_PROGRESS, DONE, NOW);
+    }
+}
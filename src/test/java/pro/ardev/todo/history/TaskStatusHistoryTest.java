@@ -0,0 +1,133 @@
+package pro.ardev.todo.history;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.StatusTransitionResponse;
+import pro.ardev.todo.model.response.TimeInStatusResponse;
+import pro.ardev.todo.service.ReactiveTaskService;
+import pro.ardev.todo.service.TaskService;
+import pro.ardev.todo.service.TaskStatusHistoryService;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Runs the status history end to end on an embedded PostgreSQL: transitions of both services through the writer,
+ * and the time-in-status aggregates over a known history.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskStatusHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ReactiveTaskService reactiveTaskService;
+
+    @Autowired
+    private TaskStatusHistoryService taskStatusHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void getHistory_ShouldReturnTransitionsOfBothServices() throws InterruptedException {
+        // Given
+        long id = this.taskService.createTask(CreateTaskRequest.builder().title("Tracked").build()).id();
+        this.taskService.updateTask(id, UpdateTaskRequest.builder().status(IN_PROGRESS).build());
+        this.taskService.updateTask(id, UpdateTaskRequest.builder().title("Renamed").build());
+        this.reactiveTaskService.updateTask(id, UpdateTaskRequest.builder().status(DONE).build()).block();
+
+        // When
+        List<StatusTransitionResponse> history = awaitHistory(id, 3);
+
+        // Then
+        assertThat(history).extracting(StatusTransitionResponse::fromStatus).containsExactly(null, TODO, IN_PROGRESS);
+        assertThat(history).extracting(StatusTransitionResponse::toStatus).containsExactly(TODO, IN_PROGRESS, DONE);
+    }
+
+    @Test
+    void getTimeInStatus_ShouldAggregateStaysAndCycleTimes() {
+        // Given: task n starts an hour after creation and takes n hours, the fifth is still in progress
+        for (long n = 1; n <= 5; n++) {
+            long taskId = 1_000_000 + n;
+            LocalDateTime created = START.plusDays(n);
+            record(taskId, null, "TODO", created);
+            record(taskId, "TODO", "IN_PROGRESS", created.plusHours(1));
+            if (n < 5) {
+                record(taskId, "IN_PROGRESS", "DONE", created.plusHours(1 + n));
+            }
+        }
+
+        // When
+        TimeInStatusResponse response = this.taskStatusHistoryService.getTimeInStatus(START, START.plusMonths(1));
+
+        // Then
+        assertThat(response.timeInStatus().get(TODO).count()).isEqualTo(5);
+        assertThat(response.timeInStatus().get(TODO).p50Seconds()).isEqualTo(3600.0);
+        assertThat(response.timeInStatus().get(IN_PROGRESS).count()).isEqualTo(4);
+        assertThat(response.timeInStatus().get(IN_PROGRESS).averageSeconds()).isEqualTo(2.5 * 3600);
+        assertThat(response.timeInStatus()).doesNotContainKey(DONE);
+        assertThat(response.cycleTime().count()).isEqualTo(4);
+        assertThat(response.cycleTime().p50Seconds()).isEqualTo(2.5 * 3600);
+        assertThat(response.cycleTime().p99Seconds()).isCloseTo(3.97 * 3600, offset(1.0));
+    }
+
+    private void record(long taskId, String fromStatus, String toStatus, LocalDateTime changedAt) {
+        this.jdbcTemplate.update(
+                "INSERT INTO task_status_history (task_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?)",
+                taskId, fromStatus, toStatus, changedAt);
+    }
+
+    private List<StatusTransitionResponse> awaitHistory(long taskId, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        List<StatusTransitionResponse> history = this.taskStatusHistoryService.getHistory(taskId);
+        while (history.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            history = this.taskStatusHistoryService.getHistory(taskId);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,98 @@
+package pro.ardev.todo.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskIdGeneratorTest {
+
+    @Test
+    void nextId_FromManyThreads_ShouldBeUniqueAndIncreasingPerThread() throws Exception {
+        // Given
+        TaskIdGenerator generator = new TaskIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 100_000;
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int shard = t % TaskIdGenerator.MAX_SHARDS;
+            tasks.add(() -> {
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextId(shard);
+                }
+                return ids;
+            });
+        }
+
+        // When
+        List<long[]> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        }
+
+        // Then
+        Set<Long> unique = new HashSet<>();
+        for (int t = 0; t < threads; t++) {
+            long[] ids = results.get(t);
+            for (int i = 0; i < ids.length; i++) {
+                assertThat(TaskIdGenerator.isGenerated(ids[i])).isTrue();
+                assertThat(TaskIdGenerator.shardOf(ids[i])).isEqualTo(t % TaskIdGenerator.MAX_SHARDS);
+                if (i > 0) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                unique.add(ids[i]);
+            }
+        }
+        assertThat(unique).hasSize(threads * idsPerThread);
+    }
+
+    @Test
+    void nextId_WhenClockStandsStill_ShouldKeepIncreasing() {
+        // Given
+        Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+        TaskIdGenerator generator = new TaskIdGenerator(0, clock);
+
+        // When & Then
+        long previous = generator.nextId(0);
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextId(i % 2);
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_ShouldNotCollideWithIdentityIds() {
+        // Given
+        TaskIdGenerator generator = new TaskIdGenerator(0);
+
+        // When
+        long id = generator.nextId(0);
+
+        // Then
+        assertThat(id).isGreaterThan(1L << 62);
+        assertThat(TaskIdGenerator.isGenerated(42)).isFalse();
+        assertThat(TaskIdGenerator.isGenerated((2L << 48) + 1)).isFalse();
+    }
+
+    @Test
+    void constructor_WhenNodeOutOfRange_ShouldThrowException() {
+        assertThatThrownBy(() -> new TaskIdGenerator(TaskIdGenerator.MAX_NODE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,93 @@
+package pro.ardev.todo.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pro.ardev.todo.model.response.TaskResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class TaskResponseJsonWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 19, 8, 5, 9, 123_456_789);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final TaskResponseJsonWriter writer = new TaskResponseJsonWriter(this.objectMapper);
+
+    @Test
+    void write_ShouldMatchGoldenFile() throws IOException {
+        // Given
+        byte[] golden;
+        try (InputStream in = getClass().getResourceAsStream("/json/task-responses.json")) {
+            golden = in.readAllBytes();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        this.writer.write(responses(), out);
+
+        // Then
+        assertThat(out.toByteArray()).isEqualTo(golden);
+        assertThat(out.toByteArray()).isEqualTo(this.objectMapper.writeValueAsBytes(responses()));
+    }
+
+    @Test
+    void toBytes_ShouldMatchObjectMapperForEachTask() throws IOException {
+        for (TaskResponse response : responses()) {
+            // When
+            byte[] json = this.writer.toBytes(response);
+
+            // Then
+            assertThat(json).isEqualTo(this.objectMapper.writeValueAsBytes(response));
+        }
+    }
+
+    private static List<TaskResponse> responses() {
+        return List.of(
+                TaskResponse.builder()
+                        .id(1L)
+                        .owner("default")
+                        .title("Write report")
+                        .description("Quarterly numbers")
+                        .dueDate(LocalDateTime.of(2026, 11, 1, 17, 30))
+                        .status(TODO)
+                        .tags(List.of("work", "urgent"))
+                        .createdAt(CREATED_AT)
+                        .updatedAt(CREATED_AT.plusSeconds(61))
+                        .build(),
+                TaskResponse.builder()
+                        .id(4_611_686_018_427_387_905L)
+                        .owner("o\"wner\\")
+                        .title("Ünïcödé ✓ 🚀 </script>")
+                        .description("line\nbreak\ttab\u0001\u001f\u007f")
+                        .status(IN_PROGRESS)
+                        .tags(List.of())
+                        .recurrence("FREQ=WEEKLY;BYDAY=MO,WE")
+                        .createdAt(LocalDateTime.of(9999, 12, 31, 23, 59, 59))
+                        .updatedAt(LocalDateTime.of(1, 1, 1, 0, 0))
+                        .build(),
+                TaskResponse.builder()
+                        .id(3L)
+                        .owner("default")
+                        .title("Stand-up")
+                        .dueDate(LocalDateTime.of(2026, 10, 20, 9, 0))
+                        .status(DONE)
+                        .tags(List.of("routine"))
+                        .seriesId(2L)
+                        .occurrenceDate(LocalDateTime.of(2026, 10, 20, 9, 0))
+                        .parentId(1L)
+                        .createdAt(LocalDateTime.of(10_000, 1, 1, 0, 0))
+                        .updatedAt(LocalDateTime.of(0, 6, 15, 12, 0))
+                        .build(),
+                TaskResponse.builder().build());
+    }
+}
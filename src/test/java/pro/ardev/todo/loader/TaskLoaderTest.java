@@ -0,0 +1,115 @@
+package pro.ardev.todo.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pro.ardev.todo.config.TaskLoaderProperties;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.model.response.TaskBatchResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskLoaderTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(10);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void load_WhenTaskExists_ShouldReturnTask() {
+        // Given
+        TaskLoader taskLoader = new TaskLoader(taskService, new TaskLoaderProperties(Duration.ZERO, 100));
+        TaskResponse task = TaskResponse.builder().id(1L).build();
+        when(taskService.getTasksByIds(List.of(1L))).thenReturn(new TaskBatchResponse(List.of(task), List.of()));
+
+        // When & Then
+        assertThat(taskLoader.load(1L)).isEqualTo(task);
+    }
+
+    @Test
+    void load_WhenTaskMissing_ShouldThrowException() {
+        // Given
+        TaskLoader taskLoader = new TaskLoader(taskService, new TaskLoaderProperties(Duration.ZERO, 100));
+        when(taskService.getTasksByIds(List.of(999L))).thenReturn(new TaskBatchResponse(List.of(), List.of(999L)));
+
+        // When & Then
+        assertThatThrownBy(() -> taskLoader.load(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task with ID 999 not found");
+    }
+
+    @Test
+    void load_ConcurrentRequestsForSameId_ShouldQueryOnce() throws Exception {
+        // Given
+        TaskLoader taskLoader = new TaskLoader(taskService, new TaskLoaderProperties(Duration.ZERO, 100));
+        TaskResponse task = TaskResponse.builder().id(1L).build();
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getTasksByIds(List.of(1L))).thenAnswer(invocation -> {
+            release.await();
+            return new TaskBatchResponse(List.of(task), List.of());
+        });
+
+        // When
+        List<Future<TaskResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(() -> taskLoader.load(1L)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<TaskResponse> future : futures) {
+            assertThat(future.get()).isEqualTo(task);
+        }
+        verify(taskService, times(1)).getTasksByIds(anyList());
+    }
+
+    @Test
+    void load_DifferentIdsWithinWindow_ShouldBeBatchedIntoOneQuery() throws Exception {
+        // Given
+        TaskLoader taskLoader = new TaskLoader(taskService, new TaskLoaderProperties(Duration.ofMillis(500), 5));
+        when(taskService.getTasksByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return new TaskBatchResponse(
+                    ids.stream().map(id -> TaskResponse.builder().id(id).build()).toList(),
+                    List.of());
+        });
+
+        // When
+        List<Future<TaskResponse>> futures = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            long taskId = id;
+            futures.add(executor.submit(() -> taskLoader.load(taskId)));
+        }
+
+        // Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(futures.get(i).get().id()).isEqualTo(i + 1L);
+        }
+        verify(taskService, times(1)).getTasksByIds(anyList());
+    }
+}
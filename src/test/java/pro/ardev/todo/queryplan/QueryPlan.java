@@ -0,0 +1,39 @@
+package pro.ardev.todo.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The parts of an {@code EXPLAIN (FORMAT JSON)} result the regression suite compares.
+ *
+ * @param totalCost   the planner's estimated total cost of the root node
+ * @param indexes     the indexes any node scans
+ * @param sequentialScans the relations read by a sequential scan
+ */
+record QueryPlan(double totalCost, SortedSet<String> indexes, List<String> sequentialScans) {
+
+    static QueryPlan of(JsonNode explain) {
+        JsonNode root = explain.get(0).get("Plan");
+        SortedSet<String> indexes = new TreeSet<>();
+        List<String> sequentialScans = new ArrayList<>();
+        collect(root, indexes, sequentialScans);
+
+        return new QueryPlan(root.get("Total Cost").asDouble(), indexes, sequentialScans);
+    }
+
+    private static void collect(JsonNode node, SortedSet<String> indexes, List<String> sequentialScans) {
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, indexes, sequentialScans);
+        }
+    }
+}
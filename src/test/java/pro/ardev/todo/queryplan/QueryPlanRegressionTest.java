@@ -0,0 +1,379 @@
+package pro.ardev.todo.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.queryplan.StatementRecorder.RecordedStatement;
+import pro.ardev.todo.service.TaskService;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Runs every {@link TaskService} method against the Liquibase schema on an embedded PostgreSQL holding a skewed data
+ * set, and compares the statements it issues, the indexes their plans use and their estimated cost with
+ * {@code query-plans/baseline.json}. Run it with {@code gradle embeddedPostgresTest}; add
+ * {@code -PrecordQueryPlans=true} to rewrite the baseline after an intended change.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@TestInstance(PER_CLASS)
+@SpringBootTest(webEnvironment = NONE)
+class QueryPlanRegressionTest {
+
+    private static final Path BASELINE = Path.of("src/test/resources/query-plans/baseline.json");
+    private static final boolean RECORD = Boolean.getBoolean("query-plans.record");
+    private static final double COST_TOLERANCE = 1.25;
+    private static final int TASKS = 100_000;
+    private static final int SERIES = 200;
+    private static final int HIERARCHY = 4_095;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, MethodPlan> RECORDED = new TreeMap<>();
+
+    private static EmbeddedPostgres postgres;
+    private static JsonNode baseline;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+        registry.add("spring.jpa.properties.hibernate.cache.use_second_level_cache", () -> "false");
+        registry.add("spring.jpa.properties.hibernate.cache.use_query_cache", () -> "false");
+    }
+
+    @BeforeAll
+    static void loadBaseline() throws IOException {
+        baseline = Files.exists(BASELINE) ? OBJECT_MAPPER.readTree(BASELINE.toFile()) : OBJECT_MAPPER.createObjectNode();
+    }
+
+    @BeforeAll
+    void seed() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // 80% done, 15% todo, 5% in progress; due dates spread over two years, 5% without one
+            statement.execute("""
+                    INSERT INTO tasks (id, owner, title, description, due_date, status, tags)
+                    SELECT i, 'owner-' || (i %% 50), 'Task ' || i, 'Description ' || i,
+                           CASE WHEN i %% 20 = 0 THEN NULL
+                                ELSE now()::timestamp - interval '1 year' + (i %% 730) * interval '1 day' END,
+                           CASE WHEN i %% 20 < 16 THEN 'DONE' WHEN i %% 20 < 19 THEN 'TODO' ELSE 'IN_PROGRESS' END,
+                           CASE WHEN i %% 500 = 0 THEN ARRAY['urgent', 'work']
+                                WHEN i %% 3 = 0 THEN ARRAY['work']
+                                WHEN i %% 3 = 1 THEN ARRAY['home']
+                                ELSE ARRAY[]::text[] END
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(TASKS));
+            statement.execute("""
+                    INSERT INTO tasks (id, owner, title, due_date, status, tags, recurrence)
+                    SELECT %1$d + i, 'default', 'Series ' || i,
+                           date_trunc('day', now()::timestamp) - (i %% 30) * interval '1 day',
+                           'TODO', ARRAY['routine'], CASE WHEN i %% 2 = 0 THEN 'FREQ=DAILY' ELSE 'FREQ=WEEKLY' END
+                    FROM generate_series(1, %2$d) AS i
+                    """.formatted(TASKS, SERIES));
+            statement.execute("""
+                    INSERT INTO tasks (id, owner, title, due_date, status, tags, series_id, occurrence_date)
+                    SELECT %1$d + %2$d + i, 'default', 'Occurrence ' || i, now()::timestamp + interval '1 day',
+                           'DONE', ARRAY['routine'], %1$d + i, date_trunc('day', now()::timestamp) + interval '1 day'
+                    FROM generate_series(1, %2$d, 2) AS i
+                    """.formatted(TASKS, SERIES));
+            // a binary tree over the first tasks, the closure table derived from it
+            statement.execute("UPDATE tasks SET parent_id = id / 2 WHERE id BETWEEN 2 AND %d".formatted(HIERARCHY));
+            statement.execute("""
+                    INSERT INTO task_closure (ancestor_id, descendant_id, depth)
+                    WITH RECURSIVE paths AS (
+                        SELECT parent_id AS ancestor_id, id AS descendant_id, 1 AS depth
+                        FROM tasks WHERE parent_id IS NOT NULL
+                        UNION ALL
+                        SELECT t.parent_id, p.descendant_id, p.depth + 1
+                        FROM paths p JOIN tasks t ON t.id = p.ancestor_id
+                        WHERE t.parent_id IS NOT NULL
+                    )
+                    SELECT ancestor_id, descendant_id, depth FROM paths
+                    """);
+            statement.execute("ANALYZE tasks");
+            statement.execute("ANALYZE task_closure");
+        }
+    }
+
+    @AfterAll
+    static void writeBaseline() throws IOException {
+        try {
+            if (RECORD) {
+                ObjectNode root = OBJECT_MAPPER.createObjectNode();
+                RECORDED.forEach((method, plan) -> root.set(method, plan.toJson()));
+                OBJECT_MAPPER.writeValue(BASELINE.toFile(), root);
+            }
+        } finally {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void getAllTasks() {
+        check("getAllTasks", () -> this.taskService.getAllTasks());
+    }
+
+    @Test
+    void getTaskById() {
+        check("getTaskById", () -> this.taskService.getTaskById(4242L));
+    }
+
+    @Test
+    void getTasksByIds() {
+        check("getTasksByIds", () -> this.taskService.getTasksByIds(List.of(1L, 2L, 3L, 99L, 500L)));
+    }
+
+    @Test
+    void getTasksByStatus() {
+        check("getTasksByStatus", () -> this.taskService.getTasksByStatus(List.of(IN_PROGRESS)));
+    }
+
+    @Test
+    void getTasksByStatusAndTags() {
+        check("getTasksByStatusAndTags",
+                () -> this.taskService.getTasksByStatusAndTags(List.of(TODO, DONE), List.of("urgent"), null));
+    }
+
+    @Test
+    void getSortedTasks() {
+        check("getSortedTasks", () -> this.taskService.getSortedTasks("dueDate", "asc"));
+    }
+
+    @Test
+    void getTaskFieldsByStatus() {
+        check("getTaskFieldsByStatus",
+                () -> this.taskService.getTaskFieldsByStatus(List.of("id", "title"), List.of(IN_PROGRESS)));
+    }
+
+    @Test
+    void getTasksInWindow() {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(DAYS);
+        check("getTasksInWindow", () -> this.taskService.getTasksInWindow(from, from.plusDays(7), "asc"));
+    }
+
+    @Test
+    void getSubtree() {
+        check("getSubtree", () -> this.taskService.getSubtree(2L));
+    }
+
+    @Test
+    void getAncestors() {
+        check("getAncestors", () -> this.taskService.getAncestors((long) HIERARCHY));
+    }
+
+    @Test
+    void getSubtreeProgress() {
+        check("getSubtreeProgress", () -> this.taskService.getSubtreeProgress(2L));
+    }
+
+    @Test
+    void createTask() {
+        CreateTaskRequest request = CreateTaskRequest.builder()
+                .title("New task")
+                .dueDate(LocalDateTime.now().plusDays(3))
+                .tags(List.of("work"))
+                .build();
+        checkRolledBack("createTask", () -> this.taskService.createTask(request));
+    }
+
+    @Test
+    void updateTask() {
+        checkRolledBack("updateTask", () -> this.taskService.updateTask(4242L, update("Updated task")));
+    }
+
+    @Test
+    void updateOccurrence() {
+        LocalDateTime occurrence = LocalDateTime.now().truncatedTo(DAYS).plusDays(1);
+        checkRolledBack("updateOccurrence",
+                () -> this.taskService.updateOccurrence(TASKS + 2L, occurrence, update("Moved occurrence")));
+    }
+
+    @Test
+    void deleteTaskById() {
+        checkRolledBack("deleteTaskById", () -> this.taskService.deleteTaskById(TASKS + 1L));
+    }
+
+    private static UpdateTaskRequest update(String title) {
+        return UpdateTaskRequest.builder()
+                .title(title)
+                .dueDate(LocalDateTime.now().plusDays(2))
+                .status(IN_PROGRESS)
+                .tags(List.of("work"))
+                .build();
+    }
+
+    private void checkRolledBack(String method, Runnable action) {
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+        check(method, () -> transaction.executeWithoutResult(status -> {
+            action.run();
+            status.flush();
+            status.setRollbackOnly();
+        }));
+    }
+
+    private void check(String method, Runnable action) {
+        List<RecordedStatement> statements = this.recorder.record(action);
+        MethodPlan actual = explain(statements);
+        RECORDED.put(method, actual);
+        if (RECORD) {
+            return;
+        }
+
+        JsonNode expected = baseline.get(method);
+        if (expected == null) {
+            fail("No baseline for %s, record one with -PrecordQueryPlans=true; statements: %s", method, statements);
+        }
+        assertThat(actual.statements())
+                .as("statements issued by %s", method)
+                .isLessThanOrEqualTo(expected.get("statements").asInt());
+        for (JsonNode index : expected.get("indexes")) {
+            assertThat(actual.indexes())
+                    .as("indexes used by %s, sequential scans: %s", method, actual.sequentialScans())
+                    .contains(index.asText());
+        }
+        assertThat(actual.cost())
+                .as("estimated cost of %s", method)
+                .isLessThanOrEqualTo(expected.get("cost").asDouble() * COST_TOLERANCE);
+    }
+
+    private MethodPlan explain(List<RecordedStatement> statements) {
+        SortedSet<String> indexes = new TreeSet<>();
+        List<String> sequentialScans = new ArrayList<>();
+        double cost = 0;
+        try (Connection connection = this.dataSource.getConnection()) {
+            for (RecordedStatement statement : statements) {
+                QueryPlan plan = explain(connection, statement);
+                indexes.addAll(plan.indexes());
+                sequentialScans.addAll(plan.sequentialScans());
+                cost += plan.totalCost();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not explain " + statements, e);
+        }
+
+        return new MethodPlan(statements.size(), indexes, sequentialScans, Math.round(cost * 100) / 100.0);
+    }
+
+    private static QueryPlan explain(Connection connection, RecordedStatement statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            for (ParameterSetOperation parameter : statement.parameters()) {
+                parameter.getMethod().invoke(explain, parameter.getArgs());
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return QueryPlan.of(OBJECT_MAPPER.readTree(resultSet.getString(1)));
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not bind the parameters of " + statement.sql(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record MethodPlan(int statements, SortedSet<String> indexes, List<String> sequentialScans, double cost) {
+
+        ObjectNode toJson() {
+            ObjectNode node = OBJECT_MAPPER.createObjectNode();
+            node.put("statements", this.statements);
+            this.indexes.forEach(node.putArray("indexes")::add);
+            node.put("cost", this.cost);
+
+            return node;
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(
+                ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name(beanName)
+                                .listener(recorder.getObject())
+                                .build();
+                    }
+
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package pro.ardev.todo.queryplan;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects the SQL statements, with their bound parameters, executed while {@link #record(Runnable)} runs.
+ * Statements that cannot be explained, such as {@code SET}, are not collected.
+ */
+class StatementRecorder implements QueryExecutionListener {
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private volatile boolean recording;
+
+    synchronized List<RecordedStatement> record(Runnable action) {
+        this.statements.clear();
+        this.recording = true;
+        try {
+            action.run();
+        } finally {
+            this.recording = false;
+        }
+
+        return List.copyOf(this.statements);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!this.recording) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            if (!isExplainable(query.getQuery())) {
+                continue;
+            }
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            if (parameterSets.isEmpty()) {
+                this.statements.add(new RecordedStatement(query.getQuery(), List.of()));
+            }
+            for (List<ParameterSetOperation> parameters : parameterSets) {
+                this.statements.add(new RecordedStatement(query.getQuery(), List.copyOf(parameters)));
+            }
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String keyword = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "with" -> true;
+            default -> false;
+        };
+    }
+
+    record RecordedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+}
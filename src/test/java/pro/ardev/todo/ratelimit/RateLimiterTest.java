@@ -0,0 +1,163 @@
+package pro.ardev.todo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tryAcquire_WithinBurst_ShouldAllowRequests() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 5, 100, clock::get);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("client", 1)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("client", 1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_AfterRefill_ShouldAllowRequestAgain() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 1, 100, clock::get);
+        rateLimiter.tryAcquire("client", 1);
+
+        // When
+        long wait = rateLimiter.tryAcquire("client", 1);
+        clock.addAndGet(wait);
+
+        // Then
+        assertThat(wait).isEqualTo(MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.tryAcquire("client", 1)).isZero();
+    }
+
+    @Test
+    void tryAcquire_WithHigherCost_ShouldConsumeMorePermits() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 10, 100, clock::get);
+
+        // When & Then
+        assertThat(rateLimiter.tryAcquire("client", 10)).isZero();
+        assertThat(rateLimiter.tryAcquire("client", 1)).isPositive();
+        assertThat(rateLimiter.tryAcquire("other", 1)).isZero();
+    }
+
+    @Test
+    void tryAcquire_WhenClientTableFull_ShouldEvictBuckets() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 10, 3, clock::get);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("client-" + i, 1);
+        }
+
+        // Then
+        assertThat(rateLimiter.clientCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void tryAcquire_WhenFloodedWithNewKeys_ShouldKeepThrottlingClients() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(1, 2, 3, clock::get);
+        rateLimiter.tryAcquire("client", 2);
+
+        // When
+        int granted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (rateLimiter.tryAcquire("rotated-" + i, 1) == 0) {
+                granted++;
+            }
+        }
+
+        // Then
+        assertThat(rateLimiter.tryAcquire("client", 1)).isPositive();
+        assertThat(rateLimiter.clientCount()).isLessThanOrEqualTo(3);
+        // every key gets a bucket of its own, but none outlives the flood
+        assertThat(granted).isEqualTo(1_000);
+    }
+
+    @Test
+    void tryAcquire_AfterFloodOfRotatedKeys_ShouldGiveNewClientItsOwnQuota() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(1, 3, 100, clock::get);
+        for (int i = 0; i < 10_000; i++) {
+            String key = "rotated-" + i;
+            while (rateLimiter.tryAcquire(key, 1) == 0) {
+                // spend the whole burst of every key
+            }
+        }
+
+        // When
+        int granted = 0;
+        for (int i = 0; i < 4; i++) {
+            if (rateLimiter.tryAcquire("honest", 1) == 0) {
+                granted++;
+            }
+        }
+
+        // Then
+        assertThat(granted).isEqualTo(3);
+        assertThat(rateLimiter.clientCount()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void tryAcquire_AfterBucketsRefill_ShouldFreeTheirSlots() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(10, 1, 2, clock::get);
+        rateLimiter.tryAcquire("first", 1);
+        rateLimiter.tryAcquire("second", 1);
+
+        // When
+        clock.addAndGet(MILLISECONDS.toNanos(1_000));
+        rateLimiter.tryAcquire("third", 1);
+
+        // Then
+        assertThat(rateLimiter.clientCount()).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("third", 1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_UnderContention_ShouldNeverGrantMoreThanBurst() throws Exception {
+        // Given
+        int burst = 1_000;
+        RateLimiter rateLimiter = new RateLimiter(1, burst, 100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Callable<Integer> worker = () -> {
+            int granted = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (rateLimiter.tryAcquire("client", 1) == 0) {
+                    granted++;
+                }
+            }
+            return granted;
+        };
+
+        // When
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(worker));
+        }
+        int granted = 0;
+        for (Future<Integer> future : futures) {
+            granted += future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(granted).isEqualTo(burst);
+    }
+}
@@ -0,0 +1,85 @@
+package pro.ardev.todo.recurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Test
+    void occurrences_Weekly_ShouldSkipToWindowAndHonorCount() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;COUNT=7");
+
+        // When
+        List<LocalDateTime> result = rule.occurrences(START, LocalDateTime.of(2026, 1, 20, 0, 0),
+                LocalDateTime.of(2026, 12, 31, 0, 0), 100);
+
+        // Then
+        assertThat(result).containsExactly(
+                LocalDateTime.of(2026, 1, 26, 9, 0),
+                LocalDateTime.of(2026, 1, 29, 9, 0),
+                LocalDateTime.of(2026, 2, 9, 9, 0),
+                LocalDateTime.of(2026, 2, 12, 9, 0));
+    }
+
+    @Test
+    void occurrences_Monthly_ShouldSkipMonthsWithoutTheDay() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3");
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 9, 0);
+
+        // When
+        List<LocalDateTime> result = rule.occurrences(start, start, start.plusYears(1), 100);
+
+        // Then
+        assertThat(result).containsExactly(
+                start,
+                LocalDateTime.of(2026, 3, 31, 9, 0),
+                LocalDateTime.of(2026, 5, 31, 9, 0));
+    }
+
+    @Test
+    void occurrences_ShouldMatchFullExpansionForAnyWindow() {
+        // Given
+        List<RecurrenceRule> rules = List.of(
+                RecurrenceRule.parse("FREQ=DAILY;INTERVAL=5;COUNT=100"),
+                RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=TU,SA,SU;UNTIL=20270601"),
+                RecurrenceRule.parse("freq=weekly;interval=3"));
+        LocalDateTime end = START.plusYears(2);
+
+        for (RecurrenceRule rule : rules) {
+            List<LocalDateTime> all = rule.occurrences(START, START, end, Integer.MAX_VALUE);
+            for (int offset = 0; offset < 700; offset += 37) {
+                LocalDateTime from = START.plusDays(offset).plusHours(5);
+                LocalDateTime to = from.plusDays(60);
+
+                // When
+                List<LocalDateTime> window = rule.occurrences(START, from, to, Integer.MAX_VALUE);
+
+                // Then
+                assertThat(window).containsExactlyElementsOf(all.stream()
+                        .filter(date -> !date.isBefore(from) && !date.isAfter(to))
+                        .toList());
+            }
+        }
+    }
+
+    @Test
+    void parse_ShouldRejectUnsupportedRules() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=YEARLY"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=0"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
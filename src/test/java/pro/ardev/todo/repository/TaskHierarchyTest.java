@@ -0,0 +1,192 @@
+package pro.ardev.todo.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskProgressResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+
+/**
+ * Checks the closure table against a recursive query over {@code parent_id}, which it replaces, for deep and wide
+ * trees as they are created, moved and deleted.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskHierarchyTest {
+
+    private static final int CHAIN_DEPTH = 40;
+    private static final int BRANCHES = 10;
+    private static final int LEAVES = 5;
+
+    private static final String CLOSURE_SQL = """
+            SELECT ancestor_id || '>' || descendant_id || '@' || depth
+            FROM task_closure
+            ORDER BY ancestor_id, descendant_id""";
+
+    private static final String RECURSIVE_SQL = """
+            WITH RECURSIVE paths AS (
+                SELECT parent_id AS ancestor_id, id AS descendant_id, 1 AS depth
+                FROM tasks
+                WHERE parent_id IS NOT NULL
+                UNION ALL
+                SELECT t.parent_id, p.descendant_id, p.depth + 1
+                FROM paths p
+                JOIN tasks t ON t.id = p.ancestor_id
+                WHERE t.parent_id IS NOT NULL
+            )
+            SELECT ancestor_id || '>' || descendant_id || '@' || depth
+            FROM paths
+            ORDER BY ancestor_id, descendant_id""";
+
+    private static final String RECURSIVE_SUBTREE_SQL = """
+            WITH RECURSIVE subtree AS (
+                SELECT id FROM tasks WHERE id = ?
+                UNION ALL
+                SELECT t.id FROM tasks t JOIN subtree s ON t.parent_id = s.id
+            )
+            SELECT id FROM subtree ORDER BY id""";
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        this.jdbcTemplate.update("DELETE FROM task_closure");
+        this.jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void hierarchy_WhenTreesAreBuiltAndMoved_ShouldMatchRecursiveQuery() {
+        // Given
+        List<Long> chain = createChain();
+        long wideRoot = create(null).id();
+        List<Long> branches = new ArrayList<>();
+        for (int b = 0; b < BRANCHES; b++) {
+            long branch = create(wideRoot).id();
+            branches.add(branch);
+            for (int l = 0; l < LEAVES; l++) {
+                long leaf = create(branch).id();
+                if (l % 2 == 0) {
+                    this.taskService.updateTask(leaf, UpdateTaskRequest.builder().status(DONE).build());
+                }
+            }
+        }
+        assertClosureMatchesRecursiveQuery();
+
+        // When
+        long middle = chain.get(CHAIN_DEPTH / 2);
+        this.taskService.moveTask(middle, new MoveTaskRequest(branches.get(3)));
+        this.taskService.moveTask(branches.get(5), new MoveTaskRequest(null));
+
+        // Then
+        assertClosureMatchesRecursiveQuery();
+        for (long id : List.of(chain.getFirst(), middle, chain.getLast(), wideRoot, branches.get(3), branches.get(5))) {
+            assertThat(this.taskService.getSubtree(id)).extracting(TaskResponse::id)
+                    .containsExactlyInAnyOrderElementsOf(recursiveSubtree(id));
+        }
+        List<Long> ancestors = new ArrayList<>(List.of(wideRoot, branches.get(3)));
+        ancestors.addAll(chain.subList(CHAIN_DEPTH / 2, CHAIN_DEPTH - 1));
+        assertThat(this.taskService.getAncestors(chain.getLast())).extracting(TaskResponse::id)
+                .containsExactlyElementsOf(ancestors);
+
+        List<TaskProgressResponse> progress = this.taskService.getSubtreeProgress(wideRoot);
+        TaskProgressResponse root = progress.getFirst();
+        assertThat(root.taskId()).isEqualTo(wideRoot);
+        assertThat(root.total()).isEqualTo(recursiveSubtree(wideRoot).size());
+        assertThat(root.done()).isEqualTo((BRANCHES - 1) * ((LEAVES + 1) / 2));
+        assertThat(progress).hasSize(recursiveSubtree(wideRoot).size());
+    }
+
+    @Test
+    void hierarchy_WhenSubtreeIsDeleted_ShouldRemoveTasksAndLinks() {
+        // Given
+        List<Long> chain = createChain();
+        long middle = chain.get(CHAIN_DEPTH / 2);
+
+        // When
+        assertThatThrownBy(() -> this.taskService.moveTask(middle, new MoveTaskRequest(chain.getLast())))
+                .isInstanceOf(BadRequestException.class);
+        this.taskService.deleteTaskById(middle);
+
+        // Then
+        assertThat(this.jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Integer.class))
+                .isEqualTo(CHAIN_DEPTH / 2);
+        assertClosureMatchesRecursiveQuery();
+        assertThat(this.taskService.getSubtree(chain.getFirst())).extracting(TaskResponse::id)
+                .containsExactlyElementsOf(chain.subList(0, CHAIN_DEPTH / 2));
+    }
+
+    private List<Long> createChain() {
+        List<Long> chain = new ArrayList<>();
+        Long parentId = null;
+        for (int depth = 0; depth < CHAIN_DEPTH; depth++) {
+            parentId = create(parentId).id();
+            chain.add(parentId);
+        }
+        return chain;
+    }
+
+    private TaskResponse create(Long parentId) {
+        return this.taskService.createTask(CreateTaskRequest.builder()
+                .owner("alice")
+                .title("Task")
+                .parentId(parentId)
+                .build());
+    }
+
+    private List<Long> recursiveSubtree(long id) {
+        return this.jdbcTemplate.queryForList(RECURSIVE_SUBTREE_SQL, Long.class, id);
+    }
+
+    private void assertClosureMatchesRecursiveQuery() {
+        assertThat(this.jdbcTemplate.queryForList(CLOSURE_SQL, String.class))
+                .isNotEmpty()
+                .containsExactlyElementsOf(this.jdbcTemplate.queryForList(RECURSIVE_SQL, String.class));
+    }
+}
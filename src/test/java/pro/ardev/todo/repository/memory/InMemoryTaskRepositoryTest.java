@@ -0,0 +1,192 @@
+package pro.ardev.todo.repository.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Sort;
+import pro.ardev.todo.model.entity.Task;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static pro.ardev.todo.model.enums.TaskField.ID;
+import static pro.ardev.todo.model.enums.TaskField.PARENT_ID;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class InMemoryTaskRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findById_ShouldReturnCopyThatDoesNotChangeStoredTask() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Task saved = repository.save(Task.builder().title("Task").status(TODO).build());
+
+        // When
+        repository.findById(saved.getId()).orElseThrow().setStatus(DONE);
+
+        // Then
+        assertThat(repository.findById(saved.getId()).orElseThrow().getStatus()).isEqualTo(TODO);
+        assertThat(repository.findByStatusIn(List.of(DONE))).isEmpty();
+    }
+
+    @Test
+    void save_WithManyTasks_ShouldKeepAllRetrievableAfterDeletes() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        for (int i = 0; i < 1_000; i++) {
+            repository.save(Task.builder().title("Task " + i).status(TODO).build());
+        }
+
+        // When
+        for (long id = 1; id <= 1_000; id += 2) {
+            repository.deleteById(id);
+        }
+
+        // Then
+        assertThat(repository.count()).isEqualTo(500);
+        for (long id = 1; id <= 1_000; id++) {
+            assertThat(repository.existsById(id)).isEqualTo(id % 2 == 0);
+        }
+        assertThat(repository.findByStatusIn(List.of(TODO))).hasSize(500);
+    }
+
+    @Test
+    void save_FromManyThreads_ShouldAssignUniqueIds() throws Exception {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    repository.save(Task.builder().title("Task").status(TODO).build());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(repository.count()).isEqualTo(4_000);
+        assertThat(repository.findAll()).extracting(Task::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void findById_ShouldKeepClaim() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        LocalDateTime leaseExpiresAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Task saved = repository.save(Task.builder()
+                .title("Task")
+                .status(TODO)
+                .claimedBy("worker-1")
+                .leaseExpiresAt(leaseExpiresAt)
+                .build());
+
+        // When
+        Task found = repository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(found.getClaimedBy()).isEqualTo("worker-1");
+        assertThat(found.getLeaseExpiresAt()).isEqualTo(leaseExpiresAt);
+    }
+
+    @Test
+    void findAll_WithExample_ShouldMatchSetPropertiesOnly() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Task report = repository.save(Task.builder().title("Write report").status(TODO).build());
+        repository.save(Task.builder().title("Write report").status(DONE).build());
+        Task review = repository.save(Task.builder().title("Review REPORT").status(TODO).build());
+        repository.save(Task.builder().title("Plan").status(TODO).build());
+        ExampleMatcher matcher = ExampleMatcher.matching()
+                .withMatcher("title", match -> match.contains().ignoreCase());
+        Example<Task> example = Example.of(Task.builder().title("report").status(TODO).build(), matcher);
+
+        // When
+        List<Task> tasks = repository.findAll(example, Sort.by(Sort.Direction.DESC, "title"));
+        Task first = repository.findBy(example, query -> query.sortBy(Sort.by("title")).firstValue());
+
+        // Then
+        assertThat(tasks).extracting(Task::getId).containsExactly(report.getId(), review.getId());
+        assertThat(first.getId()).isEqualTo(review.getId());
+        assertThat(repository.count(example)).isEqualTo(2);
+        assertThatThrownBy(() -> repository.findOne(example))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    void findFields_WithParentId_ShouldReturnParentOfEachTask() {
+        // Given
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        Task parent = repository.save(Task.builder().title("Parent").status(TODO).build());
+        Task subtask = repository.save(Task.builder()
+                .title("Subtask")
+                .status(TODO)
+                .parentId(parent.getId())
+                .build());
+
+        // When
+        List<Object[]> rows = repository.findFields(
+                List.of(ID, PARENT_ID), List.of(TODO), Sort.by(PARENT_ID.attribute()));
+
+        // Then
+        assertThat(rows).containsExactly(
+                new Object[]{subtask.getId(), parent.getId()},
+                new Object[]{parent.getId(), null});
+    }
+
+    @Test
+    void journal_ShouldRestoreStateAfterRestart() throws Exception {
+        // Given
+        Path journal = directory.resolve("tasks.journal");
+        try (InMemoryTaskRepository repository = new InMemoryTaskRepository(
+                new TaskJournal(journal, objectMapper, false))) {
+            repository.save(Task.builder().title("Kept").status(TODO).build());
+            Task updated = repository.save(Task.builder().title("Updated").status(TODO).build());
+            Task deleted = repository.save(Task.builder().title("Deleted").status(TODO).build());
+            updated.setStatus(DONE);
+            repository.save(updated);
+            repository.deleteById(deleted.getId());
+        }
+        Files.writeString(journal, "S\t{\"id\":", UTF_8, APPEND);
+
+        // When
+        try (InMemoryTaskRepository restored = new InMemoryTaskRepository(
+                new TaskJournal(journal, objectMapper, false))) {
+
+            // Then
+            assertThat(restored.findAll())
+                    .extracting(Task::getTitle)
+                    .containsExactly("Kept", "Updated");
+            assertThat(restored.findByStatusIn(List.of(DONE)))
+                    .extracting(Task::getTitle)
+                    .containsExactly("Updated");
+            assertThat(restored.save(Task.builder().title("New").status(TODO).build()).getId()).isEqualTo(4L);
+            assertThat(Files.readAllLines(journal)).hasSize(3);
+        }
+    }
+}
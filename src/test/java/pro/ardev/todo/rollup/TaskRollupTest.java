@@ -0,0 +1,196 @@
+package pro.ardev.todo.rollup;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.exception.BadRequestException;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.ThroughputBucket;
+import pro.ardev.todo.model.response.ThroughputResponse;
+import pro.ardev.todo.service.TaskCsvService;
+import pro.ardev.todo.service.TaskRollupService;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.HOURS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+
+/**
+ * Rollups against an embedded PostgreSQL, from the recorded task events to the compacted daily buckets.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskRollupTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskRollupRecorder taskRollupRecorder;
+
+    @Autowired
+    private TaskRollupService taskRollupService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCsvService taskCsvService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+        registry.add("todo.task-rollups.flush-interval", () -> "1h");
+        registry.add("todo.task-rollups.overdue-sample-interval", () -> "1h");
+        registry.add("todo.task-rollups.compaction-interval", () -> "1h");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clean() {
+        this.taskRollupRecorder.flush();
+        this.jdbcTemplate.update("DELETE FROM task_rollups");
+        this.jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void getThroughput_ShouldCountCreatedAndCompletedTasksOnceFlushed() {
+        // Given
+        for (int i = 0; i < 12; i++) {
+            Long id = this.taskService.createTask(CreateTaskRequest.builder().title("Task " + i).build()).id();
+            if (i % 3 == 0) {
+                this.taskService.updateTask(id, UpdateTaskRequest.builder().status(DONE).build());
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minusHours(1);
+        LocalDateTime to = now.plusHours(1);
+
+        // When
+        ThroughputResponse unflushed = this.taskRollupService.getThroughput(from, to, "hour");
+        this.taskRollupRecorder.flush();
+        ThroughputResponse hourly = this.taskRollupService.getThroughput(from, to, "hour");
+        ThroughputResponse daily = this.taskRollupService.getThroughput(now.minusDays(1), now.plusDays(1), "day");
+
+        // Then
+        assertThat(unflushed.buckets()).allSatisfy(bucket -> assertThat(bucket.created()).isZero());
+        assertThat(hourly.buckets()).hasSize(3)
+                .extracting(ThroughputBucket::bucketStart)
+                .containsExactly(from.truncatedTo(HOURS), now.truncatedTo(HOURS), to.truncatedTo(HOURS));
+        assertThat(hourly.buckets().stream().mapToLong(ThroughputBucket::created).sum()).isEqualTo(12);
+        assertThat(hourly.buckets().stream().mapToLong(ThroughputBucket::completed).sum()).isEqualTo(4);
+        assertThat(daily.buckets()).hasSize(3);
+        assertThat(daily.buckets().stream().mapToLong(ThroughputBucket::created).sum()).isEqualTo(12);
+    }
+
+    @Test
+    void getThroughput_ShouldCountImportedTasksAsCreatedOnceFlushed() {
+        // Given
+        String csv = "title,description,due_date\nFirst,,\nSecond,,\nThird,,\n";
+        this.taskCsvService.importTasks(new ByteArrayInputStream(csv.getBytes(UTF_8)));
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        this.taskRollupRecorder.flush();
+        ThroughputResponse hourly = this.taskRollupService.getThroughput(now.minusHours(1), now.plusHours(1), "hour");
+
+        // Then
+        assertThat(hourly.buckets().stream().mapToLong(ThroughputBucket::created).sum()).isEqualTo(3);
+        assertThat(hourly.buckets().stream().mapToLong(ThroughputBucket::completed).sum()).isZero();
+    }
+
+    @Test
+    void compactHourlyRollups_ShouldFoldOldHoursIntoDays() {
+        // Given
+        LocalDateTime day = LocalDateTime.now().truncatedTo(DAYS).minusDays(10);
+        for (int hour = 0; hour < 24; hour += 6) {
+            this.jdbcTemplate.update("""
+                    INSERT INTO task_rollups (granularity, bucket_start, created, completed, overdue)
+                    VALUES ('HOUR', ?, 10, 4, ?)
+                    """, Timestamp.valueOf(day.plusHours(hour)), hour);
+        }
+        this.jdbcTemplate.update("INSERT INTO task_rollups (granularity, bucket_start, created) VALUES ('HOUR', ?, 1)",
+                Timestamp.valueOf(LocalDateTime.now().truncatedTo(HOURS)));
+
+        // When
+        int compacted = this.taskRollupService.compactHourlyRollups();
+
+        // Then
+        assertThat(compacted).isEqualTo(4);
+        assertThat(this.jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_rollups WHERE granularity = 'HOUR'", Integer.class)).isEqualTo(1);
+        ThroughputResponse daily = this.taskRollupService.getThroughput(day, day.plusDays(1), "day");
+        assertThat(daily.buckets()).singleElement()
+                .isEqualTo(new ThroughputBucket(day, 40, 16, 18L));
+        assertThatThrownBy(() -> this.taskRollupService.getThroughput(day, day.plusDays(1), "hour"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("are compacted into days, use day");
+    }
+
+    @Test
+    void sampleOverdue_ShouldRecordOpenTasksPastTheirDueDate() {
+        // Given
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, due_date, status, tags, recurrence)
+                SELECT i, 'default', 'Task ' || i, now()::timestamp + (i - 8) * interval '1 day',
+                       CASE WHEN i % 4 = 0 THEN 'DONE' ELSE 'TODO' END, '{}',
+                       CASE WHEN i = 1 THEN 'FREQ=DAILY' END
+                FROM generate_series(1, 10) AS i
+                """);
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        this.taskRollupService.sampleOverdue();
+
+        // Then
+        ThroughputResponse hourly = this.taskRollupService.getThroughput(now, now.plusSeconds(1), "hour");
+        // 1 to 8 are past due, but 1 is a series and 4 and 8 are done
+        assertThat(hourly.buckets()).singleElement()
+                .extracting(ThroughputBucket::overdue).isEqualTo(5L);
+    }
+
+    @Test
+    void getThroughput_WithUnknownBucketOrTooManyBuckets_ShouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> this.taskRollupService.getThroughput(now, now.plusDays(1), "week"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unknown bucket week");
+        assertThatThrownBy(() -> this.taskRollupService.getThroughput(now, now.plusYears(1), "hour"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("At most 2000 buckets");
+    }
+}
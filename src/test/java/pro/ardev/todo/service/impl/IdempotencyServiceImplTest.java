@@ -0,0 +1,193 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import pro.ardev.todo.config.IdempotencyProperties;
+import pro.ardev.todo.exception.IdempotencyConflictException;
+import pro.ardev.todo.model.entity.IdempotencyRecord;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.repository.IdempotencyRecordRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private static final String CLIENT = "key:client-1";
+    private static final String KEY = "key-1";
+    private static final String SCOPE = "POST /api/v1/tasks";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private final CreateTaskRequest request = CreateTaskRequest.builder()
+            .title("Task")
+            .build();
+
+    private final TaskResponse response = TaskResponse.builder()
+            .id(1L)
+            .title("Task")
+            .status(TODO)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(
+                idempotencyRecordRepository,
+                new IdempotencyProperties(Duration.ofHours(1), 2),
+                objectMapper,
+                transactionManager);
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldRunOperation() {
+        // When
+        TaskResponse result = idempotencyService.execute(CLIENT, null, SCOPE, request, () -> response);
+
+        // Then
+        assertThat(result).isEqualTo(response);
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void execute_WhenKeyClaimed_ShouldRunOperationAndStoreResponse() {
+        // Given
+        when(idempotencyRecordRepository.claim(eq(CLIENT), eq(KEY), anyString(), any(), any())).thenReturn(1);
+
+        // When
+        TaskResponse result = idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> response);
+
+        // Then
+        assertThat(result).isEqualTo(response);
+        verify(idempotencyRecordRepository).storeResponse(eq(CLIENT), eq(KEY), anyString());
+    }
+
+    @Test
+    void execute_WhenOperationFails_ShouldReleaseKey() {
+        // Given
+        when(idempotencyRecordRepository.claim(eq(CLIENT), eq(KEY), anyString(), any(), any())).thenReturn(1);
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> {
+            throw new IllegalStateException("Task creation failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        InOrder inOrder = inOrder(idempotencyRecordRepository, transactionManager);
+        inOrder.verify(idempotencyRecordRepository).claim(eq(CLIENT), eq(KEY), anyString(), any(), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).rollback(any());
+        inOrder.verify(idempotencyRecordRepository).release(CLIENT, KEY);
+        verify(idempotencyRecordRepository, never()).storeResponse(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void execute_WhenReplayed_ShouldReturnStoredResponseWithoutRunningOperation() throws Exception {
+        // Given
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        when(idempotencyRecordRepository.claim(eq(CLIENT), eq(KEY), hash.capture(), any(), any())).thenReturn(1, 0);
+        idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> response);
+
+        when(idempotencyRecordRepository.findById(new IdempotencyRecord.Key(CLIENT, KEY))).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .client(CLIENT)
+                .key(KEY)
+                .requestHash(hash.getValue())
+                .responseBody(objectMapper.writeValueAsString(response))
+                .build()));
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        TaskResponse result = idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        // Then
+        assertThat(result).isEqualTo(response);
+        assertThat(executions).hasValue(0);
+        verify(idempotencyRecordRepository, times(1)).storeResponse(eq(CLIENT), eq(KEY), anyString());
+    }
+
+    @Test
+    void execute_WhenKeyUsedForDifferentRequest_ShouldThrowException() {
+        // Given
+        when(idempotencyRecordRepository.claim(eq(CLIENT), eq(KEY), anyString(), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepository.findById(new IdempotencyRecord.Key(CLIENT, KEY))).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .client(CLIENT)
+                .key(KEY)
+                .requestHash("other")
+                .responseBody("{}")
+                .build()));
+
+        // When & Then
+        assertThatThrownBy(() -> idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> response))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("different request");
+
+        verify(idempotencyRecordRepository, never()).storeResponse(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void execute_WithSameKeyFromAnotherClient_ShouldRunOperationAgain() {
+        // Given
+        when(idempotencyRecordRepository.claim(anyString(), eq(KEY), anyString(), any(), any())).thenReturn(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // When
+        idempotencyService.execute(CLIENT, KEY, SCOPE, request, () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+        idempotencyService.execute("key:client-2", KEY, SCOPE, request, () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        // Then
+        assertThat(executions).hasValue(2);
+        verify(idempotencyRecordRepository).storeResponse(eq(CLIENT), eq(KEY), anyString());
+        verify(idempotencyRecordRepository).storeResponse(eq("key:client-2"), eq(KEY), anyString());
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteInBatchesUntilExhausted() {
+        // Given
+        when(idempotencyRecordRepository.deleteExpired(any(), anyInt())).thenReturn(2, 2, 1);
+
+        // When
+        idempotencyService.purgeExpired();
+
+        // Then
+        verify(idempotencyRecordRepository, times(3)).deleteExpired(any(), eq(2));
+    }
+}
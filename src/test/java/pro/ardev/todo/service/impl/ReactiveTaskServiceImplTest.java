@@ -0,0 +1,129 @@
+package pro.ardev.todo.service.impl;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import pro.ardev.todo.event.TaskChangedEvent;
+import pro.ardev.todo.event.TaskStatusChangedEvent;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.mapper.TaskMapper;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.repository.reactive.ReactiveTaskRepository;
+import pro.ardev.todo.validator.TaskValidator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static pro.ardev.todo.model.enums.TaskChangeType.DELETED;
+import static pro.ardev.todo.model.enums.TaskChangeType.UPDATED;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceImplTest {
+
+    @Mock
+    private ReactiveTaskRepository reactiveTaskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private ReactiveTaskServiceImpl reactiveTaskService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveTaskService = new ReactiveTaskServiceImpl(reactiveTaskRepository, Mappers.getMapper(TaskMapper.class),
+                new TaskValidator(), eventPublisher, entityManagerFactory, new TaskIdGenerator(0));
+    }
+
+    @Test
+    void getTaskById_WhenTaskMissing_ShouldFailWithNotFound() {
+        // Given
+        when(reactiveTaskRepository.findById(999L)).thenReturn(Mono.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> reactiveTaskService.getTaskById(999L).block())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task with ID 999 not found");
+    }
+
+    @Test
+    void updateTask_ShouldApplyOnlyGivenFieldsAndPublishEvent() {
+        // Given
+        stubCaches();
+        Task updated = Task.builder().id(1L).title("Title").status(DONE).build();
+        ArgumentCaptor<Task> changes = ArgumentCaptor.forClass(Task.class);
+        when(reactiveTaskRepository.update(eq(1L), changes.capture())).thenReturn(Mono.just(
+                new ReactiveTaskRepository.UpdatedTask(updated, IN_PROGRESS)));
+
+        // When
+        TaskResponse result = reactiveTaskService.updateTask(1L, UpdateTaskRequest.builder()
+                .title("Title")
+                .status(DONE)
+                .build()).block();
+
+        // Then
+        assertThat(result.status()).isEqualTo(DONE);
+        assertThat(changes.getValue().getDescription()).isNull();
+        assertThat(changes.getValue().getStatus()).isEqualTo(DONE);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(1L, UPDATED));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskStatusChangedEvent changed
+                && changed.taskId() == 1L && changed.fromStatus() == IN_PROGRESS && changed.toStatus() == DONE));
+    }
+
+    @Test
+    void deleteTaskById_WhenTaskMissing_ShouldFailWithoutEvent() {
+        // Given
+        when(reactiveTaskRepository.deleteById(999L)).thenReturn(Flux.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> reactiveTaskService.deleteTaskById(999L).block())
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteTaskById_WhenTaskExists_ShouldEvictCachesAndPublishEvent() {
+        // Given
+        Cache cache = stubCaches();
+        when(reactiveTaskRepository.deleteById(1L)).thenReturn(Flux.just(1L));
+
+        // When
+        reactiveTaskService.deleteTaskById(1L).block();
+
+        // Then
+        verify(cache).evict(Task.class, 1L);
+        verify(eventPublisher).publishEvent(new TaskChangedEvent(1L, DELETED));
+    }
+
+    private Cache stubCaches() {
+        Cache cache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(mock(org.hibernate.Cache.class));
+
+        return cache;
+    }
+}
@@ -0,0 +1,180 @@
+package pro.ardev.todo.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.exception.LeaseNotHeldException;
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskClaimService;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Claims against an embedded PostgreSQL, where row locks and {@code SKIP LOCKED} actually apply.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskClaimServiceImplTest {
+
+    private static final int TASKS = 2_000;
+    private static final int WORKERS = 32;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(WORKERS + 4));
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+        registry.add("todo.task-claims.reap-interval", () -> "1h");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        this.jdbcTemplate.update("DELETE FROM tasks");
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, due_date, status, tags)
+                SELECT i, 'default', 'Job ' || i, now()::timestamp + (i % 100) * interval '1 hour', 'TODO', '{}'
+                FROM generate_series(1, ?) AS i
+                """, TASKS);
+    }
+
+    @Test
+    void claimTasks_WhenWorkersRace_ShouldClaimEveryTaskExactlyOnce() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<List<Long>>> workers = new ArrayList<>();
+        for (int w = 0; w < WORKERS; w++) {
+            String workerId = "worker-" + w;
+            workers.add(() -> {
+                start.await();
+                List<Long> claimed = new ArrayList<>();
+                ClaimResponse response;
+                do {
+                    response = this.taskClaimService.claimTasks(new ClaimTasksRequest(workerId, 7));
+                    response.tasks().forEach(task -> claimed.add(task.id()));
+                } while (!response.tasks().isEmpty());
+                return claimed;
+            });
+        }
+
+        // When
+        List<Long> claimed = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORKERS)) {
+            List<Future<List<Long>>> futures = workers.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<List<Long>> future : futures) {
+                claimed.addAll(future.get());
+            }
+        }
+
+        // Then
+        assertThat(claimed).hasSize(TASKS).doesNotHaveDuplicates();
+        assertThat(this.jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE status = 'IN_PROGRESS' AND claimed_by IS NOT NULL",
+                Integer.class)).isEqualTo(TASKS);
+    }
+
+    @Test
+    void claimTasks_ShouldReturnTasksByDueDateAndSkipSeries() {
+        // Given
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, due_date, status, tags, recurrence)
+                VALUES (?, 'default', 'Series', now()::timestamp - interval '1 day', 'TODO', '{}', 'FREQ=DAILY')
+                """, TASKS + 1);
+
+        // When
+        ClaimResponse response = this.taskClaimService.claimTasks(new ClaimTasksRequest("worker", 30));
+
+        // Then
+        assertThat(response.tasks()).hasSize(30)
+                .allSatisfy(task -> assertThat(task.status()).isEqualTo(IN_PROGRESS))
+                .extracting(TaskResponse::dueDate).isSorted();
+        assertThat(response.tasks()).extracting(TaskResponse::id).doesNotContain((long) TASKS + 1);
+        assertThat(response.leaseExpiresAt()).isNotNull();
+    }
+
+    @Test
+    void heartbeatAndRelease_ShouldRequireTheLeaseHolder() {
+        // Given
+        long id = this.taskClaimService.claimTasks(new ClaimTasksRequest("owner", 1)).tasks().getFirst().id();
+
+        // When & Then
+        assertThat(this.taskClaimService.heartbeat(id, "owner").leaseExpiresAt()).isNotNull();
+        assertThatThrownBy(() -> this.taskClaimService.heartbeat(id, "other"))
+                .isInstanceOf(LeaseNotHeldException.class);
+        assertThatThrownBy(() -> this.taskClaimService.release(id, "other"))
+                .isInstanceOf(LeaseNotHeldException.class);
+        this.taskClaimService.release(id, "owner");
+        assertThat(this.taskService.getTaskById(id).status()).isEqualTo(TODO);
+    }
+
+    @Test
+    void reapExpiredLeases_ShouldReturnExpiredTasksToTodo() {
+        // Given
+        List<TaskResponse> claimed = this.taskClaimService.claimTasks(new ClaimTasksRequest("slow", 3)).tasks();
+        this.jdbcTemplate.update(
+                "UPDATE tasks SET lease_expires_at = LOCALTIMESTAMP - interval '1 second' WHERE id = ?",
+                claimed.getFirst().id());
+        this.taskService.updateTask(claimed.get(1).id(), UpdateTaskRequest.builder().status(DONE).build());
+
+        // When
+        int reaped = this.taskClaimService.reapExpiredLeases();
+
+        // Then
+        assertThat(reaped).isEqualTo(1);
+        assertThat(this.taskService.getTaskById(claimed.getFirst().id()).status()).isEqualTo(TODO);
+        assertThat(this.taskService.getTaskById(claimed.get(1).id()).status()).isEqualTo(DONE);
+        assertThat(this.taskService.getTaskById(claimed.get(2).id()).status()).isEqualTo(IN_PROGRESS);
+        assertThat(this.jdbcTemplate.queryForObject("SELECT claimed_by FROM tasks WHERE id = ?", String.class,
+                claimed.get(1).id())).isNull();
+    }
+}
@@ -0,0 +1,145 @@
+package pro.ardev.todo.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.model.response.TaskCountResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+import static pro.ardev.todo.model.enums.CountMode.CACHED;
+import static pro.ardev.todo.model.enums.CountMode.ESTIMATED;
+import static pro.ardev.todo.model.enums.CountMode.EXACT;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+/**
+ * Counts against an embedded PostgreSQL, where the estimates come from real planner statistics.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskCountServiceImplTest {
+
+    private static final int TASKS = 20_000;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskCountServiceImpl taskCountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+        registry.add("todo.task-counts.refresh-interval", () -> "1h");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        this.jdbcTemplate.update("DELETE FROM tasks");
+        // 80% done, 15% todo, 5% in progress
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, status, tags)
+                SELECT i, 'default', 'Task ' || i,
+                       CASE WHEN i % 20 < 16 THEN 'DONE' WHEN i % 20 < 19 THEN 'TODO' ELSE 'IN_PROGRESS' END, '{}'
+                FROM generate_series(1, ?) AS i
+                """, TASKS);
+        this.jdbcTemplate.execute("ANALYZE tasks");
+        this.taskCountService.refreshCachedCounts();
+    }
+
+    @Test
+    void countTasks_Exact_ShouldCountEveryMatchingTask() {
+        assertThat(this.taskCountService.countTasks(null, EXACT).count()).isEqualTo(TASKS);
+        assertThat(this.taskCountService.countTasks(List.of(TODO, IN_PROGRESS), EXACT).count())
+                .isEqualTo(TASKS / 5);
+    }
+
+    @Test
+    void countTasks_Estimated_ShouldBeCloseToTheExactCount() {
+        // When
+        TaskCountResponse all = this.taskCountService.countTasks(List.of(), ESTIMATED);
+        TaskCountResponse done = this.taskCountService.countTasks(List.of(DONE), ESTIMATED);
+        TaskCountResponse inProgress = this.taskCountService.countTasks(List.of(IN_PROGRESS), ESTIMATED);
+
+        // Then
+        assertThat(all.asOf()).isNull();
+        assertThat((double) all.count()).isCloseTo(TASKS, within(TASKS * 0.05));
+        assertThat((double) done.count()).isCloseTo(TASKS * 0.8, within(TASKS * 0.05));
+        assertThat((double) inProgress.count()).isCloseTo(TASKS * 0.05, within(TASKS * 0.02));
+    }
+
+    @Test
+    void countTasks_Cached_ShouldServeTheLastRefresh() {
+        // Given
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, status, tags)
+                SELECT i, 'default', 'Task ' || i, 'TODO', '{}'
+                FROM generate_series(?, ?) AS i
+                """, TASKS + 1, TASKS + 100);
+
+        // When
+        TaskCountResponse stale = this.taskCountService.countTasks(List.of(TODO), CACHED);
+        this.taskCountService.refreshCachedCounts();
+        TaskCountResponse refreshed = this.taskCountService.countTasks(List.of(TODO), CACHED);
+
+        // Then
+        assertThat(stale.count()).isEqualTo(TASKS * 3 / 20);
+        assertThat(refreshed.count()).isEqualTo(TASKS * 3 / 20 + 100);
+        assertThat(refreshed.asOf()).isAfterOrEqualTo(stale.asOf());
+        assertThat(this.taskCountService.countTasks(null, CACHED).count()).isEqualTo(TASKS + 100);
+    }
+
+    @Test
+    void refreshRequestedCounts_ShouldRecountOnlyAfterCachedRequests() {
+        // Given
+        this.jdbcTemplate.update("""
+                INSERT INTO tasks (id, owner, title, status, tags)
+                SELECT i, 'default', 'Task ' || i, 'TODO', '{}'
+                FROM generate_series(?, ?) AS i
+                """, TASKS + 1, TASKS + 100);
+        this.taskCountService.countTasks(List.of(TODO), CACHED);
+
+        // When
+        this.taskCountService.refreshRequestedCounts();
+        TaskCountResponse requested = this.taskCountService.countTasks(List.of(TODO), CACHED);
+        this.taskCountService.refreshRequestedCounts();
+        this.jdbcTemplate.update("DELETE FROM tasks WHERE id > ?", TASKS);
+        this.taskCountService.refreshRequestedCounts();
+        TaskCountResponse idle = this.taskCountService.countTasks(List.of(TODO), CACHED);
+
+        // Then
+        assertThat(requested.count()).isEqualTo(TASKS * 3 / 20 + 100);
+        // Nobody asked between the last two runs, so the counts were dropped and recounted on request.
+        assertThat(idle.count()).isEqualTo(TASKS * 3 / 20);
+    }
+}
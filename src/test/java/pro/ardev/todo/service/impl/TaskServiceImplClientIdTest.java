@@ -0,0 +1,100 @@
+package pro.ardev.todo.service.impl;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Creations with a client-assigned id against an embedded PostgreSQL, where concurrent resends actually race.
+ */
+@Tag("embedded-postgres")
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = NONE)
+class TaskServiceImplClientIdTest {
+
+    private static final int RESENDS = 8;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("todo.task-ids.node-id", () -> "0");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void createTask_WhenResentConcurrently_ShouldCreateTaskOnce() throws Exception {
+        // Given
+        CreateTaskRequest request = CreateTaskRequest.builder()
+                .id(777_001L)
+                .title("Created offline")
+                .build();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<TaskResponse>> resends = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(RESENDS)) {
+            for (int i = 0; i < RESENDS; i++) {
+                resends.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return this.taskService.createTask(request);
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(resends.toArray(CompletableFuture[]::new)).join();
+        }
+
+        // Then
+        assertThat(resends).allSatisfy(resend -> assertThat(resend.join().id()).isEqualTo(777_001L));
+        assertThat(this.jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE id = ?", Long.class, 777_001L)).isOne();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package pro.ardev.todo.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import pro.ardev.todo.cache.TaskListCache;
+import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.mapper.TaskMapper;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.repository.memory.InMemoryTaskRepository;
+import pro.ardev.todo.validator.TaskValidator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.IN_PROGRESS;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class TaskServiceImplInMemoryTest {
+
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new TaskServiceImpl(
+                new InMemoryTaskRepository(),
+                Mappers.getMapper(TaskMapper.class),
+                new TaskValidator(),
+                event -> {
+                },
+                new TaskListCache(false, Duration.ZERO));
+    }
+
+    @Test
+    void createTask_ShouldAssignIdAndDefaultStatus() {
+        // When
+        TaskResponse result = taskService.createTask(CreateTaskRequest.builder()
+                .title("New Task")
+                .description("Task Description")
+                .build());
+
+        // Then
+        assertThat(result.id()).isPositive();
+        assertThat(result.status()).isEqualTo(TODO);
+        assertThat(result.owner()).isEqualTo("default");
+        assertThat(result.createdAt()).isNotNull();
+        assertThat(taskService.getTaskById(result.id())).isEqualTo(result);
+    }
+
+    @Test
+    void updateTask_ShouldChangeStoredTaskAndStatusIndex() {
+        // Given
+        TaskResponse created = create("Task", 1);
+
+        // When
+        taskService.updateTask(created.id(), UpdateTaskRequest.builder()
+                .title("Updated")
+                .status(IN_PROGRESS)
+                .build());
+
+        // Then
+        assertThat(taskService.getTaskById(created.id()).title()).isEqualTo("Updated");
+        assertThat(taskService.getTasksByStatus(List.of(TODO))).isEmpty();
+        assertThat(taskService.getTasksByStatus(List.of(IN_PROGRESS)))
+                .extracting(TaskResponse::id)
+                .containsExactly(created.id());
+    }
+
+    @Test
+    void deleteTaskById_ShouldRemoveTask() {
+        // Given
+        TaskResponse created = create("Task", 1);
+
+        // When
+        taskService.deleteTaskById(created.id());
+
+        // Then
+        assertThatThrownBy(() -> taskService.getTaskById(created.id()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> taskService.deleteTaskById(created.id()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(taskService.getAllTasks()).isEmpty();
+    }
+
+    @Test
+    void getTasksByStatus_ShouldReturnOnlyMatchingTasks() {
+        // Given
+        TaskResponse first = create("First", 1);
+        TaskResponse second = create("Second", 2);
+        create("Third", 3);
+        taskService.updateTask(second.id(), UpdateTaskRequest.builder().title("Second").status(DONE).build());
+
+        // When
+        List<TaskResponse> result = taskService.getTasksByStatus(List.of(DONE, IN_PROGRESS));
+
+        // Then
+        assertThat(result).extracting(TaskResponse::id).containsExactly(second.id());
+        assertThat(taskService.getTasksByStatus(null)).hasSize(3);
+        assertThat(taskService.getTasksByStatus(List.of(TODO)))
+                .extracting(TaskResponse::id)
+                .doesNotContain(second.id())
+                .contains(first.id());
+    }
+
+    @Test
+    void getTasksByStatusAndTags_ShouldCombineTagPredicatesWithStatuses() {
+        // Given
+        TaskResponse both = createTagged("Both", List.of("work", " urgent", "work"));
+        TaskResponse work = createTagged("Work", List.of("work"));
+        TaskResponse home = createTagged("Home", List.of("home"));
+        taskService.updateTask(work.id(), UpdateTaskRequest.builder().title("Work").status(DONE).build());
+
+        // When & Then
+        assertThat(both.tags()).containsExactly("work", "urgent");
+        assertThat(taskService.getTasksByStatusAndTags(null, List.of("urgent", "home"), null))
+                .extracting(TaskResponse::id)
+                .containsExactly(both.id(), home.id());
+        assertThat(taskService.getTasksByStatusAndTags(null, null, List.of("work", "urgent")))
+                .extracting(TaskResponse::id)
+                .containsExactly(both.id());
+        assertThat(taskService.getTasksByStatusAndTags(List.of(TODO), List.of("work"), null))
+                .extracting(TaskResponse::id)
+                .containsExactly(both.id());
+        assertThat(taskService.getTasksByStatusAndTags(List.of(DONE), null, List.of())).hasSize(1);
+    }
+
+    @Test
+    void getSortedTasks_ShouldOrderByDueDateWithNullsLast() {
+        // Given
+        TaskResponse later = create("Later", 3);
+        TaskResponse sooner = create("Sooner", 1);
+        TaskResponse undated = taskService.createTask(CreateTaskRequest.builder().title("Undated").build());
+
+        // When & Then
+        assertThat(taskService.getSortedTasks("dueDate", "ASC"))
+                .extracting(TaskResponse::id)
+                .containsExactly(sooner.id(), later.id(), undated.id());
+        assertThat(taskService.getSortedTasks("dueDate", "DESC"))
+                .extracting(TaskResponse::id)
+                .containsExactly(undated.id(), later.id(), sooner.id());
+    }
+
+    @Test
+    void getSortedTasks_ByStatus_ShouldOrderByStatusName() {
+        // Given
+        TaskResponse todo = create("Todo", 1);
+        TaskResponse done = create("Done", 2);
+        taskService.updateTask(done.id(), UpdateTaskRequest.builder().title("Done").status(DONE).build());
+
+        // When
+        List<TaskResponse> result = taskService.getSortedTasks("status", "ASC");
+
+        // Then
+        assertThat(result).extracting(TaskResponse::id).containsExactly(done.id(), todo.id());
+    }
+
+    @Test
+    void getSortedTaskFields_ShouldReturnOnlyRequestedFields() {
+        // Given
+        TaskResponse later = create("Later", 3);
+        TaskResponse sooner = create("Sooner", 1);
+
+        // When
+        List<Map<String, Object>> result = taskService.getSortedTaskFields(
+                List.of("title", "id"), "dueDate", "ASC");
+
+        // Then
+        assertThat(result).containsExactly(
+                Map.of("id", sooner.id(), "title", "Sooner"),
+                Map.of("id", later.id(), "title", "Later"));
+        assertThat(result.get(0).keySet()).containsExactly("id", "title");
+    }
+
+    @Test
+    void getTaskFieldsByStatus_ShouldFormatDatesLikeTaskResponse() {
+        // Given
+        TaskResponse created = create("Task", 1);
+
+        // When
+        List<Map<String, Object>> result = taskService.getTaskFieldsByStatus(List.of("dueDate", "status"), List.of(TODO));
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0))
+                .containsEntry("status", TODO)
+                .containsEntry("dueDate", TaskMapper.DATE_TIME_FORMATTER.format(created.dueDate()));
+    }
+
+    @Test
+    void getAllTaskFields_WithLargeDescriptions_ShouldShrinkPayload() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        for (int i = 0; i < 100; i++) {
+            taskService.createTask(CreateTaskRequest.builder()
+                    .title("Task " + i)
+                    .description("x".repeat(2000))
+                    .dueDate(now().plusDays(1))
+                    .build());
+        }
+
+        // When
+        int fullPayload = objectMapper.writeValueAsBytes(taskService.getAllTasks()).length;
+        int sparsePayload = objectMapper.writeValueAsBytes(
+                taskService.getAllTaskFields(List.of("id", "title", "status", "dueDate"))).length;
+
+        // Then
+        assertThat(sparsePayload).isLessThan(fullPayload / 10);
+    }
+
+    @Test
+    void getTasksInWindow_ShouldMergeOccurrencesAndReplaceMaterializedOnes() {
+        // Given
+        TaskResponse series = taskService.createTask(CreateTaskRequest.builder()
+                .title("Chore")
+                .dueDate(LocalDateTime.of(2030, 1, 1, 9, 0))
+                .recurrence("FREQ=DAILY")
+                .build());
+        TaskResponse plain = taskService.createTask(CreateTaskRequest.builder()
+                .title("Once")
+                .dueDate(LocalDateTime.of(2030, 1, 2, 12, 0))
+                .build());
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 3, 23, 59);
+
+        // When
+        List<TaskResponse> before = taskService.getTasksInWindow(from, to, "ASC");
+        TaskResponse moved = taskService.updateOccurrence(series.id(), LocalDateTime.of(2030, 1, 2, 9, 0),
+                UpdateTaskRequest.builder()
+                        .title("Chore, later")
+                        .dueDate(LocalDateTime.of(2030, 1, 10, 9, 0))
+                        .status(DONE)
+                        .build());
+        List<TaskResponse> after = taskService.getTasksInWindow(from, to, "ASC");
+
+        // Then
+        assertThat(before).extracting(TaskResponse::dueDate).containsExactly(
+                LocalDateTime.of(2030, 1, 1, 9, 0),
+                LocalDateTime.of(2030, 1, 2, 9, 0),
+                LocalDateTime.of(2030, 1, 2, 12, 0),
+                LocalDateTime.of(2030, 1, 3, 9, 0));
+        assertThat(moved.id()).isNotEqualTo(series.id());
+        assertThat(moved.seriesId()).isEqualTo(series.id());
+        assertThat(after).extracting(TaskResponse::id)
+                .containsExactly(series.id(), plain.id(), series.id());
+        assertThat(taskService.getTasksInWindow(to, to.plusDays(7), "ASC"))
+                .filteredOn(task -> task.id() == moved.id())
+                .singleElement()
+                .satisfies(task -> assertThat(task.status()).isEqualTo(DONE));
+    }
+
+    private TaskResponse createTagged(String title, List<String> tags) {
+        return taskService.createTask(CreateTaskRequest.builder()
+                .title(title)
+                .tags(tags)
+                .build());
+    }
+
+    private TaskResponse create(String title, int dueInDays) {
+        return taskService.createTask(CreateTaskRequest.builder()
+                .title(title)
+                .dueDate(now().plusDays(dueInDays))
+                .build());
+    }
+}
@@ -2,20 +2,28 @@ package pro.ardev.todo.service.impl;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
+import pro.ardev.todo.cache.TaskListCache;
+import pro.ardev.todo.exception.BadRequestException;
 import pro.ardev.todo.exception.ResourceNotFoundException;
 import pro.ardev.todo.mapper.TaskMapper;
 import pro.ardev.todo.model.entity.Task;
 import pro.ardev.todo.model.enums.TaskStatus;
 import pro.ardev.todo.model.request.CreateTaskRequest;
+import pro.ardev.todo.model.request.MoveTaskRequest;
 import pro.ardev.todo.model.request.UpdateTaskRequest;
+import pro.ardev.todo.model.response.TaskBatchResponse;
 import pro.ardev.todo.model.response.TaskResponse;
 import pro.ardev.todo.repository.TaskRepository;
 import pro.ardev.todo.validator.TaskValidator;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,6 +59,12 @@ class TaskServiceImplTest {
     @Mock
     private TaskValidator taskValidator;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TaskListCache taskListCache = new TaskListCache(false, Duration.ZERO);
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -145,7 +160,7 @@ class TaskServiceImplTest {
                 .build();
 
         when(taskMapper.toEntity(request)).thenReturn(unsavedTask);
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(taskRepository.insert(any(Task.class))).thenReturn(savedTask);
         when(taskMapper.toResponse(savedTask)).thenReturn(expectedResponse);
 
         // When
@@ -160,7 +175,7 @@ class TaskServiceImplTest {
         assertThat(result.status()).isEqualTo(TODO);
 
         verify(taskMapper).toEntity(request);
-        verify(taskRepository).save(unsavedTask);
+        verify(taskRepository).insert(unsavedTask);
         verify(taskMapper).toResponse(savedTask);
     }
 
@@ -182,7 +197,7 @@ class TaskServiceImplTest {
                 .build();
 
         when(taskMapper.toEntity(request)).thenReturn(unsavedTask);
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(taskRepository.insert(any(Task.class))).thenReturn(savedTask);
         when(taskMapper.toResponse(savedTask)).thenReturn(
                 builder().id(1L).title("Task without status").status(TODO).build()
         );
@@ -194,6 +209,36 @@ class TaskServiceImplTest {
         assertThat(result.status()).isEqualTo(TODO);
     }
 
+    @Test
+    void createTask_WithIdOfExistingTask_ShouldLockIdAndReplaceTask() {
+        // Given
+        CreateTaskRequest request = CreateTaskRequest.builder()
+                .id(42L)
+                .title("Resent")
+                .build();
+        Task existing = Task.builder()
+                .id(42L)
+                .title("Original")
+                .status(TODO)
+                .build();
+        TaskResponse response = builder().id(42L).title("Resent").status(TODO).build();
+
+        when(taskRepository.findById(42L)).thenReturn(Optional.of(existing));
+        when(taskMapper.toResponse(existing)).thenReturn(response);
+
+        // When
+        TaskResponse result = taskService.createTask(request);
+
+        // Then
+        assertThat(result).isEqualTo(response);
+        InOrder order = inOrder(taskRepository, taskMapper);
+        order.verify(taskRepository).lockId(42L);
+        order.verify(taskRepository).findById(42L);
+        order.verify(taskMapper).mergeEntity(existing, request);
+        order.verify(taskRepository).save(existing);
+        verify(taskRepository, never()).insert(any(Task.class));
+    }
+
     @Test
     void createTask_ShouldMapAllFieldsCorrectly() {
         // Given
@@ -219,7 +264,7 @@ class TaskServiceImplTest {
                 .build();
 
         when(taskMapper.toEntity(request)).thenReturn(unsavedTask);
-        when(taskRepository.save(any(Task.class))).thenReturn(savedTask);
+        when(taskRepository.insert(any(Task.class))).thenReturn(savedTask);
         when(taskMapper.toResponse(savedTask)).thenReturn(
                 builder()
                         .id(1L)
@@ -334,11 +379,34 @@ class TaskServiceImplTest {
         verify(taskMapper).toResponse(task);
     }
 
+    @Test
+    void getTasksByIds_ShouldPreserveRequestOrderAndReportMissingIds() {
+        // Given
+        Task task1 = Task.builder().id(1L).build();
+        Task task3 = Task.builder().id(3L).build();
+        TaskResponse response1 = builder().id(1L).build();
+        TaskResponse response3 = builder().id(3L).build();
+
+        when(taskRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(task1, task3));
+        when(taskMapper.toResponse(task1)).thenReturn(response1);
+        when(taskMapper.toResponse(task3)).thenReturn(response3);
+
+        // When
+        TaskBatchResponse result = taskService.getTasksByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Then
+        assertThat(result.tasks()).containsExactly(response3, response1);
+        assertThat(result.missingIds()).containsExactly(2L);
+        verify(taskRepository).findAllById(List.of(3L, 2L, 1L));
+    }
+
     @Test
     void deleteTaskById_WhenTaskExists_ShouldDeleteSuccessfully() {
         // Given
         Long existingTaskId = 1L;
         when(taskRepository.existsById(existingTaskId)).thenReturn(true);
+        when(taskRepository.findSubtree(existingTaskId))
+                .thenReturn(List.of(Task.builder().id(existingTaskId).build()));
 
         // When
         taskService.deleteTaskById(existingTaskId);
@@ -373,6 +441,7 @@ class TaskServiceImplTest {
         // Given
         Long taskId = 1L;
         when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(taskRepository.findSubtree(taskId)).thenReturn(List.of(Task.builder().id(taskId).build()));
 
         // When
         taskService.deleteTaskById(taskId);
@@ -395,6 +464,43 @@ class TaskServiceImplTest {
         verify(taskValidator).validate(taskId, true);
     }
 
+    @Test
+    void deleteTaskById_ShouldDeleteSubtasksDeepestFirst() {
+        // Given
+        Task parent = Task.builder().id(1L).build();
+        Task child = Task.builder().id(2L).parentId(1L).build();
+        Task grandchild = Task.builder().id(3L).parentId(2L).build();
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findSubtree(1L)).thenReturn(List.of(parent, child, grandchild));
+
+        // When
+        taskService.deleteTaskById(1L);
+
+        // Then
+        InOrder inOrder = inOrder(taskRepository);
+        inOrder.verify(taskRepository).deleteById(3L);
+        inOrder.verify(taskRepository).deleteById(2L);
+        inOrder.verify(taskRepository).deleteById(1L);
+    }
+
+    @Test
+    void moveTask_BelowOwnSubtask_ShouldThrowException() {
+        // Given
+        Task task = Task.builder().id(1L).owner("alice").build();
+        Task child = Task.builder().id(2L).owner("alice").parentId(1L).build();
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findById(2L)).thenReturn(Optional.of(child));
+        when(taskRepository.findAncestors(2L)).thenReturn(List.of(task));
+
+        // When & Then
+        assertThatThrownBy(() -> taskService.moveTask(1L, new MoveTaskRequest(2L)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cannot be moved below its own subtask");
+
+        verify(taskRepository, never()).save(any());
+        verify(taskRepository, never()).moveSubtree(any(Long.class), any());
+    }
+
     @Test
     void deleteTaskById_ShouldNotCallDeleteWhenValidationFails() {
         // Given
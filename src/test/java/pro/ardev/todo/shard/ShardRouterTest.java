@@ -0,0 +1,90 @@
+package pro.ardev.todo.shard;
+
+import org.junit.jupiter.api.Test;
+import pro.ardev.todo.id.TaskIdGenerator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRouterTest {
+
+    private static final TaskIdGenerator TASK_IDS = new TaskIdGenerator(0);
+
+    @Test
+    void shardForOwner_ShouldSpreadOwnersEvenly() {
+        // Given
+        ShardRouter router = new ShardRouter(4, 64);
+        Map<Integer, Integer> owners = new HashMap<>();
+
+        // When
+        IntStream.range(0, 10_000).forEach(i -> owners.merge(router.shardForOwner("owner-" + i), 1, Integer::sum));
+
+        // Then
+        assertThat(owners).containsOnlyKeys(0, 1, 2, 3);
+        assertThat(owners.values()).allSatisfy(count -> assertThat(count).isBetween(1_500, 3_500));
+    }
+
+    @Test
+    void shardForOwner_WhenShardAdded_ShouldMoveOnlyOwnersToNewShard() {
+        // Given
+        ShardRouter before = new ShardRouter(4, 64);
+        ShardRouter after = new ShardRouter(5, 64);
+
+        // When
+        long moved = IntStream.range(0, 10_000)
+                .filter(i -> before.shardForOwner("owner-" + i) != after.shardForOwner("owner-" + i))
+                .peek(i -> assertThat(after.shardForOwner("owner-" + i)).isEqualTo(4))
+                .count();
+
+        // Then
+        assertThat(moved).isBetween(1_000L, 3_000L);
+    }
+
+    @Test
+    void shardForId_WithIdentityColumnId_ShouldReturnPrimaryShard() {
+        // Given
+        ShardRouter router = new ShardRouter(3, 64);
+
+        // When & Then
+        assertThat(router.shardForId(42)).isZero();
+        assertThat(router.shardForId((2L << 48) + 1)).isZero();
+    }
+
+    @Test
+    void shardForId_ShouldReadShardFromGeneratedId() {
+        // Given
+        ShardRouter router = new ShardRouter(3, 64);
+        TaskIdGenerator generator = new TaskIdGenerator(5);
+
+        // When & Then
+        assertThat(router.shardForId(generator.nextId(0))).isZero();
+        assertThat(router.shardForId(generator.nextId(2))).isEqualTo(2);
+        assertThat(router.shardForId(generator.nextId(7))).isZero();
+    }
+
+    @Test
+    void shardForTask_ShouldPreferIdThenAnchorThenOwner() {
+        // Given
+        ShardRouter router = new ShardRouter(3, 64);
+        String owner = IntStream.range(0, 100)
+                .mapToObj(i -> "owner-" + i)
+                .filter(candidate -> router.shardForOwner(candidate) == 0)
+                .findFirst()
+                .orElseThrow();
+
+        // When & Then
+        assertThat(router.shardForTask(TASK_IDS.nextId(1), TASK_IDS.nextId(2), owner)).isEqualTo(1);
+        assertThat(router.shardForTask(null, TASK_IDS.nextId(2), owner)).isEqualTo(2);
+        assertThat(router.shardForTask(null, null, owner)).isZero();
+    }
+
+    @Test
+    void constructor_WhenShardCountInvalid_ShouldThrowException() {
+        assertThatThrownBy(() -> new ShardRouter(0, 64))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package pro.ardev.todo.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.model.request.CreateTaskRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRoutingAdvisorTest {
+
+    private static final TaskIdGenerator TASK_IDS = new TaskIdGenerator(0);
+
+    private final ShardRouter shardRouter = new ShardRouter(3, 64);
+
+    private final Handlers handlers = proxy(new Handlers());
+
+    @Test
+    void invoke_WithTaskId_ShouldRunOnShardOfId() {
+        // When
+        int shard = handlers.updateTask(TASK_IDS.nextId(2));
+
+        // Then
+        assertThat(shard).isEqualTo(2);
+        assertThat(ShardContext.current()).isEqualTo(ShardContext.PRIMARY_SHARD);
+    }
+
+    @Test
+    void invoke_WithNewSubtask_ShouldRunOnShardOfParent() {
+        // Given
+        CreateTaskRequest request = CreateTaskRequest.builder()
+                .title("Subtask")
+                .parentId(TASK_IDS.nextId(1))
+                .build();
+
+        // When
+        int shard = handlers.createTask(request);
+
+        // Then
+        assertThat(shard).isEqualTo(1);
+    }
+
+    @Test
+    void invoke_WithNewTask_ShouldRunOnShardOfOwner() {
+        // Given
+        CreateTaskRequest request = CreateTaskRequest.builder()
+                .title("Task")
+                .owner("alice")
+                .build();
+
+        // When
+        int shard = handlers.createTask(request);
+
+        // Then
+        assertThat(shard).isEqualTo(shardRouter.shardForOwner("alice"));
+    }
+
+    @Test
+    void invoke_WhenHandlerFails_ShouldRestoreShard() {
+        // When & Then
+        assertThatThrownBy(() -> handlers.failTask(TASK_IDS.nextId(2)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(ShardContext.current()).isEqualTo(ShardContext.PRIMARY_SHARD);
+    }
+
+    @Test
+    void invoke_WithEachShard_ShouldRunOncePerShardAndSumCounts() {
+        // When
+        int count = handlers.reapTasks();
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(handlers.visitedShards()).containsExactly(0, 1, 2);
+        assertThat(ShardContext.current()).isEqualTo(ShardContext.PRIMARY_SHARD);
+    }
+
+    @Test
+    void invoke_WithEachShardInTransaction_ShouldThrow() {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When & Then
+        try {
+            assertThatThrownBy(handlers::reapTasks)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("reapTasks runs on every shard and cannot join a transaction");
+            assertThat(handlers.visitedShards()).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void matches_WithoutShardKey_ShouldNotApply() throws Exception {
+        // Given
+        ShardRoutingAdvisor advisor = new ShardRoutingAdvisor(shardRouter);
+
+        // When & Then
+        assertThat(advisor.matches(Handlers.class.getMethod("getAllTasks"), Handlers.class)).isFalse();
+        assertThat(advisor.matches(Handlers.class.getMethod("updateTask", Long.class), Handlers.class)).isTrue();
+        assertThat(advisor.matches(Handlers.class.getMethod("reapTasks"), Handlers.class)).isTrue();
+    }
+
+    private Handlers proxy(Handlers target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new ShardRoutingAdvisor(shardRouter));
+
+        return (Handlers) proxyFactory.getProxy();
+    }
+
+    public static class Handlers {
+
+        private final List<Integer> visitedShards = new ArrayList<>();
+
+        public List<Integer> visitedShards() {
+            return visitedShards;
+        }
+
+        public int getAllTasks() {
+            return ShardContext.current();
+        }
+
+        public int updateTask(@ShardKey Long id) {
+            return ShardContext.current();
+        }
+
+        public int createTask(@ShardKey CreateTaskRequest request) {
+            return ShardContext.current();
+        }
+
+        public int failTask(@ShardKey Long id) {
+            throw new IllegalStateException("Task " + id + " failed on shard " + ShardContext.current());
+        }
+
+        @EachShard
+        public int reapTasks() {
+            visitedShards.add(ShardContext.current());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pro.ardev.todo.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pro.ardev.todo.config.TaskClaimProperties;
+import pro.ardev.todo.id.TaskIdGenerator;
+import pro.ardev.todo.model.request.ClaimTasksRequest;
+import pro.ardev.todo.model.response.ClaimResponse;
+import pro.ardev.todo.model.response.LeaseResponse;
+import pro.ardev.todo.model.response.TaskResponse;
+import pro.ardev.todo.service.TaskClaimService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardedTaskClaimServiceTest {
+
+    private static final LocalDateTime LEASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private static final TaskIdGenerator TASK_IDS = new TaskIdGenerator(0);
+    private static final long FIRST_ON_0 = TASK_IDS.nextId(0);
+    private static final long SECOND_ON_0 = TASK_IDS.nextId(0);
+    private static final long FIRST_ON_1 = TASK_IDS.nextId(1);
+    private static final long FIRST_ON_2 = TASK_IDS.nextId(2);
+
+    private final List<Integer> claimedOn = new ArrayList<>();
+
+    private final ShardedTaskClaimService taskClaimService = new ShardedTaskClaimService(
+            new ShardClaims(), shardExecutor(), new TaskClaimProperties(Duration.ofMinutes(5), 1, 1000));
+
+    @Test
+    void claimTasks_ShouldTopUpFromNextShardsUntilLimit() {
+        // When
+        ClaimResponse response = taskClaimService.claimTasks(new ClaimTasksRequest("worker-1", 3));
+
+        // Then
+        assertThat(claimedOn).containsExactly(0, 1);
+        assertThat(response.tasks()).extracting(TaskResponse::id)
+                .containsExactly(FIRST_ON_1, FIRST_ON_0, SECOND_ON_0);
+        assertThat(response.leaseExpiresAt()).isEqualTo(LEASE);
+        assertThat(ShardContext.current()).isEqualTo(ShardContext.PRIMARY_SHARD);
+    }
+
+    @Test
+    void claimTasks_ShouldStartOnNextShardEachTime() {
+        // When
+        taskClaimService.claimTasks(new ClaimTasksRequest("worker-1", null));
+        taskClaimService.claimTasks(new ClaimTasksRequest("worker-1", null));
+        taskClaimService.claimTasks(new ClaimTasksRequest("worker-1", null));
+
+        // Then
+        // Shard 2 has nothing to claim, so the third claim tops up from shard 0.
+        assertThat(claimedOn).containsExactly(0, 1, 2, 0);
+    }
+
+    @Test
+    void heartbeat_ShouldRunOnShardOfId() {
+        // When
+        LeaseResponse response = taskClaimService.heartbeat(FIRST_ON_2, "worker-1");
+
+        // Then
+        assertThat(response.leaseExpiresAt()).isEqualTo(LEASE.plusHours(2));
+    }
+
+    private static ShardExecutor shardExecutor() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        return new ShardExecutor(new ShardRouter(3, 64), transactionManager, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Shard 0 has two tasks to claim, shard 1 one task due earlier and shard 2 none. Leases end later on
+     * higher shards.
+     */
+    private class ShardClaims implements TaskClaimService {
+
+        @Override
+        public ClaimResponse claimTasks(ClaimTasksRequest request) {
+            int shard = ShardContext.current();
+            claimedOn.add(shard);
+            List<TaskResponse> tasks = switch (shard) {
+                case 0 -> List.of(task(FIRST_ON_0, 2), task(SECOND_ON_0, 3));
+                case 1 -> List.of(task(FIRST_ON_1, 1));
+                default -> List.of();
+            };
+            tasks = tasks.subList(0, Math.min(tasks.size(), request.limit()));
+
+            return ClaimResponse.builder()
+                    .workerId(request.workerId())
+                    .leaseExpiresAt(tasks.isEmpty() ? null : LEASE.plusHours(shard))
+                    .tasks(tasks)
+                    .build();
+        }
+
+        @Override
+        public LeaseResponse heartbeat(Long id, String workerId) {
+            return LeaseResponse.builder()
+                    .taskId(id)
+                    .workerId(workerId)
+                    .leaseExpiresAt(LEASE.plusHours(ShardContext.current()))
+                    .build();
+        }
+
+        @Override
+        public void release(Long id, String workerId) {
+        }
+
+        @Override
+        public int reapExpiredLeases() {
+            return 0;
+        }
+
+        private static TaskResponse task(long id, int dueInDays) {
+            return TaskResponse.builder()
+                    .id(id)
+                    .dueDate(LEASE.plusDays(dueInDays))
+                    .build();
+        }
+    }
+}
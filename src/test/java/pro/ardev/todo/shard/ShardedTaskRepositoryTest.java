@@ -0,0 +1,71 @@
+package pro.ardev.todo.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pro.ardev.todo.model.entity.Task;
+import pro.ardev.todo.repository.TaskRepository;
+import pro.ardev.todo.repository.memory.InMemoryTaskRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static pro.ardev.todo.model.enums.TaskStatus.DONE;
+import static pro.ardev.todo.model.enums.TaskStatus.TODO;
+
+class ShardedTaskRepositoryTest {
+
+    private final List<InMemoryTaskRepository> shards = List.of(
+            new InMemoryTaskRepository(), new InMemoryTaskRepository(), new InMemoryTaskRepository());
+
+    private final ShardedTaskRepository taskRepository = new ShardedTaskRepository(currentShard(), shardExecutor());
+
+    @Test
+    void findAll_WithExample_ShouldGatherMatchesFromEveryShard() {
+        // Given
+        shards.get(0).save(Task.builder().id(1L).title("Write report").status(TODO).build());
+        shards.get(0).save(Task.builder().id(4L).title("Plan").status(TODO).build());
+        shards.get(1).save(Task.builder().id(2L).title("Review report").status(TODO).build());
+        shards.get(2).save(Task.builder().id(3L).title("Report done").status(DONE).build());
+        ExampleMatcher matcher = ExampleMatcher.matching()
+                .withMatcher("title", match -> match.contains().ignoreCase());
+        Example<Task> example = Example.of(Task.builder().title("report").status(TODO).build(), matcher);
+
+        // When
+        List<Task> tasks = taskRepository.findAll(example, Sort.by("title"));
+        Page<Task> page = taskRepository.findAll(example, PageRequest.of(1, 1, Sort.by("title")));
+
+        // Then
+        assertThat(tasks).extracting(Task::getId).containsExactly(2L, 1L);
+        assertThat(page.getContent()).extracting(Task::getId).containsExactly(1L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(taskRepository.count(example)).isEqualTo(2);
+        assertThat(taskRepository.exists(example)).isTrue();
+    }
+
+    /**
+     * Hands every call to the repository of the shard the executor has switched to.
+     */
+    private TaskRepository currentShard() {
+        return (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> method.invoke(shards.get(ShardContext.current()), args));
+    }
+
+    private static ShardExecutor shardExecutor() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        return new ShardExecutor(new ShardRouter(3, 64), transactionManager, Executors.newSingleThreadExecutor());
+    }
+}
@@ -3,7 +3,13 @@ package pro.ardev.todo.validator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import pro.ardev.todo.exception.BadRequestException;
 import pro.ardev.todo.exception.ResourceNotFoundException;
+import pro.ardev.todo.model.enums.TaskField;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -11,6 +17,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.data.domain.Sort.Direction;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
+import static pro.ardev.todo.model.enums.TaskField.STATUS;
+import static pro.ardev.todo.model.enums.TaskField.TITLE;
 
 @ExtendWith(MockitoExtension.class)
 class TaskValidatorTest {
@@ -89,4 +97,31 @@ class TaskValidatorTest {
         assertThat(taskValidator.validateSortDirection("asc")).isEqualTo(ASC);
         assertThat(taskValidator.validateSortDirection("invalid")).isEqualTo(ASC);
     }
+
+    @Test
+    void validateFields_ShouldSelectNamedFieldsOrAllWhenNoneGiven() {
+        // When & Then
+        assertThat(taskValidator.validateFields(List.of(" title", "status ", ""))).containsExactly(TITLE, STATUS);
+        assertThat(taskValidator.validateFields(null)).containsExactlyElementsOf(EnumSet.allOf(TaskField.class));
+    }
+
+    @Test
+    void validateFields_WhenFieldIsUnknown_ShouldThrowException() {
+        // When & Then
+        assertThatThrownBy(() -> taskValidator.validateFields(List.of("title", "titel")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Unknown field titel, expected any of [id, owner, title");
+    }
+
+    @Test
+    void validateIds_WhenBatchIsTooLarge_ShouldThrowException() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 1_001).boxed().toList();
+
+        // When & Then
+        assertThatNoException().isThrownBy(() -> taskValidator.validateIds(ids.subList(0, 1_000)));
+        assertThatThrownBy(() -> taskValidator.validateIds(ids))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("At most 1000 ids can be requested at once");
+    }
 }
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Reports time-to-first-request of the fast-start build.
+# Usage: ./gradlew trainCds && ./startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+APP_DIR=build/cds
+JAR=$(cd "$APP_DIR" && ls *.jar)
+URL=http://localhost:8080/actuator/health
+
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  (cd "$APP_DIR" && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+      -jar "$JAR" --spring.profiles.active=fast-start --todo.task-ids.node-id=0 > /dev/null 2>&1) &
+  pid=$!
+
+  until curl -sf "$URL" > /dev/null; do
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+
+  echo "run $run: time to first request $(( (end - start) / 1000000 )) ms"
+  kill "$pid"
+  wait "$pid" 2> /dev/null || true
+done